@@ -0,0 +1,88 @@
+package com.property.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread pool for CPU-bound simulation work, kept separate from the common pool so that
+ * long Monte Carlo runs cannot starve parallel streams elsewhere in the app, plus small
+ * executors for background refreshes that wait on the database, for user-submitted jobs, for
+ * writing streamed responses and for reading the client book in partitions. Scheduled
+ * housekeeping, such as retrying staged leads, runs on Spring's default scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class ComputeConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool simulationPool(
+            @Value("${simulation.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor backgroundExecutor(
+            @Value("${background.pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("background-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Runs user-submitted jobs such as Monte Carlo simulations and optimizer searches. The queue
+     * is bounded, so a burst of submissions is refused instead of piling up behind slow jobs.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jobExecutor(
+            @Value("${jobs.pool-size:2}") int poolSize,
+            @Value("${jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Writes streamed response bodies. Spring MVC would otherwise start an unpooled thread per
+     * streamed request, since the app defines its own executors instead of Boot's default one.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamExecutor(
+            @Value("${streaming.pool-size:8}") int poolSize,
+            @Value("${streaming.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        return executor;
+    }
+
+    /**
+     * Reads and stress-tests partitions of the client book in parallel. Each thread holds a
+     * database connection for as long as its partition streams, so the pool stays well below
+     * the connection pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor stressTestExecutor(
+            @Value("${stress-test.parallelism:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("stress-test-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.property.config;
 
+import com.property.entity.UserRole;
 import com.property.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +36,9 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                // Streamed responses finish on an async dispatch of a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints - no authentication required
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/auth/**").permitAll()
@@ -51,6 +56,10 @@ public class SecurityConfig {
                 
                 // Admin only endpoints
                 .requestMatchers("/api/test/**").hasRole("ADMIN")
+                // Profile authorities carry the bare role name, without the ROLE_ prefix
+                .requestMatchers("/api/profiles/import").hasAuthority(UserRole.ADMIN.name())
+                .requestMatchers("/api/profiles/stress-tests/**").hasAuthority(UserRole.ADMIN.name())
+                .requestMatchers("/api/tax/positions").hasAuthority(UserRole.ADMIN.name())
                 
                 // Protected endpoints - require authentication
                 .requestMatchers("/api/profiles/**").authenticated()
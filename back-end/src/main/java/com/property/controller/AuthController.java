@@ -1,10 +1,12 @@
 package com.property.controller;
 
+import com.property.dto.ActivationRequest;
 import com.property.dto.AuthRequest;
 import com.property.dto.AuthResponse;
 import com.property.dto.RegisterRequest;
 import com.property.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +19,16 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-        return ResponseEntity.ok(authService.register(request));
+        AuthResponse response = authService.register(request);
+        if (Boolean.TRUE.equals(response.getActivationPending())) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/activate")
+    public ResponseEntity<AuthResponse> activate(@RequestBody ActivationRequest request) {
+        return ResponseEntity.ok(authService.activate(request));
     }
 
     @PostMapping("/login")
@@ -1,12 +1,22 @@
 package com.property.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property.dto.AmortizationScheduleRequest;
+import com.property.engine.AmortizationRow;
+import com.property.engine.AmortizationSchedule;
+import com.property.engine.Money;
 import com.property.entity.Liability;
 import com.property.service.LiabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +27,9 @@ public class LiabilityController {
     @Autowired
     private LiabilityService liabilityService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or #profileId == authentication.principal.id")
     public ResponseEntity<List<Liability>> getLiabilitiesByProfileId(@PathVariable UUID profileId) {
@@ -46,4 +59,58 @@ public class LiabilityController {
         liabilityService.deleteLiability(profileId, liabilityId);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Repayment schedule as a JSON array, written row by row as the schedule is generated.
+     */
+    @GetMapping(value = "/{liabilityId}/schedule", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or #profileId == authentication.principal.id")
+    public ResponseEntity<StreamingResponseBody> getSchedule(
+            @PathVariable UUID profileId,
+            @PathVariable UUID liabilityId,
+            AmortizationScheduleRequest request) {
+        AmortizationSchedule schedule = liabilityService.getSchedule(profileId, liabilityId, request);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                while (schedule.hasNext()) {
+                    writeRow(generator, schedule.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * The same schedule as NDJSON or server-sent events, one period per line or event.
+     */
+    @GetMapping(value = "/{liabilityId}/schedule", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or #profileId == authentication.principal.id")
+    public ResponseEntity<StreamingResponseBody> streamSchedule(
+            @PathVariable UUID profileId,
+            @PathVariable UUID liabilityId,
+            AmortizationScheduleRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        AmortizationSchedule schedule = liabilityService.getSchedule(profileId, liabilityId, request);
+        if (RowStreams.prefersEvents(accept)) {
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(RowStreams.sse(objectMapper, "period", schedule, LiabilityController::writeRow));
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(RowStreams.ndjson(objectMapper, schedule, LiabilityController::writeRow));
+    }
+
+    private static void writeRow(JsonGenerator generator, AmortizationRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("period", row.period());
+        generator.writeStringField("dueDate", row.dueDate().toString());
+        generator.writeBooleanField("interestOnly", row.interestOnly());
+        generator.writeNumberField("repayment", Money.toAmount(row.repaymentCents()));
+        generator.writeNumberField("interest", Money.toAmount(row.interestCents()));
+        generator.writeNumberField("principal", Money.toAmount(row.principalCents()));
+        generator.writeNumberField("balance", Money.toAmount(row.balanceCents()));
+        generator.writeNumberField("offsetBalance", Money.toAmount(row.offsetBalanceCents()));
+        generator.writeEndObject();
+    }
+}
@@ -1,9 +1,9 @@
 package com.property.controller;
 
 import com.property.dto.MortgageLeadDto;
-import com.property.entity.Profile;
-import com.property.service.ProfileService;
+import com.property.service.LeadService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,18 +18,18 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MortgageLeadController {
 
-    private final ProfileService profileService;
+    private final LeadService leadService;
     
     @PostMapping
     public ResponseEntity<Map<String, Object>> createMortgageLead(@RequestBody MortgageLeadDto leadDto) {
-        // Create a basic profile from the lead information
-        Profile profile = profileService.createProfileFromMortgageLead(leadDto);
+        // Merged into the lead's profile in the background
+        Long leadId = leadService.stageMortgageLead(leadDto);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("profileId", profile.getId());
-        response.put("message", "Lead successfully converted to profile");
+        response.put("leadId", leadId);
+        response.put("message", "Lead received");
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 } 
\ No newline at end of file
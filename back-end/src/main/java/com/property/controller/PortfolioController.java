@@ -1,15 +1,43 @@
 package com.property.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.property.dto.AcquisitionPlanDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.OptimizationRequest;
 import com.property.dto.PortfolioDTO;
+import com.property.dto.ProjectionDTO;
+import com.property.dto.RefinancePlanDTO;
+import com.property.dto.RefinancePlanRequest;
+import com.property.dto.RetirementPlanDTO;
+import com.property.dto.RetirementPlanRequest;
+import com.property.dto.SimulationGridRequest;
+import com.property.dto.SimulationGridResponse;
 import com.property.dto.SimulationRequest;
 import com.property.dto.SimulationResponse;
+import com.property.engine.Money;
+import com.property.engine.ProjectionYear;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.service.AcquisitionOptimizerService;
+import com.property.service.JobService;
 import com.property.service.PortfolioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -17,17 +45,152 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PortfolioController {
 
+    private static final int MAX_PROJECTION_YEARS = 50;
+
     private final PortfolioService portfolioService;
+    private final AcquisitionOptimizerService acquisitionOptimizerService;
+    private final JobService jobService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{userId}")
     public ResponseEntity<PortfolioDTO> getPortfolio(@PathVariable UUID userId) {
         return ResponseEntity.ok(portfolioService.getPortfolioByUserId(userId));
     }
 
+    @GetMapping("/{userId}/projection")
+    public ResponseEntity<ProjectionDTO> getProjection(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "30") int years,
+            @RequestParam(required = false) BigDecimal interestRate,
+            @RequestParam(defaultValue = "false") boolean interestOnly) {
+        if (years < 1 || years > MAX_PROJECTION_YEARS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "years must be between 1 and " + MAX_PROJECTION_YEARS);
+        }
+        return ResponseEntity.ok(portfolioService.getProjection(userId, years, interestRate, interestOnly));
+    }
+
+    /**
+     * The same projection as {@link #getProjection}, one row per year as it is computed: NDJSON
+     * or server-sent events depending on the Accept header.
+     */
+    @GetMapping(value = "/{userId}/projection", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamProjection(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "30") int years,
+            @RequestParam(required = false) BigDecimal interestRate,
+            @RequestParam(defaultValue = "false") boolean interestOnly,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (years < 1 || years > MAX_PROJECTION_YEARS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "years must be between 1 and " + MAX_PROJECTION_YEARS);
+        }
+        Iterator<ProjectionYear> rows = portfolioService.streamProjection(userId, years, interestRate, interestOnly);
+        if (RowStreams.prefersEvents(accept)) {
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(RowStreams.sse(objectMapper, "year", rows, PortfolioController::writeYear));
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(RowStreams.ndjson(objectMapper, rows, PortfolioController::writeYear));
+    }
+
+    @GetMapping("/{userId}/retirement-plan")
+    public ResponseEntity<RetirementPlanDTO> getRetirementPlan(
+            @PathVariable UUID userId,
+            RetirementPlanRequest request) {
+        return ResponseEntity.ok(portfolioService.getRetirementPlan(userId, request));
+    }
+
+    @PostMapping("/{userId}/refinance-plan")
+    public ResponseEntity<RefinancePlanDTO> planRefinancing(
+            @PathVariable UUID userId,
+            @RequestBody RefinancePlanRequest request) {
+        return ResponseEntity.ok(portfolioService.planRefinancing(userId, request));
+    }
+
+    /**
+     * Starts an acquisition optimizer run; poll the returned job for the plan.
+     */
+    @PostMapping("/{userId}/optimizer/jobs")
+    public ResponseEntity<JobDTO<AcquisitionPlanDTO>> submitOptimization(
+            @PathVariable UUID userId,
+            @RequestBody OptimizationRequest request,
+            @AuthenticationPrincipal Profile profile) {
+        if (profile.getRole() != UserRole.ADMIN && !profile.getId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed to optimize this portfolio");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(acquisitionOptimizerService.submit(profile.getId(), userId, request));
+    }
+
+    @GetMapping("/optimizer/jobs/{jobId}")
+    public ResponseEntity<JobDTO<?>> getOptimization(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.ok(jobService.getJob(jobId, profile));
+    }
+
     @PostMapping("/simulate")
     public ResponseEntity<SimulationResponse> simulatePropertyImpact(
             @RequestBody SimulationRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(portfolioService.simulatePropertyImpact(request));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/simulate/batch")
+    public ResponseEntity<List<SimulationResponse>> simulateBatch(
+            @RequestBody List<SimulationRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(portfolioService.simulateBatch(requests));
+    }
+
+    /**
+     * Runs a batch of simulations in the background and returns the job at once. Follow it by
+     * polling {@code GET /simulate/jobs/{jobId}} or with the event stream.
+     */
+    @PostMapping("/simulate/jobs")
+    public ResponseEntity<JobDTO<List<SimulationResponse>>> submitSimulationJob(
+            @RequestBody List<SimulationRequest> requests,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(portfolioService.submitSimulationJob(profile.getId(), requests));
+    }
+
+    @GetMapping("/simulate/jobs/{jobId}")
+    public ResponseEntity<JobDTO<?>> getSimulationJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.ok(jobService.getJob(jobId, profile));
+    }
+
+    @GetMapping(value = "/simulate/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSimulationJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return jobService.stream(jobId, profile);
+    }
+
+    @DeleteMapping("/simulate/jobs/{jobId}")
+    public ResponseEntity<JobDTO<?>> cancelSimulationJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.ok(jobService.cancel(jobId, profile));
+    }
+
+    @PostMapping("/simulate/grid")
+    public ResponseEntity<SimulationGridResponse> simulateGrid(
+            @RequestBody SimulationGridRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(portfolioService.simulateGrid(request));
+    }
+
+    private static void writeYear(JsonGenerator generator, ProjectionYear row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("year", row.year());
+        generator.writeNumberField("propertyValue", Money.toAmount(row.valueCents()));
+        generator.writeNumberField("debt", Money.toAmount(row.debtCents()));
+        generator.writeNumberField("equity", Money.toAmount(row.equityCents()));
+        generator.writeNumberField("annualCashFlow", Money.toAmount(row.cashFlowCents()));
+        generator.writeEndObject();
+    }
+}
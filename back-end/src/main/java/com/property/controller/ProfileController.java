@@ -1,19 +1,37 @@
 package com.property.controller;
 
+import com.property.dto.BorrowingCapacityDTO;
+import com.property.dto.ImportReportDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.PageDTO;
 import com.property.dto.ProfileDetailsDto;
 import com.property.dto.ProfileDto;
+import com.property.dto.ProfilePageRequest;
+import com.property.dto.RateStressRequest;
+import com.property.dto.RateStressResultDTO;
+import com.property.dto.RecommendedPropertyDTO;
 import com.property.entity.Profile;
 import com.property.entity.UserRole;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.JobService;
+import com.property.service.ProfileImportService;
 import com.property.service.ProfileService;
+import com.property.service.RateStressService;
+import com.property.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +42,21 @@ public class ProfileController {
     @Autowired
     private ProfileService profileService;
 
+    @Autowired
+    private BorrowingCapacityService borrowingCapacityService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private RateStressService rateStressService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ProfileImportService profileImportService;
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
     public ResponseEntity<ProfileDto> getProfile(@PathVariable UUID id) {
@@ -36,6 +69,28 @@ public class ProfileController {
         return ResponseEntity.ok(profileService.getAllProfiles());
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageDTO<ProfileDto>> getProfilePage(ProfilePageRequest request) {
+        return ResponseEntity.ok(profileService.getProfilePage(request));
+    }
+
+    /**
+     * Imports profiles, assets and liabilities from a CSV or NDJSON body, read as it arrives.
+     * Rows that cannot be imported are listed in the report and the rest are saved.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDTO> importProfilesCsv(InputStream body) {
+        return ResponseEntity.ok(profileImportService.importProfiles(body, ProfileImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDTO> importProfilesNdjson(InputStream body) {
+        return ResponseEntity.ok(profileImportService.importProfiles(body, ProfileImportService.Format.NDJSON));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
     public ResponseEntity<Profile> updateProfile(@PathVariable UUID id, @RequestBody Profile profile) {
@@ -54,6 +109,59 @@ public class ProfileController {
         return ResponseEntity.ok(profileService.getProfileDetails(id));
     }
 
+    @GetMapping("/{id}/borrowing-capacity")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public ResponseEntity<BorrowingCapacityDTO> getBorrowingCapacity(@PathVariable UUID id) {
+        return ResponseEntity.ok(borrowingCapacityService.getBorrowingCapacity(id));
+    }
+
+    @GetMapping("/{id}/recommended-properties")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RecommendedPropertyDTO>> getRecommendedProperties(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) BigDecimal maxLvr,
+            @RequestParam(required = false) BigDecimal interestRate) {
+        return ResponseEntity.ok(recommendationService.getRecommendedProperties(id, limit, maxLvr, interestRate));
+    }
+
+    /**
+     * Starts a stress test of every client's serviceability under rate rises. Returns 202 with the
+     * job; follow it with {@code GET /stress-tests/{jobId}} or the event stream.
+     */
+    @PostMapping("/stress-tests")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO<RateStressResultDTO>> submitStressTest(
+            @RequestBody(required = false) RateStressRequest request,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rateStressService.submit(
+                profile.getId(), request != null ? request : new RateStressRequest()));
+    }
+
+    @GetMapping("/stress-tests/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO<?>> getStressTest(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.ok(jobService.getJob(jobId, profile));
+    }
+
+    @GetMapping(value = "/stress-tests/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamStressTest(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return jobService.stream(jobId, profile);
+    }
+
+    @DeleteMapping("/stress-tests/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO<?>> cancelStressTest(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Profile profile) {
+        return ResponseEntity.ok(jobService.cancel(jobId, profile));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteProfile(@PathVariable UUID id) {
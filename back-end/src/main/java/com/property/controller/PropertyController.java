@@ -1,9 +1,12 @@
 package com.property.controller;
 
-import com.property.entity.Property;
-import com.property.repository.PropertyRepository;
+import com.property.dto.PageDTO;
 import com.property.dto.PropertyCreateRequest;
 import com.property.dto.PropertyDTO;
+import com.property.dto.PropertyPageRequest;
+import com.property.dto.PropertySearchRequest;
+import com.property.dto.PropertySearchResultDTO;
+import com.property.service.PropertyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,71 +14,43 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.Collections;
 
 @RestController
 @RequestMapping("/api/properties")
 public class PropertyController {
 
     @Autowired
-    private PropertyRepository propertyRepository;
+    private PropertyService propertyService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<PropertyDTO>> getAllProperties() {
-        List<Property> properties = propertyRepository.findAll();
-        List<PropertyDTO> dtos = properties.stream().map(this::toDTO).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(propertyService.getAllProperties());
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageDTO<PropertyDTO>> getPropertyPage(PropertyPageRequest request) {
+        return ResponseEntity.ok(propertyService.getPropertyPage(request));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PropertySearchResultDTO> searchProperties(PropertySearchRequest request) {
+        return ResponseEntity.ok(propertyService.searchProperties(request));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PropertyDTO> createProperty(@RequestBody PropertyCreateRequest request) {
-        Property property = new Property();
-        property.setName(request.getName());
-        property.setStreet(request.getStreet());
-        property.setSuburb(request.getSuburb());
-        property.setState(request.getState());
-        property.setPostcode(request.getPostcode());
-        property.setDescription(request.getDescription());
-        property.setPrice(request.getPrice());
-        property.setBeds(request.getBeds());
-        property.setBaths(request.getBaths());
-        property.setArea(request.getArea());
-        property.setGrowthRate(request.getGrowth_rate());
-        property.setRentalYield(request.getRental_yield());
-        property.setImageUrl(request.getImage_url());
-        property.setFeatures(request.getFeatures());
-        Property saved = propertyRepository.save(property);
-        return ResponseEntity.ok(toDTO(saved));
+        return ResponseEntity.ok(propertyService.createProperty(request));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('CLIENT')")
     public ResponseEntity<PropertyDTO> getPropertyById(@PathVariable("id") UUID id) {
-        return propertyRepository.findById(id)
-                .map(this::toDTO)
+        return propertyService.getProperty(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-
-    private PropertyDTO toDTO(Property property) {
-        return PropertyDTO.builder()
-                .id(property.getId())
-                .name(property.getName())
-                .street(property.getStreet())
-                .suburb(property.getSuburb())
-                .state(property.getState())
-                .postcode(property.getPostcode())
-                .description(property.getDescription())
-                .price(property.getPrice())
-                .beds(property.getBeds())
-                .baths(property.getBaths())
-                .area(property.getArea())
-                .growthRate(property.getGrowthRate())
-                .rentalYield(property.getRentalYield())
-                .imageUrl(property.getImageUrl())
-                .features(property.getFeatures() != null ? property.getFeatures() : Collections.emptySet())
-                .build();
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.property.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes rows to the response as they are produced, either as newline-delimited JSON or as
+ * server-sent events, so a long projection or schedule never sits in memory as a list and the
+ * client can start drawing from the first row.
+ */
+final class RowStreams {
+
+    // NDJSON is flushed in small batches; events go out one at a time
+    private static final int NDJSON_FLUSH_INTERVAL = 32;
+
+    @FunctionalInterface
+    interface RowWriter<T> {
+        void write(JsonGenerator generator, T row) throws IOException;
+    }
+
+    // The Accept range that decides a media type's quality, and where the header lists it
+    private record Match(double quality, int specificity, int position) {
+    }
+
+    private RowStreams() {
+    }
+
+    /**
+     * Whether the Accept header ranks server-sent events above NDJSON. Each type takes the
+     * quality of the most specific range that covers it; a tie goes to the type named more
+     * specifically, then to the one listed first, and NDJSON is the default when neither wins.
+     */
+    static boolean prefersEvents(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept != null ? MediaType.parseMediaTypes(accept) : List.of();
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        Match events = match(accepted, MediaType.TEXT_EVENT_STREAM);
+        Match ndjson = match(accepted, MediaType.APPLICATION_NDJSON);
+        if (events == null || events.quality() == 0) {
+            return false;
+        }
+        if (ndjson == null || ndjson.quality() == 0) {
+            return true;
+        }
+        if (events.quality() != ndjson.quality()) {
+            return events.quality() > ndjson.quality();
+        }
+        if (events.specificity() != ndjson.specificity()) {
+            return events.specificity() > ndjson.specificity();
+        }
+        return events.position() < ndjson.position();
+    }
+
+    private static Match match(List<MediaType> accepted, MediaType type) {
+        Match best = null;
+        for (int i = 0; i < accepted.size(); i++) {
+            MediaType range = accepted.get(i);
+            if (!range.includes(type)) {
+                continue;
+            }
+            int specificity = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+            if (best == null || specificity > best.specificity()) {
+                best = new Match(range.getQualityValue(), specificity, i);
+            }
+        }
+        return best;
+    }
+
+    static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Iterator<T> rows, RowWriter<T> writer) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                while (rows.hasNext()) {
+                    writer.write(generator, rows.next());
+                    generator.writeRaw('\n');
+                    if (++written % NDJSON_FLUSH_INTERVAL == 1) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * One {@code event} per row, then a {@code complete} event carrying the row count so that
+     * clients can close the stream instead of letting EventSource reconnect.
+     */
+    static <T> StreamingResponseBody sse(ObjectMapper objectMapper, String event, Iterator<T> rows,
+                                         RowWriter<T> writer) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                while (rows.hasNext()) {
+                    generator.writeRaw("event: " + event + "\ndata: ");
+                    writer.write(generator, rows.next());
+                    generator.writeRaw("\n\n");
+                    generator.flush();
+                    written++;
+                }
+                generator.writeRaw("event: complete\ndata: {\"rows\":" + written + "}\n\n");
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.property.controller;
+
+import com.property.dto.TaxPositionDTO;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.service.TaxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tax")
+public class TaxController {
+
+    @Autowired
+    private TaxService taxService;
+
+    // financialYear is the year it starts in (2024 = 2024-25); defaults to the current one
+    @GetMapping("/positions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TaxPositionDTO>> getAllTaxPositions(
+            @RequestParam(required = false) Integer financialYear,
+            @RequestParam(required = false) BigDecimal interestRate) {
+        return ResponseEntity.ok(taxService.getAllTaxPositions(financialYear, interestRate));
+    }
+
+    @GetMapping("/positions/{profileId}")
+    @PreAuthorize("hasRole('ADMIN') or #profileId == authentication.principal.id")
+    public ResponseEntity<TaxPositionDTO> getTaxPosition(
+            @PathVariable UUID profileId,
+            @RequestParam(required = false) Integer financialYear,
+            @RequestParam(required = false) BigDecimal interestRate,
+            @AuthenticationPrincipal Profile principal) {
+        if (principal.getRole() != UserRole.ADMIN && !principal.getId().equals(profileId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed to view this tax position");
+        }
+        return ResponseEntity.ok(taxService.getTaxPosition(profileId, financialYear, interestRate));
+    }
+}
@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcquisitionPlanDTO {
+    private UUID profileId;
+    private Integer targetYear;
+    // Equity at the target year from the current portfolio, and added by the plan
+    private BigDecimal currentPortfolioEquity;
+    private BigDecimal addedEquity;
+    private List<PlannedAcquisitionDTO> purchases;
+    private Long nodesExplored;
+    // False when the search budget ran out before the plan was proven optimal
+    private Boolean exhaustive;
+}
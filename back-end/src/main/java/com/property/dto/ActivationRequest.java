@@ -0,0 +1,8 @@
+package com.property.dto;
+
+import lombok.Data;
+
+@Data
+public class ActivationRequest {
+    private String token;
+}
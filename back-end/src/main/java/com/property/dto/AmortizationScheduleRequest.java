@@ -0,0 +1,36 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Optional overrides for a liability's repayment schedule, bound from query parameters.
+ * Anything left out comes from the liability itself.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmortizationScheduleRequest {
+    // Weekly, Fortnightly or Monthly; defaults to the liability's repayment frequency
+    private String frequency;
+    // Remaining term, defaults to 30 years
+    private Integer termYears;
+    // Defaults to today
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    // Switch date for interest-only loans; defaults to five years after the start
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate interestOnlyUntil;
+    private BigDecimal offsetBalance;
+    // Added to the offset account every repayment period
+    private BigDecimal offsetContribution;
+    // Paid on top of the scheduled repayment every period
+    private BigDecimal extraRepayment;
+}
@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtRiskClientDTO {
+    private UUID profileId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    // Smallest shock, in percentage points, under which the client breaks; zero if already at risk
+    private BigDecimal breakingShock;
+    // Per shock, in the same order as the result's shocks
+    private List<BigDecimal> monthlySurplus;
+    private List<BigDecimal> dsr;
+}
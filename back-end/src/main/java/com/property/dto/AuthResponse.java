@@ -17,4 +17,7 @@ public class AuthResponse {
     private String firstName;
     private String lastName;
     private String id;
+    // Set instead of the tokens when the email belongs to a profile created from a lead; the
+    // account is usable once the token sent to that email is passed to /api/auth/activate
+    private Boolean activationPending;
 } 
\ No newline at end of file
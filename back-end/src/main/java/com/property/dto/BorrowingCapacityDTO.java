@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowingCapacityDTO {
+    private UUID profileId;
+    private BigDecimal borrowingCapacity;
+    // Product rate plus the serviceability buffer, as a percentage
+    private BigDecimal assessmentRate;
+    private BigDecimal monthlyNetIncome;
+    private BigDecimal monthlyExpenses;
+    private BigDecimal monthlyCommitments;
+    private BigDecimal monthlySurplus;
+    private OffsetDateTime calculatedAt;
+}
@@ -0,0 +1,24 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One dimension of a simulation grid: either explicit values, or an inclusive from/to range
+ * walked in fixed steps (e.g. 5 to 9 by 0.25).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridAxis {
+    private List<BigDecimal> values;
+    private BigDecimal from;
+    private BigDecimal to;
+    private BigDecimal step;
+}
@@ -0,0 +1,19 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    // Line of the file the row starts on, counting a CSV header as line 1
+    private Long line;
+    private String email;
+    // Column at fault, if the error is down to one
+    private String column;
+    private String message;
+}
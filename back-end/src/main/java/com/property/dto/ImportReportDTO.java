@@ -0,0 +1,24 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private Long rows;
+    private Long imported;
+    private Long failed;
+    private Long profilesCreated;
+    private Long profilesUpdated;
+    private Long assetsAdded;
+    private Long liabilitiesAdded;
+    // The first errors, up to a cap; failed counts every row that was not imported
+    private List<ImportErrorDTO> errors;
+}
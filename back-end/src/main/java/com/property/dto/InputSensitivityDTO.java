@@ -0,0 +1,27 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * How much each outcome moves per unit rise in one input: a percentage point for the rates,
+ * $1,000 for the price.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InputSensitivityDTO {
+    // interestRate, vacancyRate, managementRate, growthRate or price
+    private String input;
+    // Projected portfolio's first-year monthly cash flow, in dollars
+    private BigDecimal monthlyCashFlow;
+    // The new property's cap rate, in percentage points
+    private BigDecimal capRate;
+    // Projected portfolio's equity after the requested years, in dollars
+    private BigDecimal equity;
+}
@@ -0,0 +1,27 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDTO<T> {
+    private UUID jobId;
+    // The user who submitted the job; per-user limits and access are checked against it
+    private UUID profileId;
+    private String type;
+    private JobStatus status;
+    private Integer percentComplete;
+    private OffsetDateTime submittedAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime completedAt;
+    private T result;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloBandDTO {
+    private Integer year;
+    private BigDecimal equityP5;
+    private BigDecimal equityP50;
+    private BigDecimal equityP95;
+    private BigDecimal cashFlowP5;
+    private BigDecimal cashFlowP50;
+    private BigDecimal cashFlowP95;
+}
@@ -0,0 +1,24 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloRequest {
+    private Integer paths;
+    private Integer years;
+    // Omit to draw a fresh seed; the seed used is echoed back so the run can be replayed
+    private Long seed;
+    // Percentages, like the other rates on SimulationRequest
+    private BigDecimal growthVolatility;
+    private BigDecimal rateVolatility;
+    private BigDecimal propertyCorrelation;
+    private BigDecimal rateGrowthCorrelation;
+}
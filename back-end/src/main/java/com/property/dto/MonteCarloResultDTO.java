@@ -0,0 +1,19 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloResultDTO {
+    private Long seed;
+    private Integer paths;
+    private Integer years;
+    private List<MonteCarloBandDTO> bands;
+}
@@ -0,0 +1,24 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationRequest {
+    // Years from now at which equity is maximised
+    private Integer targetYear;
+    // Defaults to the client's savings assets
+    private BigDecimal availableCash;
+    private BigDecimal annualSavings;
+    private Integer maxPurchases;
+    private Integer gapYears;
+    // Percentage
+    private BigDecimal interestRate;
+}
@@ -0,0 +1,21 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedAcquisitionDTO {
+    private Integer year;
+    private PropertyDTO property;
+    // Listed price grown to the purchase year
+    private BigDecimal price;
+    private BigDecimal loan;
+    private BigDecimal deposit;
+}
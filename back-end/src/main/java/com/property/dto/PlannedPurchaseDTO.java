@@ -0,0 +1,19 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedPurchaseDTO {
+    private Integer year;
+    private Integer age;
+    // Template price grown to the purchase year
+    private BigDecimal price;
+}
@@ -0,0 +1,28 @@
+package com.property.dto;
+
+import com.property.entity.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilePageRequest {
+    private UserRole role;
+    // Created at or after
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdFrom;
+    // Created before
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdTo;
+    // The previous page's nextCursor; omitted for the first page
+    private String cursor;
+    // Page size; defaults to 50, at most 500
+    private Integer limit;
+}
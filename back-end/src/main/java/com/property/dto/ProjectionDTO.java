@@ -0,0 +1,19 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionDTO {
+    private UUID portfolioId;
+    private Integer years;
+    private List<ProjectionPointDTO> points;
+}
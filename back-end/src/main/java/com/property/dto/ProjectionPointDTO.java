@@ -0,0 +1,20 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionPointDTO {
+    private Integer year;
+    private BigDecimal propertyValue;
+    private BigDecimal debt;
+    private BigDecimal equity;
+    private BigDecimal annualCashFlow;
+}
@@ -0,0 +1,35 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyPageRequest {
+
+    public enum Order {
+        NEWEST,
+        // Price orders leave out listings without a price
+        PRICE_ASC,
+        PRICE_DESC
+    }
+
+    private String state;
+    private String suburb;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBeds;
+    private Integer maxBeds;
+    // Defaults to NEWEST
+    private Order order;
+    // The previous page's nextCursor; omitted for the first page
+    private String cursor;
+    // Page size; defaults to 50, at most 500
+    private Integer limit;
+}
@@ -0,0 +1,38 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchRequest {
+    private String state;
+    private String suburb;
+    private String postcode;
+    // Listings must have every one of these
+    private List<String> features;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBeds;
+    private Integer maxBeds;
+    private Integer minBaths;
+    private Integer maxBaths;
+    private Integer minArea;
+    private Integer maxArea;
+    // Percentages, as stored on the property
+    private BigDecimal minGrowthRate;
+    private BigDecimal maxGrowthRate;
+    private BigDecimal minRentalYield;
+    private BigDecimal maxRentalYield;
+    // True for listings not yet in a portfolio, false for those that are
+    private Boolean available;
+    // Matches returned, newest first; defaults to 50, at most 500
+    private Integer limit;
+}
@@ -0,0 +1,18 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchResultDTO {
+    // Every match, including those beyond the limit
+    private int total;
+    private List<PropertyDTO> items;
+}
@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateShockResultDTO {
+    // Percentage points
+    private BigDecimal shock;
+    private Long atRisk;
+    private Long negativeCashFlow;
+    private Long overDsrLimit;
+    // Percentage
+    private BigDecimal averageDsr;
+    private BigDecimal averageMonthlyRepayments;
+    private BigDecimal averageMonthlySurplus;
+    private List<Long> dsrHistogram;
+}
@@ -0,0 +1,22 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateStressRequest {
+    // Rate rises in percentage points; defaults to 0.5, 1, 2 and 3
+    private List<BigDecimal> shocks;
+    // Percentage of gross income above which repayments count as at risk
+    private BigDecimal dsrLimit;
+    // Cap on the at-risk clients listed
+    private Integer maxAtRisk;
+}
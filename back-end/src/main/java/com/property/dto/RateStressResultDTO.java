@@ -0,0 +1,28 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateStressResultDTO {
+    private Long clients;
+    // Clients with no income recorded, left out of every figure
+    private Long unassessed;
+    // Percentage
+    private BigDecimal dsrLimit;
+    // Upper bounds of the DSR histogram buckets, as percentages; the last bucket is open
+    private List<BigDecimal> dsrBucketBounds;
+    // Today's rates first, then each shock
+    private List<RateShockResultDTO> shocks;
+    private Long atRiskClients;
+    // Worst first, up to the requested cap
+    private List<AtRiskClientDTO> atRisk;
+}
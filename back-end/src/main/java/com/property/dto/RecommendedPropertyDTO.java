@@ -0,0 +1,22 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendedPropertyDTO {
+    private PropertyDTO property;
+    // Ten-year net gain: equity plus cash flow, less the deposit
+    private BigDecimal score;
+    private BigDecimal annualCashFlowImpact;
+    private BigDecimal equityIn10Years;
+    // Portfolio LVR after the purchase, as a percentage
+    private BigDecimal portfolioLvr;
+}
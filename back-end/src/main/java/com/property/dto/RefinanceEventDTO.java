@@ -0,0 +1,21 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefinanceEventDTO {
+    // PURCHASE or REFINANCE
+    private String type;
+    private UUID propertyId;
+    // Price paid, or the extra borrowed against the property
+    private BigDecimal amount;
+}
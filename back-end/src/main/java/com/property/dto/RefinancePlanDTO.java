@@ -0,0 +1,21 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefinancePlanDTO {
+    private UUID profileId;
+    private Integer years;
+    private List<RefinanceYearDTO> timeline;
+    // Queued properties that never became affordable within the horizon
+    private List<UUID> notPurchased;
+}
@@ -0,0 +1,28 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefinancePlanRequest {
+    // Catalog properties to buy, in order
+    private List<UUID> acquisitionQueue;
+    private Integer years;
+    // Percentages, like the other rates on the simulation requests
+    private BigDecimal depositPercent;
+    private BigDecimal feesPercent;
+    private BigDecimal refinanceLimit;
+    private BigDecimal interestRate;
+    private Boolean interestOnly;
+    private BigDecimal initialCash;
+    private BigDecimal annualSavings;
+}
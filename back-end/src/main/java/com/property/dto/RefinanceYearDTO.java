@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefinanceYearDTO {
+    private Integer year;
+    private Integer propertiesHeld;
+    private BigDecimal totalValue;
+    private BigDecimal totalDebt;
+    private BigDecimal totalEquity;
+    // Equity that could still be drawn up to the refinance limit
+    private BigDecimal usableEquity;
+    private BigDecimal annualCashFlow;
+    private BigDecimal cash;
+    private List<RefinanceEventDTO> events;
+}
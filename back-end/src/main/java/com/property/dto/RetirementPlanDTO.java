@@ -0,0 +1,26 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetirementPlanDTO {
+    private UUID profileId;
+    private BigDecimal passiveIncomeGoal;
+    private Integer currentAge;
+    private Integer retirementAge;
+    private Boolean achievable;
+    // Net portfolio cash flow in the first year of retirement, without and with the plan
+    private BigDecimal currentTrajectoryIncome;
+    private BigDecimal projectedPassiveIncome;
+    private List<PlannedPurchaseDTO> purchases;
+}
@@ -0,0 +1,28 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The property every planned purchase is modelled on, plus search limits. Bound from query
+ * parameters; the property defaults to the average of the client's current portfolio.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetirementPlanRequest {
+    private BigDecimal price;
+    // Percentages, like the rates on PropertyDTO
+    private BigDecimal growthRate;
+    private BigDecimal rentalYield;
+    private BigDecimal interestRate;
+    private Boolean interestOnly;
+    private Integer maxProperties;
+    // Years between purchases, to leave time for equity and serviceability to recover
+    private Integer minGapYears;
+}
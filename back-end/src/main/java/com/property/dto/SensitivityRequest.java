@@ -0,0 +1,15 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivityRequest {
+    // Horizon for the equity partials; defaults to 10
+    private Integer years;
+}
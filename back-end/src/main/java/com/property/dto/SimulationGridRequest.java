@@ -0,0 +1,20 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationGridRequest {
+    // Portfolio, candidate property and every rate not swept by an axis
+    private SimulationRequest base;
+    // Omitted axes fall back to the value on base
+    private GridAxis interestRate;
+    private GridAxis loanTerm;
+    // Deposit as a percentage of the candidate's price
+    private GridAxis downPaymentPercent;
+}
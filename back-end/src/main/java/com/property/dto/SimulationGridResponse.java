@@ -0,0 +1,33 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Columnar grid results. Cell (r, t, d) is at index (r * loanTerms + t) * downPaymentPercents + d,
+ * i.e. interest rate varies slowest and down payment fastest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationGridResponse {
+    private List<BigDecimal> interestRates;
+    private List<Integer> loanTerms;
+    private List<BigDecimal> downPaymentPercents;
+    private Integer cells;
+
+    private double[] monthlyCashFlowChange;
+    private double[] annualReturnChange;
+    private double[] totalValueChange;
+    private double[] totalDebtChange;
+    private double[] totalEquityChange;
+    private double[] cashOnCashReturn;
+    private double[] capRate;
+    private double[] debtToIncomeRatio;
+}
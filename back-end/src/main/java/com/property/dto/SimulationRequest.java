@@ -22,4 +22,8 @@ public class SimulationRequest {
     private BigDecimal maintenanceRate;
     private BigDecimal vacancyRate;
     private BigDecimal managementRate;
+    // Optional; when present the response also carries percentile bands from a Monte Carlo run
+    private MonteCarloRequest monteCarlo;
+    // Optional; when present the response also carries partial derivatives of its outcomes
+    private SensitivityRequest sensitivity;
 } 
\ No newline at end of file
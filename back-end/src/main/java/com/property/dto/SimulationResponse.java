@@ -22,4 +22,6 @@ public class SimulationResponse {
     private BigDecimal cashOnCashReturn;
     private BigDecimal capRate;
     private BigDecimal debtToIncomeRatio;
+    private MonteCarloResultDTO monteCarlo;
+    private SensitivityDTO sensitivity;
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.property.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxPositionDTO {
+    private UUID profileId;
+    // Calendar year the financial year starts in (2024 = 2024-25)
+    private Integer financialYear;
+    // Negative when the portfolio is negatively geared
+    private BigDecimal netRentalIncome;
+    private BigDecimal taxableIncome;
+    private BigDecimal tax;
+    private BigDecimal marginalTaxRate;
+    private BigDecimal effectiveTaxRate;
+    private BigDecimal partnerTaxableIncome;
+    private BigDecimal partnerTax;
+    private BigDecimal partnerMarginalTaxRate;
+    // Combined tax saved (or added) by the portfolio
+    private BigDecimal negativeGearingBenefit;
+}
@@ -0,0 +1,37 @@
+package com.property.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Limits on an acquisition plan. Amounts are dollars; years count from now.
+ */
+@Getter
+@Builder
+public class AcquisitionConstraints {
+
+    // Equity is measured at the start of this year
+    private final int targetYear;
+
+    // Total new lending the client can service
+    private final double borrowingCapacity;
+
+    // Cash on hand now for deposits, topped up by annualSavings every year
+    private final double availableCash;
+    private final double annualSavings;
+
+    @Builder.Default
+    private final int maxPurchases = 5;
+
+    // Purchases happen on a grid of slots this many years apart; a slot may be skipped
+    @Builder.Default
+    private final int gapYears = 1;
+
+    // Listings carried from the catalog into the exact search
+    @Builder.Default
+    private final int shortlistSize = 32;
+
+    // Search budget; the best plan so far is returned if it runs out
+    @Builder.Default
+    private final long maxNodes = 2_000_000;
+}
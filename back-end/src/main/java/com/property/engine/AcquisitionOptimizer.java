@@ -0,0 +1,329 @@
+package com.property.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses which listings to buy, and in what order, to maximise the equity they add by a
+ * target year without exceeding the client's borrowing capacity or the cash they have for
+ * deposits.
+ *
+ * Purchases happen on a grid of yearly slots. Each listing is bought at its grown price with the
+ * standard deposit and fees, so buying later costs a bigger loan and deposit and leaves less
+ * time to pay it down; every listing's equity, loan and deposit per slot are tabulated up front.
+ *
+ * The search is a depth-first branch-and-bound over slots: at each slot either buy one unused
+ * listing or wait. A branch is cut when the equity so far plus the best equity each remaining
+ * slot could still add cannot beat the best plan found, or when the same listings have already
+ * been bought by the same slot with at least as much equity, capacity and cash left. The first
+ * levels of the tree are forked onto the pool, so idle workers steal whole subtrees.
+ */
+public final class AcquisitionOptimizer {
+
+    // Levels of the tree forked as separate tasks; deeper levels run on the thread that owns them
+    private static final int PARALLEL_DEPTH = 2;
+    private static final int MAX_MEMO_ENTRIES = 1_000_000;
+    // Nodes between progress reports and cancellation checks; a power of two
+    private static final int PROGRESS_INTERVAL = 4096;
+
+    private final int candidates;
+    private final int slots;
+    private final int gap;
+    private final int maxPurchases;
+    private final double annualSavings;
+    private final long maxNodes;
+    private final ProgressListener progress;
+
+    // [candidate][slot]
+    private final double[][] equity;
+    private final double[][] loan;
+    private final double[][] deposit;
+    // Best equity a candidate can add at this slot or any later one, never below zero
+    private final double[][] bestFrom;
+    // Candidates in descending order of equity for each slot, so good plans are found early
+    private final int[][] order;
+
+    private final AtomicLong nodes = new AtomicLong();
+    private final Map<Key, State> memo = new ConcurrentHashMap<>();
+
+    // Replaced rather than changed, so every node can read the bound without locking
+    private final AtomicReference<Incumbent> best = new AtomicReference<>(new Incumbent(0, new int[0], new int[0]));
+
+    private record Incumbent(double equity, int[] purchases, int[] years) {
+    }
+
+    private record Key(int slot, long bought) {
+    }
+
+    private record State(double equity, double capacity, double cash) {
+        boolean dominates(double otherEquity, double otherCapacity, double otherCash) {
+            return equity >= otherEquity && capacity >= otherCapacity && cash >= otherCash;
+        }
+    }
+
+    private AcquisitionOptimizer(PortfolioColumns shortlist, ProjectionAssumptions assumptions,
+                                 AcquisitionConstraints constraints, ProgressListener progress) {
+        this.progress = progress;
+        int target = constraints.getTargetYear();
+        this.candidates = shortlist.size();
+        this.gap = Math.max(1, constraints.getGapYears());
+        this.slots = target > 0 ? (target - 1) / gap + 1 : 0;
+        this.maxPurchases = Math.min(constraints.getMaxPurchases(), Math.min(slots, candidates));
+        this.annualSavings = constraints.getAnnualSavings();
+        this.maxNodes = constraints.getMaxNodes();
+
+        double[] balance = new double[target + 1];
+        for (int years = 0; years <= target; years++) {
+            balance[years] = ProjectionEngine.remainingBalanceFactor(assumptions.getInterestRate(),
+                    assumptions.getLoanTermYears(), assumptions.isInterestOnly(), years);
+        }
+
+        equity = new double[candidates][slots];
+        loan = new double[candidates][slots];
+        deposit = new double[candidates][slots];
+        bestFrom = new double[candidates][slots + 1];
+        for (int i = 0; i < candidates; i++) {
+            double growth = 1 + shortlist.growth[i];
+            double valueAtTarget = shortlist.value[i] * Math.pow(growth, target);
+            for (int k = 0; k < slots; k++) {
+                int year = k * gap;
+                double price = shortlist.value[i] * Math.pow(growth, year);
+                loan[i][k] = assumptions.initialDebt(price);
+                deposit[i][k] = price * assumptions.getDepositRate();
+                equity[i][k] = valueAtTarget - loan[i][k] * balance[target - year];
+            }
+            for (int k = slots - 1; k >= 0; k--) {
+                bestFrom[i][k] = Math.max(bestFrom[i][k + 1], equity[i][k]);
+            }
+        }
+
+        order = new int[slots][];
+        for (int k = 0; k < slots; k++) {
+            int slot = k;
+            order[k] = IntStream.range(0, candidates).boxed()
+                    .sorted((a, b) -> Double.compare(equity[b][slot], equity[a][slot]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Picks the listings worth carrying into the exact search: those that fit the budget at all,
+     * half chosen for the most equity by the target year and half for the most equity per dollar
+     * borrowed, so that both a few large purchases and many small ones are represented.
+     */
+    public static int[] shortlist(PortfolioColumns catalog, ProjectionAssumptions assumptions,
+                                  AcquisitionConstraints constraints) {
+        int target = constraints.getTargetYear();
+        int size = Math.min(constraints.getShortlistSize(), 63);
+        double balance = ProjectionEngine.remainingBalanceFactor(assumptions.getInterestRate(),
+                assumptions.getLoanTermYears(), assumptions.isInterestOnly(), target);
+        double cashByLastSlot = constraints.getAvailableCash() + constraints.getAnnualSavings() * Math.max(0, target - 1);
+
+        CatalogRanker.TopK byEquity = new CatalogRanker.TopK(size / 2 + size % 2);
+        CatalogRanker.TopK byLeverage = new CatalogRanker.TopK(size / 2);
+        for (int i = 0; i < catalog.size(); i++) {
+            double price = catalog.value[i];
+            double debt = assumptions.initialDebt(price);
+            if (price <= 0 || debt > constraints.getBorrowingCapacity()
+                    || price * assumptions.getDepositRate() > cashByLastSlot) {
+                continue;
+            }
+            double equity = price * Math.pow(1 + catalog.growth[i], target) - debt * balance;
+            byEquity.offer(i, equity);
+            if (size / 2 > 0) {
+                byLeverage.offer(i, equity / debt);
+            }
+        }
+        return Arrays.stream(concat(byEquity.sortedDescending(), byLeverage.sortedDescending()))
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * @param shortlist listings to choose from, at most 63
+     */
+    public static AcquisitionPlan optimize(PortfolioColumns shortlist, ProjectionAssumptions assumptions,
+                                           AcquisitionConstraints constraints, ForkJoinPool pool) {
+        return optimize(shortlist, assumptions, constraints, pool, ProgressListener.NONE);
+    }
+
+    /**
+     * As above, reporting explored nodes against the node budget; a run that exhausts the
+     * tree early simply finishes short of the declared total.
+     */
+    public static AcquisitionPlan optimize(PortfolioColumns shortlist, ProjectionAssumptions assumptions,
+                                           AcquisitionConstraints constraints, ForkJoinPool pool,
+                                           ProgressListener progress) {
+        if (shortlist.size() > 63) {
+            throw new IllegalArgumentException("Shortlist is limited to 63 listings");
+        }
+        AcquisitionOptimizer search = new AcquisitionOptimizer(shortlist, assumptions, constraints, progress);
+        if (search.slots > 0 && search.maxPurchases > 0) {
+            pool.invoke(search.new Node(0, 0L, 0, 0, constraints.getBorrowingCapacity(),
+                    constraints.getAvailableCash(), new int[search.maxPurchases], new int[search.maxPurchases]));
+        }
+        if (progress.isCancelled()) {
+            throw new CancellationException("Acquisition optimizer run cancelled");
+        }
+        return search.result();
+    }
+
+    private AcquisitionPlan result() {
+        long explored = nodes.get();
+        Incumbent plan = best.get();
+        return new AcquisitionPlan(plan.purchases(), plan.years(), plan.equity(), explored, explored <= maxNodes);
+    }
+
+    // Only a strictly better plan is copied and swapped in; anything else costs one volatile read
+    private void offer(double planEquity, int bought, int[] purchases, int[] years) {
+        Incumbent current = best.get();
+        if (planEquity <= current.equity()) {
+            return;
+        }
+        Incumbent better = new Incumbent(planEquity, Arrays.copyOf(purchases, bought), Arrays.copyOf(years, bought));
+        while (planEquity > current.equity() && !best.compareAndSet(current, better)) {
+            current = best.get();
+        }
+    }
+
+    private double incumbent() {
+        return best.get().equity();
+    }
+
+    private final class Node extends RecursiveAction {
+        private final int slot;
+        private final long bought;
+        private final int count;
+        private final double planEquity;
+        private final double capacity;
+        private final double cash;
+        private final int[] purchases;
+        private final int[] years;
+
+        Node(int slot, long bought, int count, double planEquity, double capacity, double cash,
+             int[] purchases, int[] years) {
+            this.slot = slot;
+            this.bought = bought;
+            this.count = count;
+            this.planEquity = planEquity;
+            this.capacity = capacity;
+            this.cash = cash;
+            this.purchases = purchases;
+            this.years = years;
+        }
+
+        @Override
+        protected void compute() {
+            search(slot, bought, count, planEquity, capacity, cash, purchases, years);
+        }
+
+        private void search(int slot, long bought, int count, double planEquity, double capacity, double cash,
+                            int[] purchases, int[] years) {
+            long explored = nodes.incrementAndGet();
+            if (explored > maxNodes) {
+                return;
+            }
+            if ((explored & PROGRESS_INTERVAL - 1) == 0) {
+                progress.advance(PROGRESS_INTERVAL);
+                if (progress.isCancelled()) {
+                    // Push the counter past the budget so every other branch stops at its next node
+                    nodes.set(Long.MAX_VALUE / 2);
+                    return;
+                }
+            }
+            offer(planEquity, count, purchases, years);
+            if (slot == slots || count == maxPurchases || planEquity + bound(slot, bought, count, capacity) <= incumbent()) {
+                return;
+            }
+            if (!remember(slot, bought, planEquity, capacity, cash)) {
+                return;
+            }
+
+            double nextCash = cash + annualSavings * gap;
+            if (slot < PARALLEL_DEPTH) {
+                List<Node> children = new ArrayList<>();
+                for (int i : order[slot]) {
+                    if ((bought & (1L << i)) == 0 && loan[i][slot] <= capacity && deposit[i][slot] <= cash) {
+                        int[] childPurchases = purchases.clone();
+                        int[] childYears = years.clone();
+                        childPurchases[count] = i;
+                        childYears[count] = slot * gap;
+                        children.add(new Node(slot + 1, bought | (1L << i), count + 1, planEquity + equity[i][slot],
+                                capacity - loan[i][slot], nextCash - deposit[i][slot], childPurchases, childYears));
+                    }
+                }
+                children.add(new Node(slot + 1, bought, count, planEquity, capacity, nextCash,
+                        purchases.clone(), years.clone()));
+                invokeAll(children);
+                return;
+            }
+
+            for (int i : order[slot]) {
+                if ((bought & (1L << i)) == 0 && loan[i][slot] <= capacity && deposit[i][slot] <= cash) {
+                    purchases[count] = i;
+                    years[count] = slot * gap;
+                    search(slot + 1, bought | (1L << i), count + 1, planEquity + equity[i][slot],
+                            capacity - loan[i][slot], nextCash - deposit[i][slot], purchases, years);
+                }
+            }
+            search(slot + 1, bought, count, planEquity, capacity, nextCash, purchases, years);
+        }
+    }
+
+    /**
+     * Optimistic equity still to come: the best that each remaining purchase could add, ignoring
+     * cash and all but the capacity left now.
+     */
+    private double bound(int slot, long bought, int count, double capacity) {
+        int remaining = Math.min(maxPurchases - count, slots - slot);
+        double[] top = new double[remaining];
+        for (int i = 0; i < candidates; i++) {
+            // Loans only grow with time, so a listing unaffordable now stays unaffordable
+            if ((bought & (1L << i)) != 0 || loan[i][slot] > capacity) {
+                continue;
+            }
+            double value = bestFrom[i][slot];
+            // Insert into the descending top list, dropping the smallest
+            for (int j = 0; j < remaining; j++) {
+                if (value > top[j]) {
+                    double displaced = top[j];
+                    top[j] = value;
+                    value = displaced;
+                }
+            }
+        }
+        double sum = 0;
+        for (double value : top) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    // False when an equal or better state for the same listings and slot has been seen
+    private boolean remember(int slot, long bought, double planEquity, double capacity, double cash) {
+        Key key = new Key(slot, bought);
+        State seen = memo.get(key);
+        if (seen != null && seen.dominates(planEquity, capacity, cash)) {
+            return false;
+        }
+        if (seen != null || memo.size() < MAX_MEMO_ENTRIES) {
+            memo.put(key, new State(planEquity, capacity, cash));
+        }
+        return true;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}
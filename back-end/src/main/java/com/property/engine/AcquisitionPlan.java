@@ -0,0 +1,13 @@
+package com.property.engine;
+
+/**
+ * Best plan found by {@link AcquisitionOptimizer}. Purchases are in buying order, as indices
+ * into the shortlist columns the optimizer was given, with the year each is bought.
+ */
+public record AcquisitionPlan(
+        int[] purchases,
+        int[] purchaseYears,
+        double equityAtTarget,
+        long nodesExplored,
+        boolean exhaustive) {
+}
@@ -0,0 +1,41 @@
+package com.property.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Inputs for one loan's repayment schedule. Amounts are cents, the rate is a fraction.
+ */
+@Getter
+@Builder
+public class AmortizationParameters {
+
+    private final long principalCents;
+
+    private final double annualRate;
+
+    @Builder.Default
+    private final RepaymentFrequency frequency = RepaymentFrequency.MONTHLY;
+
+    // Remaining term; liabilities don't record one, so callers default it
+    @Builder.Default
+    private final int termYears = 30;
+
+    private final LocalDate startDate;
+
+    // Repayments due before this date are interest only; null means principal and interest throughout
+    private final LocalDate interestOnlyUntil;
+
+    // Offset balance at the start and the amount added to it every period
+    private final long offsetBalanceCents;
+
+    private final long offsetContributionCents;
+
+    // Paid on top of the scheduled repayment every period
+    private final long extraRepaymentCents;
+
+    // The lender's actual repayment, when it is higher than the annuity amount
+    private final long scheduledRepaymentCents;
+}
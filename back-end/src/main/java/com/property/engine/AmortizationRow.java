@@ -0,0 +1,17 @@
+package com.property.engine;
+
+import java.time.LocalDate;
+
+/**
+ * One repayment in an {@link AmortizationSchedule}. Amounts are in cents.
+ */
+public record AmortizationRow(
+        int period,
+        LocalDate dueDate,
+        boolean interestOnly,
+        long repaymentCents,
+        long interestCents,
+        long principalCents,
+        long balanceCents,
+        long offsetBalanceCents) {
+}
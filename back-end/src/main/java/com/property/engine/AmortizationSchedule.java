@@ -0,0 +1,87 @@
+package com.property.engine;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily generated repayment schedule. Each call to {@link #next()} rolls the loan forward one
+ * period, so a 30-year weekly schedule can be streamed to a client without ever holding its
+ * 1,560 rows in memory.
+ *
+ * Interest accrues on the balance net of the offset account. The annuity repayment is set at the
+ * start of the principal-and-interest phase over the periods then remaining, and held level
+ * afterwards, so offset savings and extra repayments shorten the loan rather than lower the
+ * repayment. Whatever is still owing at the final period is repaid with it.
+ *
+ * The balance is carried in whole cents and each period's interest is rounded to the cent before
+ * it is charged, as a lender's ledger does, so the rows always add up exactly.
+ */
+public final class AmortizationSchedule implements Iterator<AmortizationRow> {
+
+    private final AmortizationParameters parameters;
+    private final RepaymentFrequency frequency;
+    private final LocalDate startDate;
+    private final double periodRate;
+    private final int totalPeriods;
+
+    private long balance;
+    private long offset;
+    private long repayment = -1;
+    private int period;
+
+    public AmortizationSchedule(AmortizationParameters parameters) {
+        this.parameters = parameters;
+        this.frequency = parameters.getFrequency();
+        this.startDate = parameters.getStartDate() != null ? parameters.getStartDate() : LocalDate.now();
+        this.periodRate = parameters.getAnnualRate() / frequency.periodsPerYear();
+        this.totalPeriods = parameters.getTermYears() * frequency.periodsPerYear();
+        this.balance = parameters.getPrincipalCents();
+        this.offset = parameters.getOffsetBalanceCents();
+    }
+
+    public int totalPeriods() {
+        return totalPeriods;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return period < totalPeriods && balance > 0;
+    }
+
+    @Override
+    public AmortizationRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        period++;
+        LocalDate dueDate = frequency.dueDate(startDate, period);
+        LocalDate interestOnlyUntil = parameters.getInterestOnlyUntil();
+        boolean interestOnly = interestOnlyUntil != null && dueDate.isBefore(interestOnlyUntil);
+
+        long interest = Money.multiply(Money.max(Money.ZERO, Money.subtract(balance, offset)), periodRate);
+        long principal;
+        if (interestOnly) {
+            principal = parameters.getExtraRepaymentCents();
+        } else {
+            if (repayment < 0) {
+                repayment = levelRepayment(totalPeriods - period + 1);
+            }
+            principal = Money.add(Money.max(Money.ZERO, Money.subtract(repayment, interest)),
+                    parameters.getExtraRepaymentCents());
+        }
+        if (period == totalPeriods || principal > balance) {
+            principal = balance;
+        }
+
+        balance = Money.subtract(balance, principal);
+        offset = Money.add(offset, parameters.getOffsetContributionCents());
+        return new AmortizationRow(period, dueDate, interestOnly,
+                Money.add(interest, principal), interest, principal, balance, offset);
+    }
+
+    private long levelRepayment(int remainingPeriods) {
+        long annuity = Money.multiply(balance, AnnuityFactors.repaymentPerDollar(periodRate, remainingPeriods));
+        return Money.max(annuity, parameters.getScheduledRepaymentCents());
+    }
+}
@@ -0,0 +1,42 @@
+package com.property.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoised annuity factors: the level repayment per dollar borrowed for a given per-period
+ * rate and number of periods. Schedules for the same product (rate, term, frequency) hit the
+ * same entry, so the pow() is paid once rather than once per liability.
+ */
+public final class AnnuityFactors {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private record Key(double periodRate, int periods) {
+    }
+
+    private static final Map<Key, Double> FACTORS = new ConcurrentHashMap<>();
+
+    private AnnuityFactors() {
+    }
+
+    public static double repaymentPerDollar(double periodRate, int periods) {
+        if (periods <= 0) {
+            return 1;
+        }
+        if (periodRate == 0) {
+            return 1.0 / periods;
+        }
+        Key key = new Key(periodRate, periods);
+        Double factor = FACTORS.get(key);
+        if (factor == null) {
+            if (FACTORS.size() >= MAX_ENTRIES) {
+                FACTORS.clear();
+            }
+            double compound = Math.pow(1 + periodRate, periods);
+            factor = periodRate * compound / (compound - 1);
+            FACTORS.put(key, factor);
+        }
+        return factor;
+    }
+}
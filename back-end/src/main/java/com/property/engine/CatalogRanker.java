@@ -0,0 +1,233 @@
+package com.property.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks a catalog of candidate properties for one client's portfolio and keeps the best K.
+ *
+ * Each candidate is bought with the standard deposit and fees and scored on its ten-year net
+ * gain: equity after ten years plus ten years of first-year cash flow, less the cash put in.
+ * Candidates whose loan exceeds the client's borrowing capacity, or that would push the
+ * portfolio's LVR past the limit, are skipped. Repayments and the balance left after ten years
+ * are linear in the loan, so both reduce to one factor each for the whole catalog.
+ *
+ * The catalog is split into blocks scored in parallel; every block keeps its own bounded heap of
+ * indices and scores, and the heaps are merged at the end, so scoring allocates nothing per
+ * candidate.
+ */
+public final class CatalogRanker {
+
+    public static final int HORIZON_YEARS = 10;
+
+    private static final int BLOCK_SIZE = 4096;
+
+    // Keeps a purchase at exactly the LVR limit eligible despite rounding
+    private static final double LVR_TOLERANCE = 1e-9;
+
+    /**
+     * One of the top-ranked candidates; index is its position in the catalog columns.
+     */
+    public record RankedCandidate(int index, double score, double annualCashFlow,
+                                  double equityAtHorizon, double portfolioLvr) {
+    }
+
+    private final PortfolioColumns catalog;
+    private final ProjectionAssumptions assumptions;
+    private final double portfolioValue;
+    private final double portfolioDebt;
+    private final double capacity;
+    private final double maxLvr;
+    private final double repaymentPerDollar;
+    private final double balancePerDollar;
+    private final double rentKept;
+    private final double upfrontRate;
+
+    private CatalogRanker(PortfolioColumns catalog, PortfolioSnapshot portfolio, double capacity, double maxLvr) {
+        this.catalog = catalog;
+        this.assumptions = portfolio.assumptions();
+        this.portfolioValue = portfolio.valueCents() / 100.0;
+        this.portfolioDebt = portfolio.debtCents() / 100.0;
+        this.capacity = capacity;
+        this.maxLvr = maxLvr;
+        this.repaymentPerDollar = ProjectionEngine.firstYearRepayment(1, assumptions.getInterestRate(),
+                assumptions.getLoanTermYears(), assumptions.isInterestOnly());
+        this.balancePerDollar = ProjectionEngine.remainingBalanceFactor(assumptions.getInterestRate(),
+                assumptions.getLoanTermYears(), assumptions.isInterestOnly(), HORIZON_YEARS);
+        this.rentKept = 1 - assumptions.getRentLossRate();
+        this.upfrontRate = assumptions.getDepositRate();
+    }
+
+    /**
+     * @param portfolio the client's current holdings, under the assumptions to buy with
+     * @param capacity  largest loan the client can service
+     * @param maxLvr    highest portfolio loan-to-value ratio allowed after the purchase
+     */
+    public static List<RankedCandidate> rank(PortfolioColumns catalog, PortfolioSnapshot portfolio,
+                                             double capacity, double maxLvr, int k, ForkJoinPool pool) {
+        if (k <= 0 || catalog.size() == 0) {
+            return List.of();
+        }
+        CatalogRanker ranker = new CatalogRanker(catalog, portfolio, capacity, maxLvr);
+        TopK top = pool.invoke(ranker.new Block(0, catalog.size(), k));
+
+        int[] order = top.sortedDescending();
+        List<RankedCandidate> ranked = new ArrayList<>(order.length);
+        for (int i : order) {
+            ranked.add(ranker.describe(i));
+        }
+        return ranked;
+    }
+
+    private double debt(int i) {
+        return assumptions.initialDebt(catalog.value[i]);
+    }
+
+    private double cashFlow(int i, double debt) {
+        return catalog.value[i] * (catalog.yield[i] * rentKept - assumptions.getHoldingCostRate())
+                - debt * repaymentPerDollar;
+    }
+
+    private double lvr(int i, double debt) {
+        double value = portfolioValue + catalog.value[i];
+        return value > 0 ? (portfolioDebt + debt) / value : 0;
+    }
+
+    // NaN when the candidate is not eligible
+    private double score(int i) {
+        double value = catalog.value[i];
+        double debt = debt(i);
+        if (value <= 0 || debt > capacity || lvr(i, debt) > maxLvr + LVR_TOLERANCE) {
+            return Double.NaN;
+        }
+        double equity = value * Math.pow(1 + catalog.growth[i], HORIZON_YEARS) - debt * balancePerDollar;
+        // Deposit is paid in cash; fees are capitalised into the loan
+        return equity + HORIZON_YEARS * cashFlow(i, debt) - value * upfrontRate;
+    }
+
+    private RankedCandidate describe(int i) {
+        double debt = debt(i);
+        double equity = catalog.value[i] * Math.pow(1 + catalog.growth[i], HORIZON_YEARS) - debt * balancePerDollar;
+        return new RankedCandidate(i, score(i), cashFlow(i, debt), equity, lvr(i, debt));
+    }
+
+    private final class Block extends RecursiveTask<TopK> {
+        private final int from;
+        private final int to;
+        private final int k;
+
+        Block(int from, int to, int k) {
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= BLOCK_SIZE) {
+                TopK top = new TopK(k);
+                for (int i = from; i < to; i++) {
+                    double score = score(i);
+                    if (!Double.isNaN(score)) {
+                        top.offer(i, score);
+                    }
+                }
+                return top;
+            }
+            int mid = (from + to) >>> 1;
+            Block left = new Block(from, mid, k);
+            left.fork();
+            TopK right = new Block(mid, to, k).compute();
+            return left.join().mergeFrom(right);
+        }
+    }
+
+    /**
+     * Bounded min-heap of (score, index) pairs in primitive arrays; the root is the weakest
+     * candidate kept, so a new one only has to beat it.
+     */
+    static final class TopK {
+        private final double[] scores;
+        private final int[] indices;
+        private int size;
+
+        TopK(int capacity) {
+            this.scores = new double[capacity];
+            this.indices = new int[capacity];
+        }
+
+        void offer(int index, double score) {
+            if (size < scores.length) {
+                scores[size] = score;
+                indices[size] = index;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                indices[0] = index;
+                siftDown(0);
+            }
+        }
+
+        TopK mergeFrom(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.indices[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        int[] sortedDescending() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = indices[order[i]];
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int index = indices[a];
+            indices[a] = indices[b];
+            indices[b] = index;
+        }
+    }
+}
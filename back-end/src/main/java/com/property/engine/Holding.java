@@ -0,0 +1,78 @@
+package com.property.engine;
+
+import com.property.entity.Property;
+
+import java.util.UUID;
+
+/**
+ * One property's contribution to a portfolio under a fixed set of assumptions: its inputs plus
+ * today's value and debt and its first-year cash flow and growth, all in cents so that adding
+ * and removing holdings keeps portfolio totals exact.
+ */
+public final class Holding {
+
+    private final UUID id;
+    final double value;
+    final double growth;
+    final double yield;
+    final double debt;
+
+    private final long valueCents;
+    private final long debtCents;
+    private final long cashFlowCents;
+    private final long growthCents;
+
+    private Holding(UUID id, double value, double growth, double yield, double debt, ProjectionAssumptions assumptions) {
+        this.id = id;
+        this.value = value;
+        this.growth = growth;
+        this.yield = yield;
+        this.debt = debt;
+        this.valueCents = Money.ofDollars(value);
+        this.debtCents = Money.ofDollars(debt);
+        double cashFlow = value * (yield * (1 - assumptions.getRentLossRate()) - assumptions.getHoldingCostRate())
+                - ProjectionEngine.firstYearRepayment(debt, assumptions.getInterestRate(),
+                        assumptions.getLoanTermYears(), assumptions.isInterestOnly());
+        this.cashFlowCents = Money.ofDollars(cashFlow);
+        this.growthCents = Money.ofDollars(value * growth);
+    }
+
+    public static Holding of(UUID id, double value, double growth, double yield, double debt,
+                             ProjectionAssumptions assumptions) {
+        return new Holding(id, value, growth, yield, debt, assumptions);
+    }
+
+    /**
+     * A property bought at its listed price with the standard deposit and fees.
+     */
+    public static Holding of(Property property, ProjectionAssumptions assumptions) {
+        double price = PortfolioColumns.toDouble(property.getPrice());
+        return of(property, assumptions.initialDebt(price), assumptions);
+    }
+
+    public static Holding of(Property property, double debt, ProjectionAssumptions assumptions) {
+        return new Holding(property.getId(), PortfolioColumns.toDouble(property.getPrice()),
+                PortfolioColumns.percent(property.getGrowthRate()),
+                PortfolioColumns.percent(property.getRentalYield()), debt, assumptions);
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public long valueCents() {
+        return valueCents;
+    }
+
+    public long debtCents() {
+        return debtCents;
+    }
+
+    public long cashFlowCents() {
+        return cashFlowCents;
+    }
+
+    public long growthCents() {
+        return growthCents;
+    }
+}
@@ -0,0 +1,24 @@
+package com.property.engine;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One listing as held by {@link ListingColumns}. Measures are NaN when not recorded; rates are
+ * percentages, as stored on the property.
+ */
+public record Listing(UUID id, String name, String street, String suburb, String state, String postcode,
+                      String description, String imageUrl, double price, double beds, double baths, double area,
+                      double growthRate, double rentalYield, Set<String> features, boolean available) {
+
+    double measure(ListingColumns.Measure measure) {
+        return switch (measure) {
+            case PRICE -> price;
+            case BEDS -> beds;
+            case BATHS -> baths;
+            case AREA -> area;
+            case GROWTH_RATE -> growthRate;
+            case RENTAL_YIELD -> rentalYield;
+        };
+    }
+}
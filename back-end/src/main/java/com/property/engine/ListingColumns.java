@@ -0,0 +1,305 @@
+package com.property.engine;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Listings held column by column in memory, so they can be filtered without a database round
+ * trip.
+ *
+ * Each measure is a primitive array indexed by row. Each attribute value (a state, suburb,
+ * postcode or feature) has a compressed bitmap of the rows that have it, so the attribute
+ * predicates of a query are a bitmap intersection, smallest first, and its measure ranges are
+ * then checked one column at a time over the rows that survive. A listing keeps its row when it
+ * is put again, and new listings take the next row, so higher rows were added later.
+ *
+ * Not thread safe; callers must not read while a write is in progress.
+ */
+public final class ListingColumns {
+
+    public enum Measure {
+        PRICE,
+        BEDS,
+        BATHS,
+        AREA,
+        GROWTH_RATE,
+        RENTAL_YIELD
+    }
+
+    public enum Attribute {
+        STATE,
+        SUBURB,
+        POSTCODE,
+        // A listing can have any number of features
+        FEATURE
+    }
+
+    private static final int MEASURES = Measure.values().length;
+    private static final int[] NO_FEATURES = new int[0];
+
+    private int size;
+    private UUID[] ids;
+    private String[] names;
+    private String[] streets;
+    private String[] descriptions;
+    private String[] imageUrls;
+    private final double[][] measures = new double[MEASURES][];
+    // Each row's dictionary code for the single-valued attributes, or -1 when it has none
+    private final int[][] codes = new int[Attribute.FEATURE.ordinal()][];
+    private int[][] features;
+    private final Index[] indexes = new Index[Attribute.values().length];
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final Map<UUID, Integer> rows = new HashMap<>();
+
+    public ListingColumns(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        ids = new UUID[capacity];
+        names = new String[capacity];
+        streets = new String[capacity];
+        descriptions = new String[capacity];
+        imageUrls = new String[capacity];
+        for (int m = 0; m < MEASURES; m++) {
+            measures[m] = new double[capacity];
+        }
+        for (int a = 0; a < codes.length; a++) {
+            codes[a] = new int[capacity];
+        }
+        features = new int[capacity][];
+        for (int a = 0; a < indexes.length; a++) {
+            indexes[a] = new Index();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a listing, or replaces the one with the same id in place.
+     */
+    public void put(Listing listing) {
+        Integer existing = rows.get(listing.id());
+        int row;
+        if (existing != null) {
+            row = existing;
+            unindex(row);
+        } else {
+            if (size == ids.length) {
+                grow(size * 2);
+            }
+            row = size++;
+            rows.put(listing.id(), row);
+        }
+
+        ids[row] = listing.id();
+        names[row] = listing.name();
+        streets[row] = listing.street();
+        descriptions[row] = listing.description();
+        imageUrls[row] = listing.imageUrl();
+        for (Measure measure : Measure.values()) {
+            measures[measure.ordinal()][row] = listing.measure(measure);
+        }
+        codes[Attribute.STATE.ordinal()][row] = indexes[Attribute.STATE.ordinal()].add(listing.state(), row);
+        codes[Attribute.SUBURB.ordinal()][row] = indexes[Attribute.SUBURB.ordinal()].add(listing.suburb(), row);
+        codes[Attribute.POSTCODE.ordinal()][row] = indexes[Attribute.POSTCODE.ordinal()].add(listing.postcode(), row);
+        if (listing.features() == null || listing.features().isEmpty()) {
+            features[row] = NO_FEATURES;
+        } else {
+            int[] featureCodes = new int[listing.features().size()];
+            int f = 0;
+            for (String feature : listing.features()) {
+                featureCodes[f++] = indexes[Attribute.FEATURE.ordinal()].add(feature, row);
+            }
+            features[row] = featureCodes;
+        }
+        if (listing.available()) {
+            available.add(row);
+        } else {
+            available.remove(row);
+        }
+    }
+
+    /**
+     * Compacts the bitmaps; worth doing once after a bulk load.
+     */
+    public void optimize() {
+        for (Index index : indexes) {
+            index.optimize();
+        }
+        available.runOptimize();
+    }
+
+    /**
+     * The rows matching the query, in ascending order.
+     */
+    public int[] select(ListingQuery query) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (Map.Entry<Attribute, List<String>> predicate : query.values.entrySet()) {
+            Index index = indexes[predicate.getKey().ordinal()];
+            for (String value : predicate.getValue()) {
+                RoaringBitmap matching = index.rows(value);
+                if (matching == null) {
+                    return new int[0];
+                }
+                bitmaps.add(matching);
+            }
+        }
+        if (Boolean.TRUE.equals(query.available)) {
+            bitmaps.add(available);
+        }
+
+        RoaringBitmap candidates = null;
+        if (!bitmaps.isEmpty()) {
+            bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            candidates = bitmaps.size() == 1 ? bitmaps.get(0) : RoaringBitmap.and(bitmaps.get(0), bitmaps.get(1));
+            for (int b = 2; b < bitmaps.size() && !candidates.isEmpty(); b++) {
+                candidates.and(bitmaps.get(b));
+            }
+        }
+        if (Boolean.FALSE.equals(query.available)) {
+            candidates = candidates != null
+                    ? RoaringBitmap.andNot(candidates, available)
+                    : RoaringBitmap.flip(available, 0L, size);
+        }
+
+        int[] matches;
+        int count;
+        int m = 0;
+        if (candidates != null) {
+            matches = candidates.toArray();
+            count = matches.length;
+        } else {
+            while (m < MEASURES && !query.bounded[m]) {
+                m++;
+            }
+            matches = new int[size];
+            count = 0;
+            if (m == MEASURES) {
+                for (int row = 0; row < size; row++) {
+                    matches[count++] = row;
+                }
+                return matches;
+            }
+            // Nothing narrowed the rows, so the first range scans its whole column
+            double[] column = measures[m];
+            double min = query.min[m];
+            double max = query.max[m];
+            for (int row = 0; row < size; row++) {
+                double value = column[row];
+                matches[count] = row;
+                count += value >= min & value <= max ? 1 : 0;
+            }
+            m++;
+        }
+        for (; m < MEASURES && count > 0; m++) {
+            if (!query.bounded[m]) {
+                continue;
+            }
+            double[] column = measures[m];
+            double min = query.min[m];
+            double max = query.max[m];
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int row = matches[i];
+                double value = column[row];
+                matches[kept] = row;
+                // NaN, for a measure not recorded, fails both comparisons
+                kept += value >= min & value <= max ? 1 : 0;
+            }
+            count = kept;
+        }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+
+    public Listing listing(int row) {
+        Set<String> featureValues = new LinkedHashSet<>();
+        for (int code : features[row]) {
+            featureValues.add(indexes[Attribute.FEATURE.ordinal()].value(code));
+        }
+        return new Listing(ids[row], names[row], streets[row],
+                indexes[Attribute.SUBURB.ordinal()].value(codes[Attribute.SUBURB.ordinal()][row]),
+                indexes[Attribute.STATE.ordinal()].value(codes[Attribute.STATE.ordinal()][row]),
+                indexes[Attribute.POSTCODE.ordinal()].value(codes[Attribute.POSTCODE.ordinal()][row]),
+                descriptions[row], imageUrls[row],
+                measures[Measure.PRICE.ordinal()][row], measures[Measure.BEDS.ordinal()][row],
+                measures[Measure.BATHS.ordinal()][row], measures[Measure.AREA.ordinal()][row],
+                measures[Measure.GROWTH_RATE.ordinal()][row], measures[Measure.RENTAL_YIELD.ordinal()][row],
+                featureValues, available.contains(row));
+    }
+
+    private void unindex(int row) {
+        for (int a = 0; a < codes.length; a++) {
+            indexes[a].remove(codes[a][row], row);
+        }
+        for (int code : features[row]) {
+            indexes[Attribute.FEATURE.ordinal()].remove(code, row);
+        }
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        streets = Arrays.copyOf(streets, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        imageUrls = Arrays.copyOf(imageUrls, capacity);
+        for (int m = 0; m < MEASURES; m++) {
+            measures[m] = Arrays.copyOf(measures[m], capacity);
+        }
+        for (int a = 0; a < codes.length; a++) {
+            codes[a] = Arrays.copyOf(codes[a], capacity);
+        }
+        features = Arrays.copyOf(features, capacity);
+    }
+
+    // Dictionary of one attribute's values, each with the bitmap of rows that have it
+    private static final class Index {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<RoaringBitmap> rows = new ArrayList<>();
+
+        int add(String value, int row) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                rows.add(new RoaringBitmap());
+            }
+            rows.get(code).add(row);
+            return code;
+        }
+
+        void remove(int code, int row) {
+            if (code >= 0) {
+                rows.get(code).remove(row);
+            }
+        }
+
+        RoaringBitmap rows(String value) {
+            Integer code = codes.get(value);
+            return code != null ? rows.get(code) : null;
+        }
+
+        String value(int code) {
+            return code >= 0 ? values.get(code) : null;
+        }
+
+        void optimize() {
+            for (RoaringBitmap bitmap : rows) {
+                bitmap.runOptimize();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.property.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A conjunction of predicates over {@link ListingColumns}: attribute values a listing must have,
+ * closed ranges its measures must fall in, and whether it must be available. A listing with no
+ * value for a constrained measure does not match.
+ */
+public final class ListingQuery {
+
+    final Map<ListingColumns.Attribute, List<String>> values = new EnumMap<>(ListingColumns.Attribute.class);
+    final double[] min = new double[ListingColumns.Measure.values().length];
+    final double[] max = new double[ListingColumns.Measure.values().length];
+    final boolean[] bounded = new boolean[ListingColumns.Measure.values().length];
+    Boolean available;
+
+    public ListingQuery() {
+        Arrays.fill(min, Double.NEGATIVE_INFINITY);
+        Arrays.fill(max, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Requires the attribute to have the value; a null value is ignored. Repeating an attribute
+     * requires every value, which only a listing's features can satisfy.
+     */
+    public ListingQuery where(ListingColumns.Attribute attribute, String value) {
+        if (value != null) {
+            values.computeIfAbsent(attribute, a -> new ArrayList<>()).add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Requires the measure to be at least {@code min}; a null bound is ignored.
+     */
+    public ListingQuery atLeast(ListingColumns.Measure measure, Number min) {
+        if (min != null) {
+            this.min[measure.ordinal()] = Math.max(this.min[measure.ordinal()], min.doubleValue());
+            bounded[measure.ordinal()] = true;
+        }
+        return this;
+    }
+
+    /**
+     * Requires the measure to be at most {@code max}; a null bound is ignored.
+     */
+    public ListingQuery atMost(ListingColumns.Measure measure, Number max) {
+        if (max != null) {
+            this.max[measure.ordinal()] = Math.min(this.max[measure.ordinal()], max.doubleValue());
+            bounded[measure.ordinal()] = true;
+        }
+        return this;
+    }
+
+    public ListingQuery available(Boolean available) {
+        this.available = available;
+        return this;
+    }
+}
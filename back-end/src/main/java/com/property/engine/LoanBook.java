@@ -0,0 +1,92 @@
+package com.property.engine;
+
+import java.util.Arrays;
+
+/**
+ * One household's loans as parallel columns, for repricing under rate shocks. The book is
+ * cleared and refilled for each household, so a run over many households allocates nothing per
+ * loan. Repayments are monthly and in dollars; rates are fractions.
+ */
+public final class LoanBook {
+
+    // Remaining term assumed when repricing an amortising loan, as in the serviceability assessment
+    private static final int TERM_MONTHS = 30 * 12;
+
+    private double[] balance = new double[4];
+    private double[] rate = new double[4];
+    private double[] repayment = new double[4];
+    private boolean[] interestOnly = new boolean[4];
+    private int size;
+    private double fixedRepayments;
+    private double debt;
+
+    public void clear() {
+        size = 0;
+        fixedRepayments = 0;
+        debt = 0;
+    }
+
+    /**
+     * A commitment whose repayment does not follow the cash rate, such as a credit card assessed
+     * on its limit.
+     */
+    public void addFixed(double monthlyRepayment, double balance) {
+        fixedRepayments += monthlyRepayment;
+        debt += balance;
+    }
+
+    /**
+     * A loan that reprices with the cash rate. A recorded repayment of zero or less is replaced
+     * by the repayment the balance and rate imply.
+     */
+    public void addLoan(double balance, double rate, double monthlyRepayment, boolean interestOnly) {
+        if (size == this.balance.length) {
+            int capacity = size * 2;
+            this.balance = Arrays.copyOf(this.balance, capacity);
+            this.rate = Arrays.copyOf(this.rate, capacity);
+            this.repayment = Arrays.copyOf(this.repayment, capacity);
+            this.interestOnly = Arrays.copyOf(this.interestOnly, capacity);
+        }
+        if (monthlyRepayment <= 0) {
+            monthlyRepayment = interestOnly
+                    ? balance * rate / 12
+                    : balance * AnnuityFactors.repaymentPerDollar(rate / 12, TERM_MONTHS);
+        }
+        this.balance[size] = balance;
+        this.rate[size] = rate;
+        this.repayment[size] = monthlyRepayment;
+        this.interestOnly[size] = interestOnly;
+        size++;
+        debt += balance;
+    }
+
+    /**
+     * Total monthly repayments once every repricing loan's rate has risen by {@code shock}. Each
+     * loan's repayment moves by the difference the shock makes to its own, so a loan being paid
+     * down faster than required keeps its extra repayment.
+     */
+    public double monthlyRepayments(double shock) {
+        double total = fixedRepayments;
+        for (int i = 0; i < size; i++) {
+            total += repayment[i];
+            if (shock == 0) {
+                continue;
+            }
+            if (interestOnly[i]) {
+                total += balance[i] * shock / 12;
+            } else {
+                total += balance[i] * (AnnuityFactors.repaymentPerDollar((rate[i] + shock) / 12, TERM_MONTHS)
+                        - AnnuityFactors.repaymentPerDollar(rate[i] / 12, TERM_MONTHS));
+            }
+        }
+        return total;
+    }
+
+    public double debt() {
+        return debt;
+    }
+
+    public int size() {
+        return size;
+    }
+}
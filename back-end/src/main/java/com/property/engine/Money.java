@@ -0,0 +1,107 @@
+package com.property.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money in whole cents held in a {@code long}.
+ *
+ * The engines keep amounts as raw longs rather than wrapping them in objects, so that a loop
+ * over years or repayment periods allocates nothing; this class is the arithmetic for them.
+ * Every operation fails with {@link ArithmeticException} instead of silently overflowing, and
+ * every rounding is half-even, the same as the BigDecimal fields the amounts come from.
+ * Conversion to and from BigDecimal belongs at the JPA and DTO boundary only.
+ */
+public final class Money {
+
+    public static final long ZERO = 0L;
+
+    // Doubles at or beyond this many cents cannot be rounded into a long
+    private static final double MAX_CENTS = 0x1p63;
+
+    private Money() {
+    }
+
+    /**
+     * Cents for an entity or DTO amount, rounded half-even to the cent; null is zero.
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Cents for a dollar amount produced by floating-point model code, rounded half-even.
+     */
+    public static long ofDollars(double dollars) {
+        return roundToCents(dollars * 100);
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long negate(long cents) {
+        return Math.negateExact(cents);
+    }
+
+    public static long multiply(long cents, long factor) {
+        return Math.multiplyExact(cents, factor);
+    }
+
+    /**
+     * An amount scaled by a rate or other fraction, rounded half-even to the cent.
+     */
+    public static long multiply(long cents, double factor) {
+        return roundToCents(cents * factor);
+    }
+
+    /**
+     * An amount split into equal parts, such as an annual figure into months, rounded half-even.
+     */
+    public static long divide(long cents, long divisor) {
+        long quotient = cents / divisor;
+        long remainder = cents % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // Compare the remainder with the rest of the divisor rather than doubling it, which can
+        // overflow. Math.abs(Long.MIN_VALUE) wraps, but the subtraction wraps back to the right value
+        long absRemainder = Math.abs(remainder);
+        long rest = Math.abs(divisor) - absRemainder;
+        boolean negative = (cents < 0) != (divisor < 0);
+        if (absRemainder > rest || (absRemainder == rest && (quotient & 1) != 0)) {
+            return negative ? quotient - 1 : quotient + 1;
+        }
+        return quotient;
+    }
+
+    public static long min(long a, long b) {
+        return Math.min(a, b);
+    }
+
+    public static long max(long a, long b) {
+        return Math.max(a, b);
+    }
+
+    private static long roundToCents(double cents) {
+        if (Double.isNaN(cents) || Math.abs(cents) >= MAX_CENTS) {
+            throw new ArithmeticException("Amount out of range: " + cents / 100);
+        }
+        return (long) Math.rint(cents);
+    }
+}
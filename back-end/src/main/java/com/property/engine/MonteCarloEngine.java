@@ -0,0 +1,189 @@
+package com.property.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo version of {@link ProjectionEngine}: every path draws a market growth shock, a
+ * per-property growth shock and a variable-rate move each year.
+ *
+ * Paths are grouped into fixed-size blocks and each block gets its own generator, split from
+ * the seed up front in block order. Results therefore depend only on the seed and never on
+ * how the fork/join pool schedules the blocks or how many threads it has.
+ *
+ * Progress is reported in paths, one block at a time, and cancellation is checked before each
+ * block starts.
+ */
+public final class MonteCarloEngine {
+
+    static final int BLOCK_SIZE = 256;
+
+    private MonteCarloEngine() {
+    }
+
+    public static MonteCarloResult run(PortfolioColumns columns, ProjectionAssumptions assumptions,
+                                       MonteCarloParameters parameters, ForkJoinPool pool) {
+        return run(columns, assumptions, parameters, pool, ProgressListener.NONE);
+    }
+
+    public static MonteCarloResult run(PortfolioColumns columns, ProjectionAssumptions assumptions,
+                                       MonteCarloParameters parameters, ForkJoinPool pool,
+                                       ProgressListener progress) {
+        int paths = parameters.getPaths();
+        int years = parameters.getYears();
+        int blocks = (paths + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        SplittableRandom root = new SplittableRandom(parameters.getSeed());
+        SplittableRandom[] generators = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            generators[b] = root.split();
+        }
+
+        // Year-major so each year's column can be sorted in place for the percentiles
+        double[][] equity = new double[years + 1][paths];
+        double[][] cashFlow = new double[years + 1][paths];
+        pool.invoke(new PathBlocks(columns, assumptions, parameters, progress, generators, equity, cashFlow, 0, blocks));
+
+        MonteCarloResult result = new MonteCarloResult(parameters.getSeed(), paths, years);
+        pool.submit(() -> IntStream.rangeClosed(0, years).parallel().forEach(year -> {
+            Arrays.sort(equity[year]);
+            Arrays.sort(cashFlow[year]);
+            result.record(year, equity[year], cashFlow[year]);
+        })).join();
+        return result;
+    }
+
+    private static final class PathBlocks extends RecursiveAction {
+        private final PortfolioColumns columns;
+        private final ProjectionAssumptions assumptions;
+        private final MonteCarloParameters parameters;
+        private final ProgressListener progress;
+        private final SplittableRandom[] generators;
+        private final double[][] equity;
+        private final double[][] cashFlow;
+        private final int fromBlock;
+        private final int toBlock;
+
+        PathBlocks(PortfolioColumns columns, ProjectionAssumptions assumptions, MonteCarloParameters parameters,
+                   ProgressListener progress, SplittableRandom[] generators, double[][] equity, double[][] cashFlow,
+                   int fromBlock, int toBlock) {
+            this.columns = columns;
+            this.assumptions = assumptions;
+            this.parameters = parameters;
+            this.progress = progress;
+            this.generators = generators;
+            this.equity = equity;
+            this.cashFlow = cashFlow;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > 1) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                invokeAll(
+                        new PathBlocks(columns, assumptions, parameters, progress, generators, equity, cashFlow, fromBlock, mid),
+                        new PathBlocks(columns, assumptions, parameters, progress, generators, equity, cashFlow, mid, toBlock));
+                return;
+            }
+            if (progress.isCancelled()) {
+                throw new CancellationException("Monte Carlo run cancelled");
+            }
+            PathSimulator simulator = new PathSimulator(columns, assumptions, parameters);
+            SplittableRandom random = generators[fromBlock];
+            int first = fromBlock * BLOCK_SIZE;
+            int last = Math.min(first + BLOCK_SIZE, parameters.getPaths());
+            for (int path = first; path < last; path++) {
+                simulator.simulate(random, path, equity, cashFlow);
+            }
+            progress.advance(last - first);
+        }
+    }
+
+    /**
+     * Scratch state for one worker, reused across every path in its block.
+     */
+    private static final class PathSimulator {
+        private final PortfolioColumns columns;
+        private final ProjectionAssumptions assumptions;
+        private final int years;
+        private final double growthVolatility;
+        private final double marketLoading;
+        private final double idiosyncraticLoading;
+        private final double rateVolatility;
+        private final double rateMarketLoading;
+        private final double rateOwnLoading;
+        private final double[] value;
+        private final double[] debt;
+
+        PathSimulator(PortfolioColumns columns, ProjectionAssumptions assumptions, MonteCarloParameters parameters) {
+            this.columns = columns;
+            this.assumptions = assumptions;
+            this.years = parameters.getYears();
+            this.growthVolatility = parameters.getGrowthVolatility();
+            this.marketLoading = Math.sqrt(parameters.getPropertyCorrelation());
+            this.idiosyncraticLoading = Math.sqrt(1 - parameters.getPropertyCorrelation());
+            this.rateVolatility = parameters.getRateVolatility();
+            this.rateMarketLoading = parameters.getRateGrowthCorrelation();
+            this.rateOwnLoading = Math.sqrt(1 - rateMarketLoading * rateMarketLoading);
+            this.value = new double[columns.size()];
+            this.debt = new double[columns.size()];
+        }
+
+        void simulate(SplittableRandom random, int path, double[][] equity, double[][] cashFlow) {
+            int n = value.length;
+            System.arraycopy(columns.value, 0, value, 0, n);
+            System.arraycopy(columns.debt, 0, debt, 0, n);
+            double rentKept = 1 - assumptions.getRentLossRate();
+            double holdingCost = assumptions.getHoldingCostRate();
+            boolean interestOnly = assumptions.isInterestOnly();
+            int term = assumptions.getLoanTermYears();
+            double rate = assumptions.getInterestRate();
+
+            for (int year = 0; year <= years; year++) {
+                // Variable-rate P&I loans re-amortise over the remaining term whenever the rate moves
+                double monthlyRate = rate / 12;
+                double compound = Math.pow(1 + monthlyRate, 12);
+                double accumulated = monthlyRate == 0 ? 12 : (compound - 1) / monthlyRate;
+                double monthlyFactor = ProjectionEngine.annualRepaymentFactor(rate, Math.max(1, term - year)) / 12;
+
+                double totalEquity = 0;
+                double totalCashFlow = 0;
+                for (int i = 0; i < n; i++) {
+                    double paid;
+                    double nextDebt;
+                    if (interestOnly) {
+                        paid = debt[i] * rate;
+                        nextDebt = debt[i];
+                    } else if (debt[i] > 0) {
+                        double repayment = debt[i] * monthlyFactor;
+                        nextDebt = debt[i] * compound - repayment * accumulated;
+                        paid = 12 * repayment + Math.min(nextDebt, 0);
+                        nextDebt = Math.max(nextDebt, 0);
+                    } else {
+                        paid = 0;
+                        nextDebt = 0;
+                    }
+                    totalEquity += value[i] - debt[i];
+                    totalCashFlow += value[i] * (columns.yield[i] * rentKept - holdingCost) - paid;
+                    debt[i] = nextDebt;
+                }
+                equity[year][path] = totalEquity;
+                cashFlow[year][path] = totalCashFlow;
+
+                double market = random.nextGaussian();
+                double rateShock = rateMarketLoading * market + rateOwnLoading * random.nextGaussian();
+                rate = Math.max(0, rate + rateVolatility * rateShock);
+                for (int i = 0; i < n; i++) {
+                    double shock = marketLoading * market + idiosyncraticLoading * random.nextGaussian();
+                    value[i] *= Math.max(0, 1 + columns.growth[i] + growthVolatility * shock);
+                }
+            }
+        }
+    }
+}
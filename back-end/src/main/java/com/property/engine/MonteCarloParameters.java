@@ -0,0 +1,37 @@
+package com.property.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Shape of the random shocks applied on top of each property's expected growth rate and the
+ * starting interest rate. Volatilities are annual standard deviations as fractions.
+ */
+@Getter
+@Builder
+public class MonteCarloParameters {
+
+    @Builder.Default
+    private final int paths = 10_000;
+
+    @Builder.Default
+    private final int years = 30;
+
+    private final long seed;
+
+    @Builder.Default
+    private final double growthVolatility = 0.04;
+
+    // Yearly standard deviation of the change in the variable rate
+    @Builder.Default
+    private final double rateVolatility = 0.0075;
+
+    // Share of growth variance explained by the market-wide factor common to every property
+    @Builder.Default
+    private final double propertyCorrelation = 0.6;
+
+    // Correlation between the market growth factor and rate moves; negative when rate rises
+    // tend to coincide with weaker prices
+    @Builder.Default
+    private final double rateGrowthCorrelation = -0.3;
+}
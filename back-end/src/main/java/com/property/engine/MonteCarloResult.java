@@ -0,0 +1,54 @@
+package com.property.engine;
+
+/**
+ * Per-year percentile bands across all simulated paths, in cents.
+ */
+public final class MonteCarloResult {
+
+    public static final double[] PERCENTILES = {0.05, 0.50, 0.95};
+
+    private final long seed;
+    private final int paths;
+    // [percentile][year]
+    private final long[][] equityCents;
+    private final long[][] cashFlowCents;
+
+    MonteCarloResult(long seed, int paths, int years) {
+        this.seed = seed;
+        this.paths = paths;
+        this.equityCents = new long[PERCENTILES.length][years + 1];
+        this.cashFlowCents = new long[PERCENTILES.length][years + 1];
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int paths() {
+        return paths;
+    }
+
+    public int years() {
+        return equityCents[0].length - 1;
+    }
+
+    public long equityCents(int percentile, int year) {
+        return equityCents[percentile][year];
+    }
+
+    public long cashFlowCents(int percentile, int year) {
+        return cashFlowCents[percentile][year];
+    }
+
+    void record(int year, double[] sortedEquity, double[] sortedCashFlow) {
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            equityCents[p][year] = Money.ofDollars(nearestRank(sortedEquity, PERCENTILES[p]));
+            cashFlowCents[p][year] = Money.ofDollars(nearestRank(sortedCashFlow, PERCENTILES[p]));
+        }
+    }
+
+    private static double nearestRank(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,126 @@
+package com.property.engine;
+
+import com.property.entity.Property;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Column-oriented view of a set of properties, so the engines can loop over primitive arrays
+ * instead of walking entities and BigDecimals on every projected year.
+ */
+public final class PortfolioColumns {
+
+    final UUID[] ids;
+    final double[] value;
+    final double[] growth;
+    final double[] yield;
+    final double[] debt;
+
+    PortfolioColumns(int size) {
+        this.ids = new UUID[size];
+        this.value = new double[size];
+        this.growth = new double[size];
+        this.yield = new double[size];
+        this.debt = new double[size];
+    }
+
+    public static PortfolioColumns of(Collection<Property> properties, ProjectionAssumptions assumptions) {
+        PortfolioColumns columns = new PortfolioColumns(properties.size());
+        int i = 0;
+        for (Property property : properties) {
+            double price = toDouble(property.getPrice());
+            columns.ids[i] = property.getId();
+            columns.value[i] = price;
+            columns.growth[i] = percent(property.getGrowthRate());
+            columns.yield[i] = percent(property.getRentalYield());
+            columns.debt[i] = assumptions.initialDebt(price);
+            i++;
+        }
+        return columns;
+    }
+
+    public static Builder builder(int expectedSize, ProjectionAssumptions assumptions) {
+        return new Builder(expectedSize, assumptions);
+    }
+
+    /**
+     * Fills columns straight from query rows, for callers that stream properties rather than
+     * load them as entities.
+     */
+    public static final class Builder {
+        private final ProjectionAssumptions assumptions;
+        private PortfolioColumns columns;
+        private int size;
+
+        private Builder(int expectedSize, ProjectionAssumptions assumptions) {
+            this.assumptions = assumptions;
+            this.columns = new PortfolioColumns(Math.max(expectedSize, 16));
+        }
+
+        public Builder add(UUID id, BigDecimal price, BigDecimal growthRate, BigDecimal rentalYield) {
+            if (size == columns.size()) {
+                columns = columns.copy(size * 2);
+            }
+            double value = toDouble(price);
+            columns.ids[size] = id;
+            columns.value[size] = value;
+            columns.growth[size] = percent(growthRate);
+            columns.yield[size] = percent(rentalYield);
+            columns.debt[size] = assumptions.initialDebt(value);
+            size++;
+            return this;
+        }
+
+        public PortfolioColumns build() {
+            return size == columns.size() ? columns : columns.copy(size);
+        }
+    }
+
+    private PortfolioColumns copy(int newSize) {
+        PortfolioColumns copy = new PortfolioColumns(newSize);
+        int length = Math.min(newSize, size());
+        System.arraycopy(ids, 0, copy.ids, 0, length);
+        System.arraycopy(value, 0, copy.value, 0, length);
+        System.arraycopy(growth, 0, copy.growth, 0, length);
+        System.arraycopy(yield, 0, copy.yield, 0, length);
+        System.arraycopy(debt, 0, copy.debt, 0, length);
+        return copy;
+    }
+
+    /**
+     * The given rows, in the given order.
+     */
+    public PortfolioColumns select(int[] indices) {
+        PortfolioColumns selected = new PortfolioColumns(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            int row = indices[i];
+            selected.ids[i] = ids[row];
+            selected.value[i] = value[row];
+            selected.growth[i] = growth[row];
+            selected.yield[i] = yield[row];
+            selected.debt[i] = debt[row];
+        }
+        return selected;
+    }
+
+    public UUID id(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return value.length;
+    }
+
+    static double toDouble(BigDecimal amount) {
+        return amount != null ? amount.doubleValue() : 0.0;
+    }
+
+    /**
+     * Entity rates are stored as percentages (5.00 = 5%).
+     */
+    public static double percent(BigDecimal rate) {
+        return rate != null ? rate.doubleValue() / 100.0 : 0.0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.property.engine;
+
+/**
+ * Year-by-year portfolio totals in cents. Index 0 is today; cash flow at index t is the net
+ * cash flow for the year that starts at t.
+ */
+public final class PortfolioProjection {
+
+    private final long[] valueCents;
+    private final long[] debtCents;
+    private final long[] equityCents;
+    private final long[] cashFlowCents;
+
+    PortfolioProjection(int years) {
+        this.valueCents = new long[years + 1];
+        this.debtCents = new long[years + 1];
+        this.equityCents = new long[years + 1];
+        this.cashFlowCents = new long[years + 1];
+    }
+
+    public int years() {
+        return valueCents.length - 1;
+    }
+
+    public long valueCents(int year) {
+        return valueCents[year];
+    }
+
+    public long debtCents(int year) {
+        return debtCents[year];
+    }
+
+    public long equityCents(int year) {
+        return equityCents[year];
+    }
+
+    public long cashFlowCents(int year) {
+        return cashFlowCents[year];
+    }
+
+    void record(ProjectionYear row) {
+        int year = row.year();
+        valueCents[year] = row.valueCents();
+        debtCents[year] = row.debtCents();
+        equityCents[year] = row.equityCents();
+        cashFlowCents[year] = row.cashFlowCents();
+    }
+}
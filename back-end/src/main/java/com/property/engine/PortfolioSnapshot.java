@@ -0,0 +1,116 @@
+package com.property.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable portfolio of {@link Holding}s with running totals.
+ *
+ * Holdings are kept in a persistent linked list, so {@link #plus} shares every existing node
+ * with the snapshot it came from and costs O(1). Totals are adjusted by the holding's own
+ * contribution rather than recomputed, so reading them is always O(1).
+ */
+public final class PortfolioSnapshot {
+
+    private static final class Node {
+        final Holding holding;
+        final Node next;
+
+        Node(Holding holding, Node next) {
+            this.holding = holding;
+            this.next = next;
+        }
+    }
+
+    private final ProjectionAssumptions assumptions;
+    private final Node head;
+    private final int size;
+    private final long valueCents;
+    private final long debtCents;
+    private final long cashFlowCents;
+    private final long growthCents;
+
+    private PortfolioSnapshot(ProjectionAssumptions assumptions, Node head, int size,
+                              long valueCents, long debtCents, long cashFlowCents, long growthCents) {
+        this.assumptions = assumptions;
+        this.head = head;
+        this.size = size;
+        this.valueCents = valueCents;
+        this.debtCents = debtCents;
+        this.cashFlowCents = cashFlowCents;
+        this.growthCents = growthCents;
+    }
+
+    public static PortfolioSnapshot empty(ProjectionAssumptions assumptions) {
+        return new PortfolioSnapshot(assumptions, null, 0, 0, 0, 0, 0);
+    }
+
+    public static PortfolioSnapshot of(PortfolioColumns columns, ProjectionAssumptions assumptions) {
+        PortfolioSnapshot snapshot = empty(assumptions);
+        for (int i = 0; i < columns.size(); i++) {
+            snapshot = snapshot.plus(Holding.of(columns.ids[i], columns.value[i], columns.growth[i],
+                    columns.yield[i], columns.debt[i], assumptions));
+        }
+        return snapshot;
+    }
+
+    public PortfolioSnapshot plus(Holding holding) {
+        return new PortfolioSnapshot(assumptions, new Node(holding, head), size + 1,
+                Money.add(valueCents, holding.valueCents()),
+                Money.add(debtCents, holding.debtCents()),
+                Money.add(cashFlowCents, holding.cashFlowCents()),
+                Money.add(growthCents, holding.growthCents()));
+    }
+
+    /**
+     * Columns for the multi-year engines. O(n), so only for callers that project forward.
+     */
+    public PortfolioColumns toColumns() {
+        PortfolioColumns columns = new PortfolioColumns(size);
+        // Head is the most recently added holding; fill from the back to keep insertion order
+        int i = size - 1;
+        for (Node node = head; node != null; node = node.next, i--) {
+            Holding holding = node.holding;
+            columns.ids[i] = holding.id();
+            columns.value[i] = holding.value;
+            columns.growth[i] = holding.growth;
+            columns.yield[i] = holding.yield;
+            columns.debt[i] = holding.debt;
+        }
+        return columns;
+    }
+
+    public ProjectionAssumptions assumptions() {
+        return assumptions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long valueCents() {
+        return valueCents;
+    }
+
+    public long debtCents() {
+        return debtCents;
+    }
+
+    public long equityCents() {
+        return Money.subtract(valueCents, debtCents);
+    }
+
+    public long annualCashFlowCents() {
+        return cashFlowCents;
+    }
+
+    /**
+     * First-year capital growth plus first-year net cash flow.
+     */
+    public long annualReturnCents() {
+        return Money.add(growthCents, cashFlowCents);
+    }
+
+    public BigDecimal monthlyCashFlow() {
+        return Money.toAmount(Money.divide(cashFlowCents, 12));
+    }
+}
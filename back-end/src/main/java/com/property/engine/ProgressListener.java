@@ -0,0 +1,30 @@
+package com.property.engine;
+
+/**
+ * Hook for long-running engine calls to report how much work is done and to stop early. Engines
+ * call it from worker threads, so implementations must be thread-safe and cheap.
+ */
+public interface ProgressListener {
+
+    ProgressListener NONE = new ProgressListener() {
+        @Override
+        public void advance(long units) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Records that this many more units of the caller's declared total are done.
+     */
+    void advance(long units);
+
+    /**
+     * Engines poll this between blocks of work and abandon the run with a
+     * {@link java.util.concurrent.CancellationException} once it returns true.
+     */
+    boolean isCancelled();
+}
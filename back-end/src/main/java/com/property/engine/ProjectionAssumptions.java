@@ -0,0 +1,50 @@
+package com.property.engine;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Lending and holding-cost assumptions applied uniformly to every property in a projection.
+ * All rates are fractions (0.06 = 6%), not percentages.
+ */
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+public class ProjectionAssumptions {
+
+    // Deposit and purchase costs, matching the modeling dashboard defaults
+    @Builder.Default
+    private final double depositRate = 0.10;
+
+    @Builder.Default
+    private final double feesRate = 0.05;
+
+    @Builder.Default
+    private final double interestRate = 0.06;
+
+    @Builder.Default
+    private final int loanTermYears = 30;
+
+    @Builder.Default
+    private final boolean interestOnly = false;
+
+    // Share of gross rent lost to vacancy and management
+    @Builder.Default
+    private final double rentLossRate = 0.0;
+
+    // Annual holding costs (rates, insurance, maintenance) as a share of property value
+    @Builder.Default
+    private final double holdingCostRate = 0.0;
+
+    public static ProjectionAssumptions defaults() {
+        return ProjectionAssumptions.builder().build();
+    }
+
+    /**
+     * Opening loan for a property bought at the given price: everything but the deposit, plus fees.
+     */
+    public double initialDebt(double price) {
+        return price * (1 - depositRate + feesRate);
+    }
+}
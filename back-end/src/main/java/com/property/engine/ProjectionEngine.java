@@ -0,0 +1,167 @@
+package com.property.engine;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Deterministic year-by-year projection of portfolio value, debt, equity and cash flow.
+ * The working state is a handful of primitive arrays reused across years, so a 30-year
+ * projection allocates only its result, or nothing beyond one row at a time when streamed.
+ */
+public final class ProjectionEngine {
+
+    private ProjectionEngine() {
+    }
+
+    public static PortfolioProjection project(PortfolioColumns columns, ProjectionAssumptions assumptions, int years) {
+        PortfolioProjection projection = new PortfolioProjection(years);
+        Cursor cursor = new Cursor(columns, assumptions, years);
+        while (cursor.hasNext()) {
+            projection.record(cursor.next());
+        }
+        return projection;
+    }
+
+    /**
+     * The same projection produced one year at a time, for callers that stream rows out as they
+     * go and so never need more than the current year in memory.
+     */
+    public static Iterator<ProjectionYear> stream(PortfolioColumns columns, ProjectionAssumptions assumptions, int years) {
+        return new Cursor(columns, assumptions, years);
+    }
+
+    private static final class Cursor implements Iterator<ProjectionYear> {
+        private final int n;
+        private final int years;
+        private final double[] value;
+        private final double[] debt;
+        private final double[] growth;
+        private final double[] yield;
+        private final double[] repayment;
+        private final double rate;
+        private final boolean interestOnly;
+        private final double rentKept;
+        private final double holdingCost;
+        private final double compound;
+        private final double accumulated;
+        private int year;
+
+        Cursor(PortfolioColumns columns, ProjectionAssumptions assumptions, int years) {
+            this.n = columns.size();
+            this.years = years;
+            this.value = columns.value.clone();
+            this.debt = columns.debt.clone();
+            this.growth = columns.growth;
+            this.yield = columns.yield;
+            this.rate = assumptions.getInterestRate();
+            this.interestOnly = assumptions.isInterestOnly();
+            this.rentKept = 1 - assumptions.getRentLossRate();
+            this.holdingCost = assumptions.getHoldingCostRate();
+
+            // P&I repayments are fixed monthly amounts; a year of them rolls a balance B forward to
+            // B * compound - payment * accumulated, so precompute both once
+            double monthlyRate = rate / 12;
+            this.compound = Math.pow(1 + monthlyRate, 12);
+            this.accumulated = monthlyRate == 0 ? 12 : (compound - 1) / monthlyRate;
+            this.repayment = new double[n];
+            if (!interestOnly) {
+                double factor = annualRepaymentFactor(rate, assumptions.getLoanTermYears()) / 12;
+                for (int i = 0; i < n; i++) {
+                    repayment[i] = debt[i] * factor;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return year <= years;
+        }
+
+        @Override
+        public ProjectionYear next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            double totalValue = 0;
+            double totalDebt = 0;
+            double totalCashFlow = 0;
+            for (int i = 0; i < n; i++) {
+                double paid;
+                double nextDebt;
+                if (interestOnly) {
+                    paid = debt[i] * rate;
+                    nextDebt = debt[i];
+                } else if (debt[i] > 0) {
+                    nextDebt = debt[i] * compound - repayment[i] * accumulated;
+                    // The final year stops once the balance is cleared
+                    paid = 12 * repayment[i] + Math.min(nextDebt, 0);
+                    nextDebt = Math.max(nextDebt, 0);
+                } else {
+                    paid = 0;
+                    nextDebt = 0;
+                }
+                totalValue += value[i];
+                totalDebt += debt[i];
+                totalCashFlow += value[i] * (yield[i] * rentKept - holdingCost) - paid;
+
+                // Roll forward to the start of next year
+                debt[i] = nextDebt;
+                value[i] *= 1 + growth[i];
+            }
+            return new ProjectionYear(year++, Money.ofDollars(totalValue), Money.ofDollars(totalDebt),
+                    Money.ofDollars(totalCashFlow));
+        }
+    }
+
+    /**
+     * Loan payments made during the first year of a single loan; the scalar equivalent of one
+     * property's contribution to year 0 of {@link #project}.
+     */
+    public static double firstYearRepayment(double debt, double annualRate, int termYears, boolean interestOnly) {
+        if (debt <= 0) {
+            return 0;
+        }
+        if (interestOnly) {
+            return debt * annualRate;
+        }
+        double monthlyRate = annualRate / 12;
+        double compound = Math.pow(1 + monthlyRate, 12);
+        double accumulated = monthlyRate == 0 ? 12 : (compound - 1) / monthlyRate;
+        double repayment = debt * annualRepaymentFactor(annualRate, termYears) / 12;
+        double nextDebt = debt * compound - repayment * accumulated;
+        return 12 * repayment + Math.min(nextDebt, 0);
+    }
+
+    /**
+     * Balance left per dollar borrowed after the given number of years of repayments; the
+     * closed form of rolling a single loan through {@link #project}.
+     */
+    public static double remainingBalanceFactor(double annualRate, int termYears, boolean interestOnly, int years) {
+        if (interestOnly) {
+            return 1;
+        }
+        double repayment = annualRepaymentFactor(annualRate, termYears) / 12;
+        double monthlyRate = annualRate / 12;
+        if (monthlyRate == 0) {
+            return Math.max(0, 1 - 12 * repayment * years);
+        }
+        double growth = Math.pow(1 + monthlyRate, 12.0 * years);
+        return Math.max(0, growth - repayment * (growth - 1) / monthlyRate);
+    }
+
+    /**
+     * Twelve monthly annuity payments per dollar borrowed.
+     */
+    public static double annualRepaymentFactor(double annualRate, int termYears) {
+        int payments = termYears * 12;
+        if (payments <= 0) {
+            return 0;
+        }
+        double monthlyRate = annualRate / 12;
+        if (monthlyRate == 0) {
+            return 12.0 / payments;
+        }
+        double compound = Math.pow(1 + monthlyRate, payments);
+        return 12 * monthlyRate * compound / (compound - 1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.property.engine;
+
+/**
+ * Portfolio totals for one projected year, in cents. Cash flow is the net cash flow for the year
+ * that starts at {@code year}.
+ */
+public record ProjectionYear(int year, long valueCents, long debtCents, long cashFlowCents) {
+
+    public long equityCents() {
+        return Money.subtract(valueCents, debtCents);
+    }
+}
@@ -0,0 +1,234 @@
+package com.property.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Accumulates a rate stress test over many households: how each household's monthly surplus and
+ * debt service ratio (repayments over gross income) move when every repricing loan's rate rises
+ * by each shock. The first shock is usually zero, giving the position today.
+ *
+ * A household breaks under a shock when its surplus goes negative or its DSR exceeds the limit.
+ * Only counts, sums and a DSR histogram are kept per shock, plus the households that break up
+ * to a cap, worst first, so a test covers any number of households in bounded memory. Tests
+ * over disjoint households {@link #merge} into the test over all of them.
+ */
+public final class RateStressTest {
+
+    // Upper bounds of the DSR histogram buckets; a last, open bucket holds everything above
+    private static final double[] DSR_BOUNDS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6};
+
+    /**
+     * A household that breaks under {@code shocks[breakingShock]}, with its surplus and DSR under
+     * every shock.
+     */
+    public record AtRisk(UUID id, int breakingShock, double[] monthlySurplus, double[] dsr) {
+        double worstSurplus() {
+            return monthlySurplus[monthlySurplus.length - 1];
+        }
+    }
+
+    // Breaking under a smaller shock is worse, then a lower surplus under the largest shock
+    private static final Comparator<AtRisk> SEVERITY = Comparator.comparingInt(AtRisk::breakingShock).reversed()
+            .thenComparing(Comparator.comparingDouble(AtRisk::worstSurplus).reversed());
+
+    private final double[] shocks;
+    private final double dsrLimit;
+    private final int maxAtRisk;
+
+    private long households;
+    private long unassessed;
+    private long atRiskHouseholds;
+    private final long[] broken;
+    private final long[] negativeSurplus;
+    private final long[] overDsrLimit;
+    private final long[][] dsrHistogram;
+    private final double[] dsrTotal;
+    private final double[] surplusTotal;
+    private final double[] repaymentTotal;
+
+    // Least severe at the head, so it is the one dropped when the cap is reached
+    private final PriorityQueue<AtRisk> atRisk;
+
+    private final double[] surplusScratch;
+    private final double[] dsrScratch;
+
+    public RateStressTest(double[] shocks, double dsrLimit, int maxAtRisk) {
+        this.shocks = shocks.clone();
+        this.dsrLimit = dsrLimit;
+        this.maxAtRisk = maxAtRisk;
+        this.broken = new long[shocks.length];
+        this.negativeSurplus = new long[shocks.length];
+        this.overDsrLimit = new long[shocks.length];
+        this.dsrHistogram = new long[shocks.length][DSR_BOUNDS.length + 1];
+        this.dsrTotal = new double[shocks.length];
+        this.surplusTotal = new double[shocks.length];
+        this.repaymentTotal = new double[shocks.length];
+        this.atRisk = new PriorityQueue<>(Math.max(1, maxAtRisk), SEVERITY);
+        this.surplusScratch = new double[shocks.length];
+        this.dsrScratch = new double[shocks.length];
+    }
+
+    /**
+     * Adds a household. Its commitments in {@code household} are ignored in favour of the
+     * repayments on {@code loans} under each shock. Households with no income recorded cannot be
+     * assessed and are only counted.
+     */
+    public void add(UUID id, ServiceabilityInputs household, LoanBook loans) {
+        double monthlyGrossIncome = (household.getApplicantIncome()
+                + (household.isCouple() ? household.getPartnerIncome() : 0)
+                + household.getNonTaxableIncome()
+                + household.getInvestmentIncome()) / 12;
+        if (monthlyGrossIncome <= 0) {
+            unassessed++;
+            return;
+        }
+        households++;
+
+        Serviceability position = ServiceabilityEngine.assess(household);
+        double available = position.monthlyNetIncome() - position.monthlyExpenses();
+        int breakingShock = -1;
+        for (int s = 0; s < shocks.length; s++) {
+            double repayments = loans.monthlyRepayments(shocks[s]);
+            double surplus = available - repayments;
+            double dsr = repayments / monthlyGrossIncome;
+            surplusScratch[s] = surplus;
+            dsrScratch[s] = dsr;
+
+            surplusTotal[s] += surplus;
+            repaymentTotal[s] += repayments;
+            dsrTotal[s] += dsr;
+            dsrHistogram[s][bucket(dsr)]++;
+            boolean negative = surplus < 0;
+            boolean overLimit = dsr > dsrLimit;
+            if (negative) {
+                negativeSurplus[s]++;
+            }
+            if (overLimit) {
+                overDsrLimit[s]++;
+            }
+            if (negative || overLimit) {
+                broken[s]++;
+                if (breakingShock < 0) {
+                    breakingShock = s;
+                }
+            }
+        }
+        if (breakingShock >= 0) {
+            atRiskHouseholds++;
+            offer(new AtRisk(id, breakingShock, surplusScratch.clone(), dsrScratch.clone()));
+        }
+    }
+
+    /**
+     * Folds in a test over other households, run with the same shocks and limit.
+     */
+    public RateStressTest merge(RateStressTest other) {
+        if (!Arrays.equals(shocks, other.shocks) || dsrLimit != other.dsrLimit) {
+            throw new IllegalArgumentException("Stress tests were run with different shocks or limits");
+        }
+        households += other.households;
+        unassessed += other.unassessed;
+        atRiskHouseholds += other.atRiskHouseholds;
+        for (int s = 0; s < shocks.length; s++) {
+            broken[s] += other.broken[s];
+            negativeSurplus[s] += other.negativeSurplus[s];
+            overDsrLimit[s] += other.overDsrLimit[s];
+            dsrTotal[s] += other.dsrTotal[s];
+            surplusTotal[s] += other.surplusTotal[s];
+            repaymentTotal[s] += other.repaymentTotal[s];
+            for (int b = 0; b < dsrHistogram[s].length; b++) {
+                dsrHistogram[s][b] += other.dsrHistogram[s][b];
+            }
+        }
+        for (AtRisk household : other.atRisk) {
+            offer(household);
+        }
+        return this;
+    }
+
+    private void offer(AtRisk household) {
+        if (maxAtRisk <= 0) {
+            return;
+        }
+        if (atRisk.size() < maxAtRisk) {
+            atRisk.add(household);
+        } else if (SEVERITY.compare(household, atRisk.peek()) > 0) {
+            atRisk.poll();
+            atRisk.add(household);
+        }
+    }
+
+    private static int bucket(double dsr) {
+        int b = 0;
+        while (b < DSR_BOUNDS.length && dsr > DSR_BOUNDS[b]) {
+            b++;
+        }
+        return b;
+    }
+
+    public static double[] dsrBounds() {
+        return DSR_BOUNDS.clone();
+    }
+
+    public double[] shocks() {
+        return shocks.clone();
+    }
+
+    public double dsrLimit() {
+        return dsrLimit;
+    }
+
+    public long households() {
+        return households;
+    }
+
+    public long unassessed() {
+        return unassessed;
+    }
+
+    public long atRiskHouseholds() {
+        return atRiskHouseholds;
+    }
+
+    public long broken(int shock) {
+        return broken[shock];
+    }
+
+    public long negativeSurplus(int shock) {
+        return negativeSurplus[shock];
+    }
+
+    public long overDsrLimit(int shock) {
+        return overDsrLimit[shock];
+    }
+
+    public long[] dsrHistogram(int shock) {
+        return dsrHistogram[shock].clone();
+    }
+
+    public double averageDsr(int shock) {
+        return households > 0 ? dsrTotal[shock] / households : 0;
+    }
+
+    public double averageSurplus(int shock) {
+        return households > 0 ? surplusTotal[shock] / households : 0;
+    }
+
+    public double averageRepayments(int shock) {
+        return households > 0 ? repaymentTotal[shock] / households : 0;
+    }
+
+    /**
+     * The kept at-risk households, worst first.
+     */
+    public List<AtRisk> atRisk() {
+        List<AtRisk> sorted = new ArrayList<>(atRisk);
+        sorted.sort(SEVERITY.reversed());
+        return sorted;
+    }
+}
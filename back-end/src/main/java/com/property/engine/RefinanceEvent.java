@@ -0,0 +1,15 @@
+package com.property.engine;
+
+import java.util.UUID;
+
+/**
+ * Something the planner did at the start of a year: a purchase (amount is the price paid) or a
+ * refinance of a held property (amount is the extra borrowed).
+ */
+public record RefinanceEvent(int year, Type type, UUID propertyId, double amount) {
+
+    public enum Type {
+        PURCHASE,
+        REFINANCE
+    }
+}
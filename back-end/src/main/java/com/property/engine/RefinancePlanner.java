@@ -0,0 +1,161 @@
+package com.property.engine;
+
+/**
+ * Equity-recycling plan: hold the current portfolio, and buy each queued property as soon as
+ * savings plus equity released by refinancing cover its deposit.
+ *
+ * Each year the planner first buys whatever has become affordable, drawing on savings before
+ * equity and refinancing the properties with the most usable equity first, then records the
+ * year and rolls every loan and value forward. Usable equity is what a property could borrow
+ * up to the refinance LVR limit. A refinanced loan restarts its term, so its repayments are
+ * recalculated on the new balance. New purchases borrow everything but the deposit, fees
+ * included, on the same basis as the loans the held properties come with.
+ *
+ * State is a set of primitive arrays sized to the portfolio plus the queue, so a 30-year plan
+ * over a few dozen properties is a few thousand multiply-adds.
+ */
+public final class RefinancePlanner {
+
+    private RefinancePlanner() {
+    }
+
+    /**
+     * @param held           properties owned now, with their current loans
+     * @param queue          properties to buy, in order, at their listed prices today
+     * @param refinanceLimit highest LVR a property can be refinanced to, as a fraction
+     * @param initialCash    savings on hand for the first deposits
+     * @param annualSavings  added to savings at the start of every later year
+     */
+    public static RefinanceTimeline plan(PortfolioColumns held, PortfolioColumns queue, ProjectionAssumptions assumptions,
+                                         double refinanceLimit, double initialCash, double annualSavings, int years) {
+        int owned = held.size();
+        int n = owned + queue.size();
+        double[] value = new double[n];
+        double[] growth = new double[n];
+        double[] yield = new double[n];
+        double[] debt = new double[n];
+        double[] repayment = new double[n];
+        boolean[] bought = new boolean[n];
+
+        double rate = assumptions.getInterestRate();
+        boolean interestOnly = assumptions.isInterestOnly();
+        double repaymentFactor = interestOnly ? 0 : ProjectionEngine.annualRepaymentFactor(rate, assumptions.getLoanTermYears()) / 12;
+        double monthlyRate = rate / 12;
+        double compound = Math.pow(1 + monthlyRate, 12);
+        double accumulated = monthlyRate == 0 ? 12 : (compound - 1) / monthlyRate;
+        double rentKept = 1 - assumptions.getRentLossRate();
+
+        for (int i = 0; i < owned; i++) {
+            value[i] = held.value[i];
+            growth[i] = held.growth[i];
+            yield[i] = held.yield[i];
+            debt[i] = held.debt[i];
+            repayment[i] = debt[i] * repaymentFactor;
+            bought[i] = true;
+        }
+        for (int q = 0; q < queue.size(); q++) {
+            int i = owned + q;
+            // Queued properties grow at their own rate until bought
+            value[i] = queue.value[q];
+            growth[i] = queue.growth[q];
+            yield[i] = queue.yield[q];
+        }
+
+        RefinanceTimeline timeline = new RefinanceTimeline(years);
+        double cash = initialCash;
+        int next = owned;
+        for (int year = 0; year <= years; year++) {
+            if (year > 0) {
+                cash += annualSavings;
+            }
+
+            // Buy every queued property that has become affordable, in order
+            while (next < n) {
+                double upfront = value[next] * assumptions.getDepositRate();
+                double shortfall = Math.max(0, upfront - cash);
+                if (shortfall > usableEquity(value, debt, bought, n, refinanceLimit)) {
+                    break;
+                }
+                if (shortfall > 0) {
+                    refinance(timeline, year, held, queue, owned, value, debt, repayment, bought, n,
+                            refinanceLimit, shortfall, repaymentFactor);
+                }
+                cash -= upfront - shortfall;
+                bought[next] = true;
+                debt[next] = assumptions.initialDebt(value[next]);
+                repayment[next] = debt[next] * repaymentFactor;
+                timeline.event(new RefinanceEvent(year, RefinanceEvent.Type.PURCHASE, queue.ids[next - owned], value[next]));
+                next++;
+            }
+
+            double totalValue = 0;
+            double totalDebt = 0;
+            double totalCashFlow = 0;
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (bought[i]) {
+                    double paid;
+                    double nextDebt;
+                    if (interestOnly) {
+                        paid = debt[i] * rate;
+                        nextDebt = debt[i];
+                    } else if (debt[i] > 0) {
+                        nextDebt = debt[i] * compound - repayment[i] * accumulated;
+                        paid = 12 * repayment[i] + Math.min(nextDebt, 0);
+                        nextDebt = Math.max(nextDebt, 0);
+                    } else {
+                        paid = 0;
+                        nextDebt = 0;
+                    }
+                    totalValue += value[i];
+                    totalDebt += debt[i];
+                    totalCashFlow += value[i] * (yield[i] * rentKept - assumptions.getHoldingCostRate()) - paid;
+                    debt[i] = nextDebt;
+                    count++;
+                }
+                value[i] *= 1 + growth[i];
+            }
+            // Usable equity is reported before this year's roll-forward, alongside the totals
+            timeline.record(year, totalValue, totalDebt,
+                    Math.max(0, totalValue * refinanceLimit - totalDebt), totalCashFlow, cash, count);
+        }
+        return timeline;
+    }
+
+    private static double usableEquity(double[] value, double[] debt, boolean[] bought, int n, double limit) {
+        double usable = 0;
+        for (int i = 0; i < n; i++) {
+            if (bought[i]) {
+                usable += Math.max(0, value[i] * limit - debt[i]);
+            }
+        }
+        return usable;
+    }
+
+    // Draws the amount from the properties with the most usable equity first, so as few loans as possible change
+    private static void refinance(RefinanceTimeline timeline, int year, PortfolioColumns held, PortfolioColumns queue,
+                                  int owned, double[] value, double[] debt, double[] repayment, boolean[] bought, int n,
+                                  double limit, double amount, double repaymentFactor) {
+        double remaining = amount;
+        while (remaining > 0) {
+            int richest = -1;
+            double most = 0;
+            for (int i = 0; i < n; i++) {
+                double usable = bought[i] ? value[i] * limit - debt[i] : 0;
+                if (usable > most) {
+                    most = usable;
+                    richest = i;
+                }
+            }
+            if (richest < 0) {
+                return;
+            }
+            double drawn = Math.min(most, remaining);
+            debt[richest] += drawn;
+            repayment[richest] = debt[richest] * repaymentFactor;
+            remaining -= drawn;
+            timeline.event(new RefinanceEvent(year, RefinanceEvent.Type.REFINANCE,
+                    richest < owned ? held.ids[richest] : queue.ids[richest - owned], drawn));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.property.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Year-by-year result of a {@link RefinancePlanner} run: totals at the start of each year after
+ * that year's purchases, the year's net cash flow, and the events that happened.
+ */
+public final class RefinanceTimeline {
+
+    private final double[] value;
+    private final double[] debt;
+    private final double[] usableEquity;
+    private final double[] cashFlow;
+    private final double[] cash;
+    private final int[] held;
+    private final List<RefinanceEvent> events = new ArrayList<>();
+    private int purchased;
+
+    RefinanceTimeline(int years) {
+        this.value = new double[years + 1];
+        this.debt = new double[years + 1];
+        this.usableEquity = new double[years + 1];
+        this.cashFlow = new double[years + 1];
+        this.cash = new double[years + 1];
+        this.held = new int[years + 1];
+    }
+
+    void record(int year, double value, double debt, double usableEquity, double cashFlow, double cash, int held) {
+        this.value[year] = value;
+        this.debt[year] = debt;
+        this.usableEquity[year] = usableEquity;
+        this.cashFlow[year] = cashFlow;
+        this.cash[year] = cash;
+        this.held[year] = held;
+    }
+
+    void event(RefinanceEvent event) {
+        events.add(event);
+        if (event.type() == RefinanceEvent.Type.PURCHASE) {
+            purchased++;
+        }
+    }
+
+    public int years() {
+        return value.length - 1;
+    }
+
+    public double value(int year) {
+        return value[year];
+    }
+
+    public double debt(int year) {
+        return debt[year];
+    }
+
+    public double equity(int year) {
+        return value[year] - debt[year];
+    }
+
+    public double usableEquity(int year) {
+        return usableEquity[year];
+    }
+
+    public double cashFlow(int year) {
+        return cashFlow[year];
+    }
+
+    public double cash(int year) {
+        return cash[year];
+    }
+
+    public int held(int year) {
+        return held[year];
+    }
+
+    /**
+     * Every event in the order it happened.
+     */
+    public List<RefinanceEvent> events() {
+        return events;
+    }
+
+    /**
+     * Number of queued properties bought within the horizon; the rest were never affordable.
+     */
+    public int purchased() {
+        return purchased;
+    }
+}
@@ -0,0 +1,50 @@
+package com.property.engine;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+public enum RepaymentFrequency {
+    WEEKLY(52),
+    FORTNIGHTLY(26),
+    MONTHLY(12);
+
+    private final int periodsPerYear;
+
+    RepaymentFrequency(int periodsPerYear) {
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    public int periodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /**
+     * Due date of the given repayment, counted from the loan start so monthly dates don't drift
+     * after short months.
+     */
+    public LocalDate dueDate(LocalDate start, int period) {
+        return switch (this) {
+            case WEEKLY -> start.plusWeeks(period);
+            case FORTNIGHTLY -> start.plusWeeks(2L * period);
+            case MONTHLY -> start.plusMonths(period);
+        };
+    }
+
+    /**
+     * Accepts the spellings the client forms use ("Weekly", "weekly", "FORTNIGHTLY"...),
+     * falling back to monthly when the frequency is missing or unrecognised.
+     */
+    public static RepaymentFrequency parse(String value) {
+        if (value == null) {
+            return MONTHLY;
+        }
+        String normalised = value.trim().toUpperCase(Locale.ROOT);
+        if (normalised.startsWith("WEEK")) {
+            return WEEKLY;
+        }
+        if (normalised.startsWith("FORTNIGHT")) {
+            return FORTNIGHTLY;
+        }
+        return MONTHLY;
+    }
+}
@@ -0,0 +1,18 @@
+package com.property.engine;
+
+/**
+ * Cheapest acquisition schedule found by {@link RetirementSolver}: how many template properties
+ * to buy and in which years from now. When the goal cannot be met, the schedule is the one
+ * with the highest retirement income that was tried.
+ */
+public record RetirementPlan(
+        boolean achievable,
+        int[] purchaseYears,
+        double[] purchasePrices,
+        double currentTrajectoryIncome,
+        double projectedIncome) {
+
+    public int properties() {
+        return purchaseYears.length;
+    }
+}
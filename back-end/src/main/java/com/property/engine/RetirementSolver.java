@@ -0,0 +1,121 @@
+package com.property.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the fewest additional properties, bought as late as possible, that lift the portfolio's
+ * net cash flow in the retirement year to a goal.
+ *
+ * Every purchase is the same template property, bought at its grown price with the standard
+ * deposit and fees. A projection is linear in price, so the template is projected once and a
+ * purchase in year t contributes (1 + growth)^t times the template's cash flow after
+ * (retirement - t) years of ownership. A plan is n purchases at a fixed gap starting in year s.
+ *
+ * A purchase's contribution need not move one way with the year it is made: later purchases
+ * carry bigger loans with less paid off, but with negative growth they also cost less and earn
+ * less. So for each count every start year is tried, latest first, until one reaches the goal.
+ * That is at most a few thousand sums of up to maxProperties terms. Counts are searched in
+ * parallel; once a count succeeds, larger counts stop early.
+ */
+public final class RetirementSolver {
+
+    private RetirementSolver() {
+    }
+
+    /**
+     * @param existing          current portfolio
+     * @param template          a single property standing in for every future purchase
+     * @param yearsToRetirement income is measured in the year that starts this many years from now
+     * @param goal              annual net cash flow wanted in retirement
+     * @param maxProperties     most purchases to consider
+     * @param minGapYears       years between purchases, at least 1
+     */
+    public static RetirementPlan solve(PortfolioColumns existing, PortfolioColumns template,
+                                       ProjectionAssumptions assumptions, int yearsToRetirement,
+                                       double goal, int maxProperties, int minGapYears, ForkJoinPool pool) {
+        if (template.size() != 1) {
+            throw new IllegalArgumentException("Template must hold exactly one property");
+        }
+        int horizon = yearsToRetirement;
+        int gap = Math.max(1, minGapYears);
+
+        double baseIncome = Money.toDollars(
+                ProjectionEngine.project(existing, assumptions, horizon).cashFlowCents(horizon));
+
+        // contribution[t]: retirement-year cash flow from one purchase made in year t
+        PortfolioProjection unit = ProjectionEngine.project(template, assumptions, horizon);
+        double growth = template.growth[0];
+        double[] contribution = new double[horizon];
+        for (int t = 0; t < horizon; t++) {
+            contribution[t] = Math.pow(1 + growth, t) * Money.toDollars(unit.cashFlowCents(horizon - t));
+        }
+
+        if (baseIncome >= goal || horizon == 0) {
+            return plan(baseIncome >= goal, 0, 0, gap, template, baseIncome, baseIncome);
+        }
+
+        // Last count whose purchases all fit before retirement
+        int maxCount = Math.min(maxProperties, (horizon - 1) / gap + 1);
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        int[] latestStart = new int[maxCount + 1];
+        // Highest income each count reached, and the start it reached it with
+        double[] bestIncome = new double[maxCount + 1];
+        int[] bestStart = new int[maxCount + 1];
+
+        pool.submit(() -> IntStream.rangeClosed(1, maxCount).parallel().forEach(count -> {
+            latestStart[count] = -1;
+            bestIncome[count] = Double.NEGATIVE_INFINITY;
+            for (int start = horizon - 1 - (count - 1) * gap; start >= 0 && count <= best.get(); start--) {
+                double income = income(contribution, baseIncome, count, start, gap);
+                if (income > bestIncome[count]) {
+                    bestIncome[count] = income;
+                    bestStart[count] = start;
+                }
+                if (income >= goal) {
+                    latestStart[count] = start;
+                    best.accumulateAndGet(count, Math::min);
+                    return;
+                }
+            }
+        })).join();
+
+        int count = best.get();
+        if (count != Integer.MAX_VALUE) {
+            int start = latestStart[count];
+            return plan(true, count, start, gap, template, baseIncome,
+                    income(contribution, baseIncome, count, start, gap));
+        }
+
+        // Unreachable: report the schedule that gets closest
+        int closest = 0;
+        double closestIncome = baseIncome;
+        for (int n = 1; n <= maxCount; n++) {
+            if (bestIncome[n] > closestIncome) {
+                closest = n;
+                closestIncome = bestIncome[n];
+            }
+        }
+        return plan(false, closest, closest > 0 ? bestStart[closest] : 0, gap, template, baseIncome, closestIncome);
+    }
+
+    private static double income(double[] contribution, double baseIncome, int count, int start, int gap) {
+        double income = baseIncome;
+        for (int j = 0, t = start; j < count; j++, t += gap) {
+            income += contribution[t];
+        }
+        return income;
+    }
+
+    private static RetirementPlan plan(boolean achievable, int count, int start, int gap, PortfolioColumns template,
+                                       double baseIncome, double income) {
+        int[] years = new int[count];
+        double[] prices = new double[count];
+        for (int j = 0; j < count; j++) {
+            years[j] = start + j * gap;
+            prices[j] = template.value[0] * Math.pow(1 + template.growth[0], years[j]);
+        }
+        return new RetirementPlan(achievable, years, prices, baseIncome, income);
+    }
+}
@@ -0,0 +1,143 @@
+package com.property.engine;
+
+import java.util.Arrays;
+
+/**
+ * Partial derivatives of a candidate purchase's outcomes with respect to its inputs, by central
+ * finite differences.
+ *
+ * Every bumped scenario is a lane: lane 0 is the base case and each input adds one lane bumped
+ * up and one bumped down. The lanes are evaluated together in a single pass over the portfolio,
+ * using the closed forms of the projection (first-year repayments and the balance left after
+ * {@code years} are both linear in the loan), so the per-dollar loan factors are worked out once
+ * per lane rather than once per property, and a property other than the candidate has its
+ * grown value worked out once for all lanes.
+ */
+public final class SensitivityEngine {
+
+    public enum Input {
+        INTEREST_RATE,
+        // Vacancy and management both reduce the share of rent kept
+        RENT_LOSS_RATE,
+        // The candidate's own growth rate and price
+        GROWTH_RATE,
+        PRICE
+    }
+
+    // One basis point for rates; a ten-thousandth of the price
+    private static final double RATE_STEP = 0.0001;
+    private static final double PRICE_STEP = 0.0001;
+
+    private static final int INPUTS = Input.values().length;
+    private static final int LANES = 1 + 2 * INPUTS;
+
+    /**
+     * Change in each outcome per unit rise in each input, indexed by {@link Input#ordinal()}.
+     * Rates are fractions, so a partial per percentage point is a hundredth of these; price is
+     * per dollar. Cash flow is the portfolio's first-year annual cash flow, equity the
+     * portfolio's equity after {@code years}, and cap rate the candidate's.
+     */
+    public record Result(int years, double[] annualCashFlow, double[] capRate, double[] equity) {
+        public double annualCashFlow(Input input) {
+            return annualCashFlow[input.ordinal()];
+        }
+
+        public double capRate(Input input) {
+            return capRate[input.ordinal()];
+        }
+
+        public double equity(Input input) {
+            return equity[input.ordinal()];
+        }
+    }
+
+    private SensitivityEngine() {
+    }
+
+    /**
+     * @param columns      the portfolio with the candidate in it
+     * @param candidate    the candidate's index in {@code columns}
+     * @param debtPerPrice how much the candidate's loan moves per dollar of price: 1 when the
+     *                     deposit is fixed, otherwise the share of the price that is borrowed
+     */
+    public static Result analyse(PortfolioColumns columns, int candidate, double debtPerPrice,
+                                 ProjectionAssumptions assumptions, int years) {
+        double[] rate = new double[LANES];
+        double[] rentLoss = new double[LANES];
+        double[] growth = new double[LANES];
+        double[] price = new double[LANES];
+        double[] step = new double[INPUTS];
+        double basePrice = columns.value[candidate];
+        Arrays.fill(rate, assumptions.getInterestRate());
+        Arrays.fill(rentLoss, assumptions.getRentLossRate());
+        Arrays.fill(growth, columns.growth[candidate]);
+        Arrays.fill(price, basePrice);
+
+        step[Input.INTEREST_RATE.ordinal()] = bump(rate, Input.INTEREST_RATE, RATE_STEP);
+        step[Input.RENT_LOSS_RATE.ordinal()] = bump(rentLoss, Input.RENT_LOSS_RATE, RATE_STEP);
+        step[Input.GROWTH_RATE.ordinal()] = bump(growth, Input.GROWTH_RATE, RATE_STEP);
+        step[Input.PRICE.ordinal()] = bump(price, Input.PRICE, Math.max(basePrice * PRICE_STEP, 1));
+
+        // Loan factors depend only on the rate, so are shared by every property in a lane
+        double[] repaidPerDollar = new double[LANES];
+        double[] leftPerDollar = new double[LANES];
+        for (int l = 0; l < LANES; l++) {
+            repaidPerDollar[l] = ProjectionEngine.firstYearRepayment(1, rate[l],
+                    assumptions.getLoanTermYears(), assumptions.isInterestOnly());
+            leftPerDollar[l] = ProjectionEngine.remainingBalanceFactor(rate[l],
+                    assumptions.getLoanTermYears(), assumptions.isInterestOnly(), years);
+        }
+
+        double holdingCost = assumptions.getHoldingCostRate();
+        double[] cashFlow = new double[LANES];
+        double[] equity = new double[LANES];
+        double[] capRate = new double[LANES];
+        for (int i = 0; i < columns.size(); i++) {
+            double yield = columns.yield[i];
+            if (i == candidate) {
+                double baseDebt = columns.debt[i];
+                for (int l = 0; l < LANES; l++) {
+                    double debt = Math.max(0, baseDebt + (price[l] - basePrice) * debtPerPrice);
+                    double netYield = yield * (1 - rentLoss[l]) - holdingCost;
+                    cashFlow[l] += price[l] * netYield - debt * repaidPerDollar[l];
+                    equity[l] += price[l] * Math.pow(1 + growth[l], years) - debt * leftPerDollar[l];
+                    capRate[l] = netYield;
+                }
+            } else {
+                double value = columns.value[i];
+                double debt = columns.debt[i];
+                double grown = value * Math.pow(1 + columns.growth[i], years);
+                for (int l = 0; l < LANES; l++) {
+                    cashFlow[l] += value * (yield * (1 - rentLoss[l]) - holdingCost)
+                            - (debt > 0 ? debt * repaidPerDollar[l] : 0);
+                    equity[l] += grown - debt * leftPerDollar[l];
+                }
+            }
+        }
+
+        return new Result(years, partials(cashFlow, step), partials(capRate, step), partials(equity, step));
+    }
+
+    // Sets the input's up and down lanes around the base value and returns the step
+    private static double bump(double[] lanes, Input input, double step) {
+        lanes[up(input.ordinal())] += step;
+        lanes[down(input.ordinal())] -= step;
+        return step;
+    }
+
+    private static double[] partials(double[] lanes, double[] step) {
+        double[] partials = new double[INPUTS];
+        for (int j = 0; j < INPUTS; j++) {
+            partials[j] = (lanes[up(j)] - lanes[down(j)]) / (2 * step[j]);
+        }
+        return partials;
+    }
+
+    private static int up(int input) {
+        return 1 + 2 * input;
+    }
+
+    private static int down(int input) {
+        return 2 + 2 * input;
+    }
+}
@@ -0,0 +1,13 @@
+package com.property.engine;
+
+/**
+ * Outcome of a serviceability assessment. Monthly figures and capacity are in dollars.
+ */
+public record Serviceability(
+        double borrowingCapacity,
+        double assessmentRate,
+        double monthlyNetIncome,
+        double monthlyExpenses,
+        double monthlyCommitments,
+        double monthlySurplus) {
+}
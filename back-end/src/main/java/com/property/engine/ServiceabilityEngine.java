@@ -0,0 +1,82 @@
+package com.property.engine;
+
+import java.util.Locale;
+
+/**
+ * Borrowing capacity from a household's income, expenses and commitments: the largest loan
+ * whose repayments at the assessment rate fit in the monthly surplus.
+ *
+ * Living expenses are the greater of what the household declares and a benchmark for its size,
+ * the same floor lenders apply when declared expenses look too low.
+ */
+public final class ServiceabilityEngine {
+
+    private static final double SINGLE_EXPENSE_BENCHMARK = 1_600;
+    private static final double COUPLE_EXPENSE_BENCHMARK = 2_400;
+    private static final double DEPENDANT_EXPENSE_BENCHMARK = 450;
+
+    // Credit cards are assessed on a share of the limit, whatever is owing
+    private static final double CREDIT_CARD_LIMIT_RATE = 0.038;
+
+    private ServiceabilityEngine() {
+    }
+
+    public static Serviceability assess(ServiceabilityInputs inputs) {
+        TaxTable table = TaxTables.forYear(inputs.getFinancialYear());
+
+        // Shaded investment income is taxed with the applicant's salary
+        double applicantTaxable = inputs.getApplicantIncome() + inputs.getInvestmentIncome() * inputs.getInvestmentIncomeShading();
+        double afterTax = applicantTaxable - tax(table, applicantTaxable) + inputs.getNonTaxableIncome();
+        if (inputs.isCouple()) {
+            afterTax += inputs.getPartnerIncome() - tax(table, inputs.getPartnerIncome());
+        }
+        double monthlyIncome = afterTax / 12;
+
+        double benchmark = (inputs.isCouple() ? COUPLE_EXPENSE_BENCHMARK : SINGLE_EXPENSE_BENCHMARK)
+                + DEPENDANT_EXPENSE_BENCHMARK * inputs.getDependants();
+        double monthlyExpenses = Math.max(inputs.getDeclaredLivingExpenses(), benchmark) + inputs.getRent();
+
+        double surplus = monthlyIncome - monthlyExpenses - inputs.getCommitments();
+        double monthlyRate = inputs.assessmentRate() / 12;
+        double capacity = surplus > 0
+                ? surplus / AnnuityFactors.repaymentPerDollar(monthlyRate, inputs.getLoanTermYears() * 12)
+                : 0;
+
+        return new Serviceability(capacity, inputs.assessmentRate(), monthlyIncome, monthlyExpenses,
+                inputs.getCommitments(), surplus);
+    }
+
+    /**
+     * Monthly repayment a lender would assume for a loan with no recorded repayment: the full
+     * balance amortised over the given term at the assessment rate.
+     */
+    public static double assessedRepayment(double balance, double assessmentRate, int termYears) {
+        return balance * AnnuityFactors.repaymentPerDollar(assessmentRate / 12, termYears * 12);
+    }
+
+    public static double creditCardRepayment(double limit) {
+        return limit * CREDIT_CARD_LIMIT_RATE;
+    }
+
+    /**
+     * Periods per year for the free-text frequencies on client records ("Weekly", "per week",
+     * "per fortnight", "Monthly", "per year"...); monthly when unrecognised.
+     */
+    public static int periodsPerYear(String frequency) {
+        String normalised = frequency != null ? frequency.toLowerCase(Locale.ROOT) : "";
+        if (normalised.contains("week")) {
+            return 52;
+        }
+        if (normalised.contains("fortnight")) {
+            return 26;
+        }
+        if (normalised.contains("year") || normalised.contains("annual")) {
+            return 1;
+        }
+        return 12;
+    }
+
+    private static double tax(TaxTable table, double income) {
+        return Money.toDollars(table.tax(Money.ofDollars(income)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.property.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A household's position for a serviceability assessment. Incomes are annual, expenses and
+ * commitments monthly, all in dollars; rates are fractions.
+ */
+@Getter
+@Builder
+public class ServiceabilityInputs {
+
+    // Taxable incomes, assessed separately against the tax scale
+    private final double applicantIncome;
+    private final double partnerIncome;
+    private final boolean couple;
+
+    private final double nonTaxableIncome;
+
+    // Rent and other investment income before shading
+    private final double investmentIncome;
+
+    private final int dependants;
+
+    private final double declaredLivingExpenses;
+    private final double rent;
+
+    // Repayments on every existing liability
+    private final double commitments;
+
+    // Rate the new loan is expected to be written at
+    @Builder.Default
+    private final double productRate = 0.06;
+
+    // Lenders test repayments at the product rate plus this buffer
+    @Builder.Default
+    private final double assessmentBuffer = 0.03;
+
+    @Builder.Default
+    private final int loanTermYears = 30;
+
+    // Share of investment income a lender will count
+    @Builder.Default
+    private final double investmentIncomeShading = 0.80;
+
+    private final int financialYear;
+
+    public double assessmentRate() {
+        return productRate + assessmentBuffer;
+    }
+}
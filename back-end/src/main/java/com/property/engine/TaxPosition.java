@@ -0,0 +1,51 @@
+package com.property.engine;
+
+/**
+ * Income tax for a client, and their partner when assessed together, with the net result of
+ * their investment properties deducted from (or added to) taxable income. Jointly assessed
+ * couples are taken to own the portfolio in equal shares. Amounts are in cents.
+ */
+public record TaxPosition(
+        int financialYear,
+        long netRentalIncomeCents,
+        long taxableIncomeCents,
+        long taxCents,
+        double marginalRate,
+        long partnerTaxableIncomeCents,
+        long partnerTaxCents,
+        double partnerMarginalRate,
+        long negativeGearingBenefitCents) {
+
+    public static TaxPosition assess(TaxTable table, long incomeCents, long partnerIncomeCents,
+                                     boolean withPartner, long netRentalIncomeCents) {
+        long share = withPartner ? Money.divide(netRentalIncomeCents, 2) : netRentalIncomeCents;
+        long taxable = Money.max(Money.ZERO, Money.add(incomeCents, share));
+        long tax = table.tax(taxable);
+        long partnerTaxable = withPartner ? Money.max(Money.ZERO, Money.add(partnerIncomeCents, share)) : Money.ZERO;
+        long partnerTax = withPartner ? table.tax(partnerTaxable) : Money.ZERO;
+
+        long taxWithoutProperties = Money.add(table.tax(incomeCents),
+                withPartner ? table.tax(partnerIncomeCents) : Money.ZERO);
+        return new TaxPosition(table.financialYear(), netRentalIncomeCents,
+                taxable, tax, table.marginalRate(taxable),
+                partnerTaxable, partnerTax, withPartner ? table.marginalRate(partnerTaxable) : 0,
+                Money.subtract(taxWithoutProperties, Money.add(tax, partnerTax)));
+    }
+
+    /**
+     * Rent after vacancy, management and holding costs, less loan interest, in dollars. Principal
+     * repayments are not deductible, so only interest is taken off.
+     */
+    public static double netRentalIncome(double value, double yield, double debt, ProjectionAssumptions assumptions) {
+        return value * (yield * (1 - assumptions.getRentLossRate()) - assumptions.getHoldingCostRate())
+                - debt * assumptions.getInterestRate();
+    }
+
+    public static double netRentalIncome(PortfolioColumns columns, ProjectionAssumptions assumptions) {
+        double net = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            net += netRentalIncome(columns.value[i], columns.yield[i], columns.debt[i], assumptions);
+        }
+        return net;
+    }
+}
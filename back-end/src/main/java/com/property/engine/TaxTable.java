@@ -0,0 +1,73 @@
+package com.property.engine;
+
+/**
+ * One financial year's resident income tax scale, compiled into flat arrays.
+ *
+ * Brackets are given as thresholds and marginal rates; the tax owed at the bottom of every
+ * bracket is accumulated once when the table is built, so assessing an income is a single pass
+ * over a handful of longs plus one rounded multiply. Incomes and tax are in cents.
+ */
+public final class TaxTable {
+
+    private final int financialYear;
+    // thresholds[i] is the income above which rates[i] applies; thresholds[0] is always 0
+    private final long[] thresholds;
+    private final double[] rates;
+    private final long[] baseTax;
+
+    private TaxTable(int financialYear, long[] thresholds, double[] rates) {
+        this.financialYear = financialYear;
+        this.thresholds = thresholds;
+        this.rates = rates;
+        this.baseTax = new long[thresholds.length];
+        for (int i = 1; i < thresholds.length; i++) {
+            baseTax[i] = Money.add(baseTax[i - 1],
+                    Money.multiply(Money.subtract(thresholds[i], thresholds[i - 1]), rates[i - 1]));
+        }
+    }
+
+    /**
+     * @param financialYear calendar year the financial year starts in (2024 = 2024-25)
+     * @param thresholds    ascending bracket thresholds in dollars, starting at 0
+     * @param rates         marginal rate above each threshold, as fractions
+     */
+    public static TaxTable compile(int financialYear, double[] thresholds, double[] rates) {
+        if (thresholds.length == 0 || thresholds.length != rates.length || thresholds[0] != 0) {
+            throw new IllegalArgumentException("Tax table for " + financialYear + " is malformed");
+        }
+        long[] thresholdCents = new long[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholdCents[i] = Money.ofDollars(thresholds[i]);
+            if (i > 0 && thresholdCents[i] <= thresholdCents[i - 1]) {
+                throw new IllegalArgumentException("Tax table for " + financialYear + " has unordered thresholds");
+            }
+        }
+        return new TaxTable(financialYear, thresholdCents, rates.clone());
+    }
+
+    public int financialYear() {
+        return financialYear;
+    }
+
+    public long tax(long taxableIncomeCents) {
+        if (taxableIncomeCents <= 0) {
+            return Money.ZERO;
+        }
+        int bracket = bracket(taxableIncomeCents);
+        return Money.add(baseTax[bracket],
+                Money.multiply(taxableIncomeCents - thresholds[bracket], rates[bracket]));
+    }
+
+    public double marginalRate(long taxableIncomeCents) {
+        return taxableIncomeCents <= 0 ? rates[0] : rates[bracket(taxableIncomeCents)];
+    }
+
+    private int bracket(long income) {
+        // Counting the thresholds below the income keeps the loop free of data-dependent exits
+        int bracket = 0;
+        for (int i = 1; i < thresholds.length; i++) {
+            bracket += income > thresholds[i] ? 1 : 0;
+        }
+        return bracket;
+    }
+}
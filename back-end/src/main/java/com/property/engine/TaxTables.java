@@ -0,0 +1,48 @@
+package com.property.engine;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Resident tax scales by financial year. A year without its own entry uses the latest scale
+ * that started before it, so a new table only needs adding when the rates change.
+ */
+public final class TaxTables {
+
+    private static final NavigableMap<Integer, TaxTable> TABLES = new TreeMap<>(Map.of(
+            2022, TaxTable.compile(2022,
+                    new double[]{0, 18_200, 45_000, 120_000, 180_000},
+                    new double[]{0, 0.19, 0.325, 0.37, 0.45}),
+            // Stage 3 cuts
+            2024, TaxTable.compile(2024,
+                    new double[]{0, 18_200, 45_000, 135_000, 190_000},
+                    new double[]{0, 0.16, 0.30, 0.37, 0.45}),
+            2026, TaxTable.compile(2026,
+                    new double[]{0, 18_200, 45_000, 135_000, 190_000},
+                    new double[]{0, 0.15, 0.30, 0.37, 0.45}),
+            2027, TaxTable.compile(2027,
+                    new double[]{0, 18_200, 45_000, 135_000, 190_000},
+                    new double[]{0, 0.14, 0.30, 0.37, 0.45})));
+
+    private TaxTables() {
+    }
+
+    /**
+     * @param financialYear calendar year the financial year starts in (2024 = 2024-25)
+     */
+    public static TaxTable forYear(int financialYear) {
+        Map.Entry<Integer, TaxTable> entry = TABLES.floorEntry(financialYear);
+        return entry != null ? entry.getValue() : TABLES.firstEntry().getValue();
+    }
+
+    public static TaxTable forDate(LocalDate date) {
+        return forYear(financialYear(date));
+    }
+
+    // Financial years run 1 July to 30 June
+    public static int financialYear(LocalDate date) {
+        return date.getMonthValue() >= 7 ? date.getYear() : date.getYear() - 1;
+    }
+}
@@ -40,4 +40,8 @@ public class Portfolio {
 
     @Column(name = "annual_return", precision = 19, scale = 2)
     private BigDecimal annualReturn = BigDecimal.ZERO;
+
+    // False until the totals above have been computed from the properties rather than assumed
+    @Column(name = "totals_computed", nullable = false)
+    private boolean totalsComputed = true;
 } 
\ No newline at end of file
@@ -41,7 +41,8 @@ public class Profile implements UserDetails {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
     
-    @Column(name = "password", nullable = false)
+    // Null for a profile created from a lead, until its owner registers
+    @Column(name = "password")
     private String password;
     
     @Column(name = "phone")
@@ -201,6 +202,6 @@ public class Profile implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return password != null;
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -59,7 +60,10 @@ public class Property {
     @Column
     private String imageUrl;
 
+    // Loaded for up to a full page of properties at once, as property_id = any(?), rather
+    // than with one query per property
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 500)
     @CollectionTable(name = "property_features", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "feature")
     private Set<String> features;
@@ -0,0 +1,94 @@
+package com.property.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * A lead as received, waiting to be merged into the profile with its email.
+ */
+@Entity
+@Table(name = "lead_staging")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StagedLead {
+
+    public enum Source {
+        MORTGAGE,
+        BORROWING
+    }
+
+    public enum Status {
+        PENDING,
+        // Gave up after too many failed merges; kept for a person to look at
+        FAILED
+    }
+
+    // Sequential, so leads merge in the order they arrived
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    private Source source;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "phone")
+    private String phone;
+
+    @Column(name = "gross_income")
+    private BigDecimal grossIncome;
+
+    @Column(name = "existing_loans")
+    private BigDecimal existingLoans;
+
+    @Column(name = "marital_status")
+    private String maritalStatus;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private OffsetDateTime receivedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    // Failed merges so far
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Not merged before this, so a lead that keeps failing waits out its backoff behind the others
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        receivedAt = OffsetDateTime.now();
+        if (status == null) {
+            status = Status.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = receivedAt;
+        }
+    }
+}
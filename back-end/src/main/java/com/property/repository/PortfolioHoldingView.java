@@ -0,0 +1,14 @@
+package com.property.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The few columns of a portfolio property that the bulk calculations need, read without
+ * loading the property entity or its features.
+ */
+public interface PortfolioHoldingView {
+    UUID getProfileId();
+    BigDecimal getPrice();
+    BigDecimal getRentalYield();
+}
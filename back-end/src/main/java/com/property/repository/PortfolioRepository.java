@@ -1,16 +1,37 @@
 package com.property.repository;
 
 import com.property.entity.Portfolio;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
 @Repository
 public interface PortfolioRepository extends JpaRepository<Portfolio, UUID> {
     @Query("SELECT p FROM Portfolio p LEFT JOIN FETCH p.properties WHERE p.profile.id = :userId")
     Optional<Portfolio> findByUserIdWithProperties(@Param("userId") UUID userId);
+
+    @Query("SELECT p.id FROM Portfolio p WHERE p.profile.id IN :profileIds")
+    List<UUID> findIdsByProfileIdIn(@Param("profileIds") Collection<UUID> profileIds);
+
+    /**
+     * Portfolios whose stored totals predate their properties, locked for the current
+     * transaction so that a property added or removed meanwhile waits for the recomputed totals.
+     * Portfolios locked elsewhere are skipped rather than waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<Portfolio> findByTotalsComputedFalse(Limit limit);
 } 
\ No newline at end of file
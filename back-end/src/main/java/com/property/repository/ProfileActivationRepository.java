@@ -0,0 +1,24 @@
+package com.property.repository;
+
+import com.property.entity.ProfileActivation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProfileActivationRepository extends JpaRepository<ProfileActivation, UUID> {
+    Optional<ProfileActivation> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM ProfileActivation a WHERE a.profile.id = :profileId")
+    void deleteByProfileId(UUID profileId);
+
+    @Modifying
+    @Query("DELETE FROM ProfileActivation a WHERE a.expiresAt < :now")
+    void deleteExpired(OffsetDateTime now);
+}
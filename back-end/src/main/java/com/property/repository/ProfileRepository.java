@@ -1,19 +1,92 @@
 package com.property.repository;
 
 import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ProfileRepository extends JpaRepository<Profile, UUID> {
+public interface ProfileRepository extends JpaRepository<Profile, UUID>, JpaSpecificationExecutor<Profile>,
+        ProfileViewQueries {
+    // Select list for ProfileView; each alias is the property its getter reads
+    String VIEW_COLUMNS =
+            "p.id AS id, p.firstName AS firstName, p.lastName AS lastName, p.email AS email, " +
+            "p.phone AS phone, p.role AS role, p.address AS address, p.dateOfBirth AS dateOfBirth, " +
+            "p.occupation AS occupation, p.employer AS employer, " +
+            "p.employmentLength AS employmentLength, p.employmentType AS employmentType, " +
+            "p.onProbation AS onProbation, p.maritalStatus AS maritalStatus, " +
+            "p.dependants AS dependants, p.grossIncome AS grossIncome, " +
+            "p.nonTaxableIncome AS nonTaxableIncome, p.assessWithPartner AS assessWithPartner, " +
+            "p.partnerFirstName AS partnerFirstName, p.partnerLastName AS partnerLastName, " +
+            "p.partnerDob AS partnerDob, p.partnerMobile AS partnerMobile, " +
+            "p.partnerAddress AS partnerAddress, p.partnerEmail AS partnerEmail, " +
+            "p.partnerOccupation AS partnerOccupation, p.partnerEmployer AS partnerEmployer, " +
+            "p.partnerEmploymentLength AS partnerEmploymentLength, " +
+            "p.partnerEmploymentType AS partnerEmploymentType, " +
+            "p.partnerOnProbation AS partnerOnProbation, p.partnerIncome AS partnerIncome, " +
+            "p.partnerNonTaxableIncome AS partnerNonTaxableIncome, p.isRenting AS isRenting, " +
+            "p.rentPerWeek AS rentPerWeek, p.monthlyLivingExpenses AS monthlyLivingExpenses, " +
+            "p.residenceHistory AS residenceHistory, p.dependantsAgeRanges AS dependantsAgeRanges, " +
+            "p.retirementPassiveIncomeGoal AS retirementPassiveIncomeGoal, " +
+            "p.desiredRetirementAge AS desiredRetirementAge, p.existingLoans AS existingLoans, " +
+            "p.createdAt AS createdAt";
+
     Optional<Profile> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<Profile> findByEmailIn(Collection<String> emails);
+    List<Profile> findByRole(UserRole role);
 
     @Query("SELECT p FROM Profile p LEFT JOIN FETCH p.portfolios WHERE p.id = :id")
     Optional<Profile> findByIdWithPortfolios(@Param("id") UUID id);
-} 
\ No newline at end of file
+
+    @Query("SELECT " + VIEW_COLUMNS + " FROM Profile p")
+    List<ProfileView> findAllViews();
+
+    @Query("SELECT " + VIEW_COLUMNS + " FROM Profile p WHERE p.id = :id")
+    Optional<ProfileView> findViewById(@Param("id") UUID id);
+
+    /**
+     * Serviceability inputs of every profile with the given role and an id in {@code [from, to]},
+     * streamed as raw rows ordered by profile: one row per liability, or a single row with null
+     * liability columns for a profile without any. Columns are the profile's id, gross income,
+     * partner income, assess-with-partner flag, non-taxable income, partner non-taxable income,
+     * dependants, monthly living expenses, renting flag, weekly rent, existing loans and annual
+     * investment income from its assets, then the liability's type, balance, limit, interest rate,
+     * repayment amount, repayment frequency and loan type. Must be consumed inside a transaction
+     * and closed.
+     */
+    @Query("SELECT p.id, p.grossIncome, p.partnerIncome, p.assessWithPartner, p.nonTaxableIncome, " +
+           "p.partnerNonTaxableIncome, p.dependants, p.monthlyLivingExpenses, p.isRenting, p.rentPerWeek, " +
+           "p.existingLoans, " +
+           "(SELECT COALESCE(SUM(a.incomeAmount * CASE " +
+           "   WHEN LOWER(a.incomeFrequency) LIKE '%week%' THEN 52 " +
+           "   WHEN LOWER(a.incomeFrequency) LIKE '%fortnight%' THEN 26 " +
+           "   WHEN LOWER(a.incomeFrequency) LIKE '%year%' OR LOWER(a.incomeFrequency) LIKE '%annual%' THEN 1 " +
+           "   ELSE 12 END), 0) FROM Asset a WHERE a.profile = p), " +
+           "l.liabilityType, l.loanBalance, l.limitAmount, l.interestRate, l.repaymentAmount, " +
+           "l.repaymentFrequency, l.loanType " +
+           "FROM Profile p LEFT JOIN p.liabilities l " +
+           "WHERE p.role = :role AND p.id BETWEEN :from AND :to ORDER BY p.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamServiceabilityRows(@Param("role") UserRole role, @Param("from") UUID from, @Param("to") UUID to);
+
+    /**
+     * Id, first name, last name and email of the given profiles.
+     */
+    @Query("SELECT p.id, p.firstName, p.lastName, p.email FROM Profile p WHERE p.id IN :ids")
+    List<Object[]> findContactsByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,55 @@
+package com.property.repository;
+
+import com.property.entity.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a profile that its DTO shows, read without the password hash or any of the
+ * profile's collections.
+ */
+public interface ProfileView {
+    UUID getId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    String getPhone();
+    UserRole getRole();
+    String getAddress();
+    LocalDate getDateOfBirth();
+    String getOccupation();
+    String getEmployer();
+    Integer getEmploymentLength();
+    String getEmploymentType();
+    Boolean getOnProbation();
+    String getMaritalStatus();
+    Integer getDependants();
+    BigDecimal getGrossIncome();
+    BigDecimal getNonTaxableIncome();
+    Boolean getAssessWithPartner();
+    String getPartnerFirstName();
+    String getPartnerLastName();
+    LocalDate getPartnerDob();
+    String getPartnerMobile();
+    String getPartnerAddress();
+    String getPartnerEmail();
+    String getPartnerOccupation();
+    String getPartnerEmployer();
+    Integer getPartnerEmploymentLength();
+    String getPartnerEmploymentType();
+    Boolean getPartnerOnProbation();
+    BigDecimal getPartnerIncome();
+    BigDecimal getPartnerNonTaxableIncome();
+    Boolean getIsRenting();
+    BigDecimal getRentPerWeek();
+    BigDecimal getMonthlyLivingExpenses();
+    String getResidenceHistory();
+    String getDependantsAgeRanges();
+    BigDecimal getRetirementPassiveIncomeGoal();
+    Integer getDesiredRetirementAge();
+    BigDecimal getExistingLoans();
+    OffsetDateTime getCreatedAt();
+}
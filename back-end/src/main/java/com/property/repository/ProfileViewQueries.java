@@ -0,0 +1,19 @@
+package com.property.repository;
+
+import com.property.entity.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Dynamic queries that read {@link ProfileView} columns rather than whole profiles.
+ */
+public interface ProfileViewQueries {
+
+    /**
+     * Views of the first {@code limit} profiles matching the filter in the given order, selecting
+     * only the view's columns, so neither the password hash nor any collection is read.
+     */
+    List<ProfileView> findViews(Specification<Profile> filter, Sort sort, int limit);
+}
@@ -0,0 +1,62 @@
+package com.property.repository;
+
+import com.property.entity.Profile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ProfileViewQueriesImpl implements ProfileViewQueries {
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    // Each getter reads the profile property of the same name, as in ProfileRepository.VIEW_COLUMNS
+    private static final List<String> PROPERTIES = Arrays.stream(ProfileView.class.getMethods())
+            .map(Method::getName)
+            .filter(name -> name.startsWith("get"))
+            .map(name -> Introspector.decapitalize(name.substring(3)))
+            .sorted()
+            .toList();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProfileView> findViews(Specification<Profile> filter, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Profile> root = query.from(Profile.class);
+        query.multiselect(PROPERTIES.stream().<Selection<?>>map(property -> root.get(property).alias(property)).toList());
+        query.where(filter.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(ProfileViewQueriesImpl::toView)
+                .toList();
+    }
+
+    private static ProfileView toView(Tuple row) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : row.getElements()) {
+            values.put(element.getAlias(), row.get(element));
+        }
+        return PROJECTIONS.createProjection(ProfileView.class, values);
+    }
+}
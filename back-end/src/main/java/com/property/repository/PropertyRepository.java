@@ -1,11 +1,50 @@
 package com.property.repository;
 
 import com.property.entity.Property;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, UUID> {
-} 
\ No newline at end of file
+public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property> {
+    @Query("SELECT po.profile.id AS profileId, pr.price AS price, pr.rentalYield AS rentalYield " +
+           "FROM Property pr JOIN pr.portfolio po")
+    List<PortfolioHoldingView> findAllPortfolioHoldings();
+
+    /**
+     * Id, price, growth rate and rental yield of every listing not yet in a portfolio, streamed
+     * as raw rows. Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT p.id, p.price, p.growthRate, p.rentalYield FROM Property p WHERE p.portfolio IS NULL")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamAvailableListings();
+
+    /**
+     * Every listing's id, name, street, suburb, state, postcode, description, image URL, price,
+     * beds, baths, area, growth rate, rental yield and portfolio id (null when available), oldest
+     * first, streamed as raw rows. Must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT p.id, p.name, p.street, p.suburb, p.state, p.postcode, p.description, p.imageUrl, " +
+           "p.price, p.beds, p.baths, p.area, p.growthRate, p.rentalYield, p.portfolio.id " +
+           "FROM Property p ORDER BY p.createdAt, p.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamListings();
+
+    /**
+     * Every listing's features as (property id, feature) rows. Must be consumed inside a
+     * transaction and closed.
+     */
+    @Query("SELECT p.id, f FROM Property p JOIN p.features f")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Object[]> streamListingFeatures();
+}
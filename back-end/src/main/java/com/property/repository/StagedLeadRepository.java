@@ -0,0 +1,32 @@
+package com.property.repository;
+
+import com.property.entity.StagedLead;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+@Repository
+public interface StagedLeadRepository extends JpaRepository<StagedLead, Long> {
+    /**
+     * The oldest staged leads due a merge, locked for the current transaction. Leads another
+     * instance has already locked are skipped rather than waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<StagedLead> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            StagedLead.Status status, OffsetDateTime now, Limit limit);
+
+    // As above, for one lead
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<StagedLead> findByIdAndStatus(Long id, StagedLead.Status status);
+}
@@ -0,0 +1,15 @@
+package com.property.service;
+
+import com.property.dto.AcquisitionPlanDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.OptimizationRequest;
+
+import java.util.UUID;
+
+public interface AcquisitionOptimizerService {
+    /**
+     * Starts an optimizer run for {@code profileId}'s portfolio as a job owned by {@code ownerId},
+     * the profile that asked for it.
+     */
+    JobDTO<AcquisitionPlanDTO> submit(UUID ownerId, UUID profileId, OptimizationRequest request);
+}
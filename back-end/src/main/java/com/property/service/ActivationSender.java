@@ -0,0 +1,9 @@
+package com.property.service;
+
+import com.property.entity.Profile;
+
+public interface ActivationSender {
+    // Delivers the activation token to the profile's email, so only its owner can complete registration.
+    // No implementation ships yet; a deployment that lets leads register provides one that sends mail
+    void sendActivation(Profile profile, String token);
+}
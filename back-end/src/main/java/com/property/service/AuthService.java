@@ -1,5 +1,6 @@
 package com.property.service;
 
+import com.property.dto.ActivationRequest;
 import com.property.dto.AuthRequest;
 import com.property.dto.AuthResponse;
 import com.property.dto.RegisterRequest;
@@ -7,4 +8,5 @@ import com.property.dto.RegisterRequest;
 public interface AuthService {
     AuthResponse register(RegisterRequest request);
     AuthResponse login(AuthRequest request);
+    AuthResponse activate(ActivationRequest request);
 } 
\ No newline at end of file
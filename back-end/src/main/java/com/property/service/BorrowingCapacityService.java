@@ -0,0 +1,20 @@
+package com.property.service;
+
+import com.property.dto.BorrowingCapacityDTO;
+
+import java.util.UUID;
+
+public interface BorrowingCapacityService {
+    BorrowingCapacityDTO getBorrowingCapacity(UUID profileId);
+
+    /**
+     * Drops the cached capacity once the caller's transaction commits and recalculates it in
+     * the background. Call whenever a profile's income, expenses, assets or liabilities change.
+     */
+    void invalidate(UUID profileId);
+
+    /**
+     * Drops the cached capacity of a deleted profile once the caller's transaction commits.
+     */
+    void evict(UUID profileId);
+}
@@ -0,0 +1,30 @@
+package com.property.service;
+
+import com.property.dto.JobDTO;
+import com.property.engine.ProgressListener;
+import com.property.entity.Profile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface JobService {
+
+    /**
+     * Queues a job for the given user. The work is given a listener to report progress against
+     * {@code totalUnits} and to poll for cancellation. It runs outside the caller's transaction, so
+     * anything it needs from the database must already be loaded or be read in transactions of
+     * its own.
+     */
+    <T> JobDTO<T> submit(UUID profileId, String type, long totalUnits, Function<ProgressListener, T> work);
+
+    JobDTO<?> getJob(UUID jobId, Profile requester);
+
+    JobDTO<?> cancel(UUID jobId, Profile requester);
+
+    /**
+     * Server-sent events for one job: the current state at once, a {@code progress} event each
+     * time another whole percent is done, and a final event named after the finished status.
+     */
+    SseEmitter stream(UUID jobId, Profile requester);
+}
@@ -0,0 +1,10 @@
+package com.property.service;
+
+import com.property.dto.BorrowingLeadDto;
+import com.property.dto.MortgageLeadDto;
+
+public interface LeadService {
+    // Stage a lead for merging into the profile with its email, returning the staged lead's id
+    Long stageMortgageLead(MortgageLeadDto leadDto);
+    Long stageBorrowingLead(BorrowingLeadDto leadDto);
+}
@@ -1,5 +1,7 @@
 package com.property.service;
 
+import com.property.dto.AmortizationScheduleRequest;
+import com.property.engine.AmortizationSchedule;
 import com.property.entity.Liability;
 import java.util.List;
 import java.util.UUID;
@@ -9,4 +11,5 @@ public interface LiabilityService {
     Liability createLiability(UUID profileId, Liability liability);
     Liability updateLiability(UUID profileId, UUID liabilityId, Liability liability);
     void deleteLiability(UUID profileId, UUID liabilityId);
+    AmortizationSchedule getSchedule(UUID profileId, UUID liabilityId, AmortizationScheduleRequest request);
 } 
\ No newline at end of file
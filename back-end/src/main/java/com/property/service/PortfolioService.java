@@ -1,11 +1,23 @@
 package com.property.service;
 
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
+import com.property.dto.JobDTO;
 import com.property.dto.PortfolioDTO;
+import com.property.dto.ProjectionDTO;
+import com.property.dto.RefinancePlanDTO;
+import com.property.dto.RefinancePlanRequest;
+import com.property.dto.RetirementPlanDTO;
+import com.property.dto.RetirementPlanRequest;
 import com.property.dto.PropertyDTO;
+import com.property.dto.SimulationGridRequest;
+import com.property.dto.SimulationGridResponse;
 import com.property.dto.SimulationRequest;
 import com.property.dto.SimulationResponse;
+import com.property.engine.ProjectionYear;
 import com.property.entity.Portfolio;
 
 public interface PortfolioService {
@@ -16,4 +28,11 @@ public interface PortfolioService {
     Portfolio addPropertyToPortfolio(UUID portfolioId, PropertyDTO propertyDTO);
     Portfolio removePropertyFromPortfolio(UUID portfolioId, UUID propertyId);
     SimulationResponse simulatePropertyImpact(SimulationRequest request);
+    List<SimulationResponse> simulateBatch(List<SimulationRequest> requests);
+    JobDTO<List<SimulationResponse>> submitSimulationJob(UUID profileId, List<SimulationRequest> requests);
+    SimulationGridResponse simulateGrid(SimulationGridRequest request);
+    ProjectionDTO getProjection(UUID userId, int years, BigDecimal interestRate, boolean interestOnly);
+    Iterator<ProjectionYear> streamProjection(UUID userId, int years, BigDecimal interestRate, boolean interestOnly);
+    RetirementPlanDTO getRetirementPlan(UUID userId, RetirementPlanRequest request);
+    RefinancePlanDTO planRefinancing(UUID userId, RefinancePlanRequest request);
 } 
\ No newline at end of file
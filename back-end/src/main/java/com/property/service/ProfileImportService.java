@@ -0,0 +1,16 @@
+package com.property.service;
+
+import com.property.dto.ImportReportDTO;
+
+import java.io.InputStream;
+
+public interface ProfileImportService {
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    // Reads profiles, assets and liabilities from the stream as it arrives and saves them in batches
+    ImportReportDTO importProfiles(InputStream in, Format format);
+}
@@ -1,9 +1,9 @@
 package com.property.service;
 
-import com.property.dto.MortgageLeadDto;
-import com.property.dto.BorrowingLeadDto;
 import com.property.dto.ProfileDetailsDto;
 import com.property.dto.ProfileDto;
+import com.property.dto.PageDTO;
+import com.property.dto.ProfilePageRequest;
 import com.property.entity.Profile;
 import java.util.List;
 import java.util.UUID;
@@ -11,6 +11,8 @@ import java.util.UUID;
 public interface ProfileService {
     ProfileDto getProfile(UUID id);
     List<ProfileDto> getAllProfiles();
+    // Newest first, one keyset page at a time
+    PageDTO<ProfileDto> getProfilePage(ProfilePageRequest request);
     Profile updateProfile(UUID id, Profile profile);
     void deleteProfile(UUID id);
     
@@ -20,8 +22,5 @@ public interface ProfileService {
     // New methods for comprehensive client details
     ProfileDetailsDto getProfileDetails(UUID id);
     ProfileDetailsDto updateProfileDetails(UUID id, ProfileDetailsDto profileDetails);
-    
-    // Methods to create profiles from leads
-    Profile createProfileFromMortgageLead(MortgageLeadDto leadDto);
-    Profile createProfileFromBorrowingLead(BorrowingLeadDto leadDto);
+
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.property.service;
+
+import com.property.dto.PageDTO;
+import com.property.dto.PropertyCreateRequest;
+import com.property.dto.PropertyDTO;
+import com.property.dto.PropertyPageRequest;
+import com.property.dto.PropertySearchRequest;
+import com.property.dto.PropertySearchResultDTO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PropertyService {
+    List<PropertyDTO> getAllProperties();
+    Optional<PropertyDTO> getProperty(UUID id);
+    PropertyDTO createProperty(PropertyCreateRequest request);
+
+    // Filtered listings one keyset page at a time
+    PageDTO<PropertyDTO> getPropertyPage(PropertyPageRequest request);
+
+    // Filtered listings served from the in-memory catalog
+    PropertySearchResultDTO searchProperties(PropertySearchRequest request);
+}
@@ -0,0 +1,16 @@
+package com.property.service;
+
+import com.property.dto.JobDTO;
+import com.property.dto.RateStressRequest;
+import com.property.dto.RateStressResultDTO;
+
+import java.util.UUID;
+
+public interface RateStressService {
+
+    /**
+     * Queues a stress test of every client's serviceability under rate rises, as a job owned by
+     * the requesting admin.
+     */
+    JobDTO<RateStressResultDTO> submit(UUID requesterId, RateStressRequest request);
+}
@@ -0,0 +1,11 @@
+package com.property.service;
+
+import com.property.dto.RecommendedPropertyDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface RecommendationService {
+    List<RecommendedPropertyDTO> getRecommendedProperties(UUID profileId, int limit, BigDecimal maxLvr, BigDecimal interestRate);
+}
@@ -0,0 +1,12 @@
+package com.property.service;
+
+import com.property.dto.TaxPositionDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaxService {
+    TaxPositionDTO getTaxPosition(UUID profileId, Integer financialYear, BigDecimal interestRate);
+    List<TaxPositionDTO> getAllTaxPositions(Integer financialYear, BigDecimal interestRate);
+}
@@ -0,0 +1,186 @@
+package com.property.service.impl;
+
+import com.property.dto.AcquisitionPlanDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.OptimizationRequest;
+import com.property.dto.PlannedAcquisitionDTO;
+import com.property.dto.PropertyDTO;
+import com.property.engine.AcquisitionConstraints;
+import com.property.engine.AcquisitionOptimizer;
+import com.property.engine.AcquisitionPlan;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.ProjectionAssumptions;
+import com.property.engine.ProjectionEngine;
+import com.property.entity.Asset;
+import com.property.entity.Portfolio;
+import com.property.entity.Property;
+import com.property.exception.InvalidRequestException;
+import com.property.repository.AssetRepository;
+import com.property.repository.PortfolioRepository;
+import com.property.repository.ProfileRepository;
+import com.property.repository.PropertyRepository;
+import com.property.service.AcquisitionOptimizerService;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.JobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.property.engine.Money.toAmount;
+
+/**
+ * Runs the acquisition optimizer as a background job. The catalog is read and shortlisted while
+ * the request's transaction is open, so the search itself only touches the shortlist in memory.
+ * Progress is reported against the node budget.
+ */
+@Service
+@RequiredArgsConstructor
+public class AcquisitionOptimizerServiceImpl implements AcquisitionOptimizerService {
+
+    private static final int MAX_TARGET_YEAR = 50;
+    private static final int MAX_PURCHASES = 10;
+
+    private final ProfileRepository profileRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PropertyRepository propertyRepository;
+    private final AssetRepository assetRepository;
+    private final BorrowingCapacityService borrowingCapacityService;
+    private final JobService jobService;
+    private final ForkJoinPool simulationPool;
+
+    @Override
+    @Transactional(readOnly = true)
+    public JobDTO<AcquisitionPlanDTO> submit(UUID ownerId, UUID profileId, OptimizationRequest request) {
+        if (!profileRepository.existsById(profileId)) {
+            throw new RuntimeException("Profile not found with id: " + profileId);
+        }
+        int targetYear = request.getTargetYear() != null ? request.getTargetYear() : 10;
+        if (targetYear < 1 || targetYear > MAX_TARGET_YEAR) {
+            throw new InvalidRequestException("targetYear must be between 1 and " + MAX_TARGET_YEAR);
+        }
+        int maxPurchases = request.getMaxPurchases() != null ? request.getMaxPurchases() : 5;
+        if (maxPurchases < 1 || maxPurchases > MAX_PURCHASES) {
+            throw new InvalidRequestException("maxPurchases must be between 1 and " + MAX_PURCHASES);
+        }
+
+        ProjectionAssumptions.ProjectionAssumptionsBuilder builder = ProjectionAssumptions.builder();
+        if (request.getInterestRate() != null) {
+            builder.interestRate(PortfolioColumns.percent(request.getInterestRate()));
+        }
+        ProjectionAssumptions assumptions = builder.build();
+
+        AcquisitionConstraints constraints = AcquisitionConstraints.builder()
+                .targetYear(targetYear)
+                .borrowingCapacity(borrowingCapacityService.getBorrowingCapacity(profileId)
+                        .getBorrowingCapacity().doubleValue())
+                .availableCash(request.getAvailableCash() != null
+                        ? request.getAvailableCash().doubleValue()
+                        : savings(profileId))
+                .annualSavings(request.getAnnualSavings() != null ? request.getAnnualSavings().doubleValue() : 0)
+                .maxPurchases(maxPurchases)
+                .gapYears(request.getGapYears() != null ? Math.max(1, request.getGapYears()) : 1)
+                .build();
+
+        Set<Property> owned = portfolioRepository.findByUserIdWithProperties(profileId)
+                .map(Portfolio::getProperties)
+                .orElse(Set.of());
+        BigDecimal currentEquity = toAmount(ProjectionEngine.project(
+                PortfolioColumns.of(owned, assumptions), assumptions, targetYear).equityCents(targetYear));
+
+        PortfolioColumns.Builder listings = PortfolioColumns.builder(1024, assumptions);
+        try (Stream<Object[]> rows = propertyRepository.streamAvailableListings()) {
+            rows.forEach(row -> listings.add((UUID) row[0], (BigDecimal) row[1], (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+        PortfolioColumns catalog = listings.build();
+        PortfolioColumns shortlist = catalog.select(AcquisitionOptimizer.shortlist(catalog, assumptions, constraints));
+
+        List<UUID> ids = new ArrayList<>(shortlist.size());
+        for (int i = 0; i < shortlist.size(); i++) {
+            ids.add(shortlist.id(i));
+        }
+        Map<UUID, PropertyDTO> properties = propertyRepository.findAllById(ids).stream()
+                .map(this::toDto)
+                .collect(Collectors.toMap(PropertyDTO::getId, Function.identity()));
+
+        return jobService.submit(ownerId, "optimizer", constraints.getMaxNodes(), progress -> {
+            AcquisitionPlan plan = AcquisitionOptimizer.optimize(shortlist, assumptions, constraints,
+                    simulationPool, progress);
+            return toPlanDTO(profileId, targetYear, currentEquity, plan, shortlist, properties, assumptions);
+        });
+    }
+
+    private double savings(UUID profileId) {
+        return assetRepository.findByProfileId(profileId).stream()
+                .filter(asset -> asset.getAssetType() != null
+                        && asset.getAssetType().toLowerCase(Locale.ROOT).contains("savings"))
+                .map(Asset::getCurrentValue)
+                .filter(value -> value != null)
+                .mapToDouble(BigDecimal::doubleValue)
+                .sum();
+    }
+
+    private AcquisitionPlanDTO toPlanDTO(UUID profileId, int targetYear, BigDecimal currentEquity, AcquisitionPlan plan,
+                                         PortfolioColumns shortlist, Map<UUID, PropertyDTO> properties,
+                                         ProjectionAssumptions assumptions) {
+        List<PlannedAcquisitionDTO> purchases = new ArrayList<>(plan.purchases().length);
+        for (int i = 0; i < plan.purchases().length; i++) {
+            PropertyDTO property = properties.get(shortlist.id(plan.purchases()[i]));
+            int year = plan.purchaseYears()[i];
+            double price = property.getPrice().doubleValue()
+                    * Math.pow(1 + PortfolioColumns.percent(property.getGrowthRate()), year);
+            purchases.add(PlannedAcquisitionDTO.builder()
+                    .year(year)
+                    .property(property)
+                    .price(round2(price))
+                    .loan(round2(assumptions.initialDebt(price)))
+                    .deposit(round2(price * assumptions.getDepositRate()))
+                    .build());
+        }
+        return AcquisitionPlanDTO.builder()
+                .profileId(profileId)
+                .targetYear(targetYear)
+                .currentPortfolioEquity(currentEquity)
+                .addedEquity(round2(plan.equityAtTarget()))
+                .purchases(purchases)
+                .nodesExplored(plan.nodesExplored())
+                .exhaustive(plan.exhaustive())
+                .build();
+    }
+
+    private BigDecimal round2(double amount) {
+        return Money.toAmount(Money.ofDollars(amount));
+    }
+
+    private PropertyDTO toDto(Property property) {
+        return PropertyDTO.builder()
+                .id(property.getId())
+                .name(property.getName())
+                .street(property.getStreet())
+                .suburb(property.getSuburb())
+                .state(property.getState())
+                .postcode(property.getPostcode())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .beds(property.getBeds())
+                .baths(property.getBaths())
+                .area(property.getArea())
+                .growthRate(property.getGrowthRate())
+                .rentalYield(property.getRentalYield())
+                .imageUrl(property.getImageUrl())
+                .features(property.getFeatures())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.property.entity.Asset;
 import com.property.entity.Profile;
 import com.property.repository.AssetRepository;
 import com.property.repository.ProfileRepository;
+import com.property.service.BorrowingCapacityService;
 import com.property.service.AssetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,9 @@ public class AssetServiceImpl implements AssetService {
     @Autowired
     private ProfileRepository profileRepository;
 
+    @Autowired
+    private BorrowingCapacityService borrowingCapacityService;
+
     @Override
     public List<Asset> getAssetsByProfileId(UUID profileId) {
         validateProfileExists(profileId);
@@ -38,7 +42,9 @@ public class AssetServiceImpl implements AssetService {
             asset.setId(UUID.randomUUID());
         }
         
-        return assetRepository.save(asset);
+        Asset saved = assetRepository.save(asset);
+        borrowingCapacityService.invalidate(profileId);
+        return saved;
     }
 
     @Override
@@ -64,7 +70,9 @@ public class AssetServiceImpl implements AssetService {
         existingAsset.setIncomeFrequency(asset.getIncomeFrequency());
         existingAsset.setDescription(asset.getDescription());
         
-        return assetRepository.save(existingAsset);
+        Asset saved = assetRepository.save(existingAsset);
+        borrowingCapacityService.invalidate(profileId);
+        return saved;
     }
 
     @Override
@@ -81,6 +89,7 @@ public class AssetServiceImpl implements AssetService {
         }
         
         assetRepository.deleteById(assetId);
+        borrowingCapacityService.invalidate(profileId);
     }
     
     private Profile validateProfileExists(UUID profileId) {
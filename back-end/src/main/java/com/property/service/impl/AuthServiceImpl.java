@@ -1,18 +1,36 @@
 package com.property.service.impl;
 
+import com.property.dto.ActivationRequest;
 import com.property.dto.AuthRequest;
 import com.property.dto.AuthResponse;
 import com.property.dto.RegisterRequest;
 import com.property.entity.Profile;
+import com.property.entity.ProfileActivation;
 import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.exception.ServiceUnavailableException;
+import com.property.repository.ProfileActivationRepository;
 import com.property.repository.ProfileRepository;
 import com.property.security.JwtService;
+import com.property.service.ActivationSender;
 import com.property.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 
 @Service
 @RequiredArgsConstructor
@@ -22,9 +40,21 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ProfileActivationRepository activationRepository;
+    // No sender is registered until mail delivery exists, and claiming a lead's email is refused until then
+    private final ObjectProvider<ActivationSender> activationSender;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${auth.activation-ttl:PT24H}")
+    private Duration activationTtl;
 
     @Override
+    @Transactional
     public AuthResponse register(RegisterRequest request) {
+        var existing = profileRepository.findByEmail(request.getEmail());
+        if (existing.isPresent() && existing.get().getPassword() == null) {
+            return requestActivation(existing.get(), request);
+        }
         var profile = Profile.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
@@ -35,6 +65,74 @@ public class AuthServiceImpl implements AuthService {
                 .build();
 
         profileRepository.save(profile);
+        return authResponse(profile);
+    }
+
+    /**
+     * The email belongs to a profile created from a lead, which already holds the lead's finances.
+     * Rather than handing that profile to whoever registered, the registration is held and a token
+     * is sent to the email; the profile is only attached to it once the token comes back. A newer
+     * registration replaces any held one.
+     */
+    private AuthResponse requestActivation(Profile profile, RegisterRequest request) {
+        ActivationSender sender = activationSender.getIfAvailable();
+        if (sender == null) {
+            throw new ServiceUnavailableException("Activation emails are not configured, so this email cannot be registered yet");
+        }
+        byte[] token = new byte[32];
+        random.nextBytes(token);
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+        activationRepository.deleteExpired(OffsetDateTime.now());
+        activationRepository.deleteByProfileId(profile.getId());
+        activationRepository.save(ProfileActivation.builder()
+                .profile(profile)
+                .tokenHash(hash(encoded))
+                .password(passwordEncoder.encode(request.getPassword()))
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .phone(request.getPhone())
+                .expiresAt(OffsetDateTime.now().plus(activationTtl))
+                .build());
+        sender.sendActivation(profile, encoded);
+        return AuthResponse.builder()
+                .email(profile.getEmail())
+                .activationPending(true)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse activate(ActivationRequest request) {
+        if (request.getToken() == null || request.getToken().isBlank()) {
+            throw new InvalidRequestException("An activation token is required");
+        }
+        ProfileActivation activation = activationRepository.findByTokenHash(hash(request.getToken().trim()))
+                .filter(held -> held.getExpiresAt().isAfter(OffsetDateTime.now()))
+                .orElseThrow(() -> new InvalidRequestException("The activation token is invalid or has expired"));
+        Profile profile = activation.getProfile();
+        activationRepository.deleteByProfileId(profile.getId());
+        if (profile.getPassword() != null) {
+            throw new InvalidRequestException("The profile has already been activated");
+        }
+        profile.setFirstName(activation.getFirstName());
+        profile.setLastName(activation.getLastName());
+        profile.setPassword(activation.getPassword());
+        profile.setPhone(activation.getPhone());
+        profileRepository.save(profile);
+        return authResponse(profile);
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AuthResponse authResponse(Profile profile) {
         var jwtToken = jwtService.generateToken(profile);
         return AuthResponse.builder()
                 .accessToken(jwtToken)
@@ -56,14 +154,6 @@ public class AuthServiceImpl implements AuthService {
         );
         var profile = profileRepository.findByEmail(request.getEmail())
                 .orElseThrow();
-        var jwtToken = jwtService.generateToken(profile);
-        return AuthResponse.builder()
-                .accessToken(jwtToken)
-                .email(profile.getEmail())
-                .role(profile.getRole().name())
-                .firstName(profile.getFirstName())
-                .lastName(profile.getLastName())
-                .id(profile.getId().toString())
-                .build();
+        return authResponse(profile);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.property.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.property.dto.BorrowingCapacityDTO;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.Serviceability;
+import com.property.engine.ServiceabilityEngine;
+import com.property.engine.ServiceabilityInputs;
+import com.property.engine.TaxTables;
+import com.property.entity.Asset;
+import com.property.entity.Liability;
+import com.property.entity.Profile;
+import com.property.repository.AssetRepository;
+import com.property.repository.LiabilityRepository;
+import com.property.repository.ProfileRepository;
+import com.property.service.BorrowingCapacityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Borrowing capacity is read far more often than its inputs change, so results are kept per
+ * profile and only recalculated after a write to the profile, its assets or its liabilities.
+ *
+ * Results are held in a bounded Caffeine cache as futures, so requests that miss on the same
+ * profile at once share the first one's calculation instead of each running their own. After a
+ * write commits the profile's entry is dropped and recalculated in the background, usually
+ * before anyone asks; a calculation that started before the write is dropped with it and can
+ * never overwrite the newer result. Deleting a profile drops its entry for good.
+ */
+@Slf4j
+@Service
+public class BorrowingCapacityServiceImpl implements BorrowingCapacityService {
+
+    private final ProfileRepository profileRepository;
+    private final AssetRepository assetRepository;
+    private final LiabilityRepository liabilityRepository;
+    private final TaskExecutor backgroundExecutor;
+
+    @Value("${serviceability.product-rate:6.0}")
+    private BigDecimal productRate;
+
+    @Value("${serviceability.assessment-buffer:3.0}")
+    private BigDecimal assessmentBuffer;
+
+    private final AsyncCache<UUID, BorrowingCapacityDTO> cache;
+
+    public BorrowingCapacityServiceImpl(ProfileRepository profileRepository,
+                                        AssetRepository assetRepository,
+                                        LiabilityRepository liabilityRepository,
+                                        TaskExecutor backgroundExecutor,
+                                        @Value("${serviceability.cache.max-size:10000}") long maxSize,
+                                        @Value("${serviceability.cache.ttl:PT24H}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.assetRepository = assetRepository;
+        this.liabilityRepository = liabilityRepository;
+        this.backgroundExecutor = backgroundExecutor;
+        // The TTL only picks up a new financial year's tax tables; writes invalidate straight away
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    @Override
+    public BorrowingCapacityDTO getBorrowingCapacity(UUID profileId) {
+        while (true) {
+            CompletableFuture<BorrowingCapacityDTO> calculation = new CompletableFuture<>();
+            CompletableFuture<BorrowingCapacityDTO> cached = cache.asMap().putIfAbsent(profileId, calculation);
+            if (cached == null) {
+                // Nobody else is calculating it, so this thread does. A failed calculation completes
+                // with null, which Caffeine drops quietly, and each waiter then tries for itself
+                BorrowingCapacityDTO result = null;
+                try {
+                    result = calculate(profileId);
+                    return result;
+                } finally {
+                    calculation.complete(result);
+                }
+            }
+            BorrowingCapacityDTO result = cached.join();
+            if (result != null) {
+                return result;
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(UUID profileId) {
+        afterCommit(() -> {
+            cache.synchronous().invalidate(profileId);
+            try {
+                backgroundExecutor.execute(() -> {
+                    try {
+                        getBorrowingCapacity(profileId);
+                    } catch (RuntimeException e) {
+                        // The profile may have been deleted; the next read will calculate or fail on its own
+                        log.debug("Could not refresh borrowing capacity for profile {}", profileId, e);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // The next read calculates it instead
+            }
+        });
+    }
+
+    @Override
+    public void evict(UUID profileId) {
+        afterCommit(() -> cache.synchronous().invalidate(profileId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private BorrowingCapacityDTO calculate(UUID profileId) {
+        Profile profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> new RuntimeException("Profile not found with id: " + profileId));
+        List<Liability> liabilities = liabilityRepository.findByProfileId(profileId);
+        List<Asset> assets = assetRepository.findByProfileId(profileId);
+
+        double assessmentRate = PortfolioColumns.percent(productRate) + PortfolioColumns.percent(assessmentBuffer);
+        ServiceabilityInputs inputs = ServiceabilityInputs.builder()
+                .applicantIncome(toDouble(profile.getGrossIncome()))
+                .partnerIncome(toDouble(profile.getPartnerIncome()))
+                .couple(Boolean.TRUE.equals(profile.getAssessWithPartner()))
+                .nonTaxableIncome(toDouble(profile.getNonTaxableIncome())
+                        + (Boolean.TRUE.equals(profile.getAssessWithPartner())
+                                ? toDouble(profile.getPartnerNonTaxableIncome()) : 0))
+                .investmentIncome(assets.stream().mapToDouble(this::annualIncome).sum())
+                .dependants(profile.getDependants() != null ? profile.getDependants() : 0)
+                .declaredLivingExpenses(toDouble(profile.getMonthlyLivingExpenses()))
+                .rent(Boolean.TRUE.equals(profile.getIsRenting()) ? toDouble(profile.getRentPerWeek()) * 52 / 12 : 0)
+                .commitments(monthlyCommitments(profile, liabilities, assessmentRate))
+                .productRate(PortfolioColumns.percent(productRate))
+                .assessmentBuffer(PortfolioColumns.percent(assessmentBuffer))
+                .financialYear(TaxTables.financialYear(LocalDate.now()))
+                .build();
+        Serviceability result = ServiceabilityEngine.assess(inputs);
+
+        return BorrowingCapacityDTO.builder()
+                .profileId(profileId)
+                .borrowingCapacity(toAmount(result.borrowingCapacity()))
+                .assessmentRate(toAmount(result.assessmentRate() * 100))
+                .monthlyNetIncome(toAmount(result.monthlyNetIncome()))
+                .monthlyExpenses(toAmount(result.monthlyExpenses()))
+                .monthlyCommitments(toAmount(result.monthlyCommitments()))
+                .monthlySurplus(toAmount(result.monthlySurplus()))
+                .calculatedAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private double monthlyCommitments(Profile profile, List<Liability> liabilities, double assessmentRate) {
+        if (liabilities.isEmpty()) {
+            // Leads only record a total of existing loans
+            return ServiceabilityEngine.assessedRepayment(toDouble(profile.getExistingLoans()), assessmentRate, 30);
+        }
+        double total = 0;
+        for (Liability liability : liabilities) {
+            total += monthlyRepayment(liability, assessmentRate);
+        }
+        return total;
+    }
+
+    private double monthlyRepayment(Liability liability, double assessmentRate) {
+        String type = liability.getLiabilityType() != null ? liability.getLiabilityType().toLowerCase(Locale.ROOT) : "";
+        if (type.contains("credit card")) {
+            double limit = liability.getLimitAmount() != null ? toDouble(liability.getLimitAmount()) : toDouble(liability.getLoanBalance());
+            return ServiceabilityEngine.creditCardRepayment(limit);
+        }
+        if (liability.getRepaymentAmount() != null && liability.getRepaymentAmount().signum() > 0) {
+            return toDouble(liability.getRepaymentAmount()) * ServiceabilityEngine.periodsPerYear(liability.getRepaymentFrequency()) / 12;
+        }
+        return ServiceabilityEngine.assessedRepayment(toDouble(liability.getLoanBalance()), assessmentRate, 30);
+    }
+
+    private double annualIncome(Asset asset) {
+        return toDouble(asset.getIncomeAmount()) * ServiceabilityEngine.periodsPerYear(asset.getIncomeFrequency());
+    }
+
+    private double toDouble(BigDecimal amount) {
+        return amount != null ? amount.doubleValue() : 0.0;
+    }
+
+    private BigDecimal toAmount(double amount) {
+        return Money.toAmount(Money.ofDollars(amount));
+    }
+}
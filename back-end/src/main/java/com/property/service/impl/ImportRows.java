@@ -0,0 +1,242 @@
+package com.property.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import file a row at a time, so only the current row is ever held in memory. A CSV
+ * file names its columns in a header line; an NDJSON file has one flat JSON object per line.
+ * Either way a row comes out as its non-blank values by column name, along with the line it
+ * starts on. A row that cannot be read comes out with an error instead, and reading carries on
+ * with the next one.
+ */
+abstract class ImportRows {
+
+    // Longest row kept; the rest of a longer one, such as everything after a stray quote, is dropped
+    static final int MAX_ROW_CHARS = 1 << 16;
+
+    record Row(long line, ObjectNode values, String error) {
+    }
+
+    protected final Reader in;
+    // Line of the next character
+    protected long line = 1;
+
+    private ImportRows(InputStream in) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        // Spreadsheet exports often start with a byte order mark
+        this.in.mark(1);
+        if (this.in.read() != '\uFEFF') {
+            this.in.reset();
+        }
+    }
+
+    static ImportRows csv(InputStream in) throws IOException {
+        return new Csv(in);
+    }
+
+    static ImportRows ndjson(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return new Ndjson(in, objectMapper);
+    }
+
+    /**
+     * The column names in the CSV header, or null for NDJSON, whose rows name their own.
+     */
+    abstract List<String> header();
+
+    /**
+     * The next row, skipping blank lines, or null at the end of the input.
+     */
+    abstract Row next() throws IOException;
+
+    private static Row error(long line, String message) {
+        return new Row(line, null, message);
+    }
+
+    private static Row tooLong(long line) {
+        return error(line, "Row is longer than " + MAX_ROW_CHARS + " characters");
+    }
+
+    // RFC 4180: comma separated, double quotes around values holding commas, quotes or line breaks
+    private static final class Csv extends ImportRows {
+
+        private final List<String> header = new ArrayList<>();
+        private final List<String> cells = new ArrayList<>();
+        private final StringBuilder cell = new StringBuilder();
+        private int length;
+        private boolean unclosed;
+
+        Csv(InputStream in) throws IOException {
+            super(in);
+            if (readRecord()) {
+                cells.forEach(name -> header.add(name.trim()));
+            }
+        }
+
+        @Override
+        List<String> header() {
+            return header;
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                if (unclosed || !readRecord()) {
+                    return null;
+                }
+                if (unclosed) {
+                    return error(start, "A quoted value is not closed");
+                }
+                if (length > MAX_ROW_CHARS) {
+                    return tooLong(start);
+                }
+                if (cells.size() == 1 && cells.get(0).isBlank()) {
+                    continue;
+                }
+                if (cells.size() > header.size()) {
+                    return error(start, "Row has " + cells.size() + " values but the header names "
+                            + header.size() + " columns");
+                }
+                ObjectNode values = JsonNodeFactory.instance.objectNode();
+                for (int i = 0; i < cells.size(); i++) {
+                    String value = cells.get(i).trim();
+                    if (!value.isEmpty()) {
+                        values.put(header.get(i), value);
+                    }
+                }
+                return new Row(start, values, null);
+            }
+        }
+
+        // Reads the next record into cells; false at the end of the input
+        private boolean readRecord() throws IOException {
+            cells.clear();
+            cell.setLength(0);
+            length = 0;
+            int c = in.read();
+            if (c == -1) {
+                return false;
+            }
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        unclosed = true;
+                        break;
+                    }
+                    if (c == '"') {
+                        c = in.read();
+                        if (c != '"') {
+                            // Closing quote; c is whatever follows it
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    append(c);
+                } else if (c == -1 || c == '\n') {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    break;
+                } else if (c == '"' && cell.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    length++;
+                } else if (c != '\r') {
+                    append(c);
+                }
+                c = in.read();
+            }
+            cells.add(cell.toString());
+            return true;
+        }
+
+        private void append(int c) {
+            if (++length <= MAX_ROW_CHARS) {
+                cell.append((char) c);
+            }
+        }
+    }
+
+    private static final class Ndjson extends ImportRows {
+
+        private final ObjectMapper objectMapper;
+        private final StringBuilder text = new StringBuilder();
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) throws IOException {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        List<String> header() {
+            return null;
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                text.setLength(0);
+                int length = 0;
+                int c = in.read();
+                if (c == -1) {
+                    return null;
+                }
+                for (; c != -1 && c != '\n'; c = in.read()) {
+                    if (++length <= MAX_ROW_CHARS) {
+                        text.append((char) c);
+                    }
+                }
+                line++;
+                if (length > MAX_ROW_CHARS) {
+                    return tooLong(start);
+                }
+                String json = text.toString();
+                if (json.isBlank()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(json);
+                } catch (JsonProcessingException e) {
+                    return error(start, "Not valid JSON: " + e.getOriginalMessage());
+                }
+                if (!node.isObject()) {
+                    return error(start, "Not a JSON object");
+                }
+                // Nulls and blanks are left out, as empty CSV cells are
+                ObjectNode values = JsonNodeFactory.instance.objectNode();
+                node.fields().forEachRemaining(field -> {
+                    JsonNode value = field.getValue();
+                    if (value.isTextual()) {
+                        String trimmed = value.asText().trim();
+                        if (!trimmed.isEmpty()) {
+                            values.put(field.getKey(), trimmed);
+                        }
+                    } else if (!value.isNull()) {
+                        values.set(field.getKey(), value);
+                    }
+                });
+                return new Row(start, values, null);
+            }
+        }
+    }
+}
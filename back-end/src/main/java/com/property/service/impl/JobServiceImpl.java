@@ -0,0 +1,293 @@
+package com.property.service.impl;
+
+import com.property.dto.JobDTO;
+import com.property.dto.JobStatus;
+import com.property.engine.ProgressListener;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.exception.ResourceNotFoundException;
+import com.property.exception.TooManyJobsException;
+import com.property.service.JobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory store for background jobs: runs them on the bounded job executor, tracks their
+ * progress, and hands results to whoever polls or streams them. Finished jobs are kept for an
+ * hour for clients to collect, and purged on a schedule after that.
+ *
+ * Each user may have a limited number of jobs pending or running at once. Cancellation is
+ * cooperative: the job is marked cancelled straight away, and the engine stops at its next
+ * progress check. A cancelled job still counts against its user's limit until its worker has
+ * exited, so cancelling and resubmitting cannot pile up work on the executor.
+ */
+@Slf4j
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private final TaskExecutor jobExecutor;
+    private final int maxActivePerUser;
+    private final long streamTimeoutMillis;
+
+    private final Map<UUID, Job<?>> jobs = new ConcurrentHashMap<>();
+
+    public JobServiceImpl(TaskExecutor jobExecutor,
+                       @Value("${jobs.max-active-per-user:2}") int maxActivePerUser,
+                       @Value("${jobs.stream-timeout:PT10M}") Duration streamTimeout) {
+        this.jobExecutor = jobExecutor;
+        this.maxActivePerUser = maxActivePerUser;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    @Override
+    public <T> JobDTO<T> submit(UUID profileId, String type, long totalUnits, Function<ProgressListener, T> work) {
+        Job<T> job = new Job<>(profileId, type, totalUnits);
+        synchronized (this) {
+            long active = jobs.values().stream()
+                    .filter(other -> profileId.equals(other.profileId) && other.isActive())
+                    .count();
+            if (active >= maxActivePerUser) {
+                throw new TooManyJobsException("At most " + maxActivePerUser + " jobs may run at once; "
+                        + "wait for one to finish or cancel it");
+            }
+            jobs.put(job.id, job);
+        }
+
+        try {
+            jobExecutor.execute(() -> run(job, work));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new TooManyJobsException("The job queue is full; try again shortly");
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public JobDTO<?> getJob(UUID jobId, Profile requester) {
+        return find(jobId, requester).snapshot();
+    }
+
+    @Override
+    public JobDTO<?> cancel(UUID jobId, Profile requester) {
+        Job<?> job = find(jobId, requester);
+        job.cancel();
+        return job.snapshot();
+    }
+
+    @Override
+    public SseEmitter stream(UUID jobId, Profile requester) {
+        return find(jobId, requester).subscribe(new SseEmitter(streamTimeoutMillis));
+    }
+
+    private Job<?> find(UUID jobId, Profile requester) {
+        Job<?> job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || (requester != null && requester.getRole() != UserRole.ADMIN
+                && !job.profileId.equals(requester.getId()))) {
+            throw new ResourceNotFoundException("Job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private <T> void run(Job<T> job, Function<ProgressListener, T> work) {
+        try {
+            if (!job.start()) {
+                return;
+            }
+            job.finish(JobStatus.COMPLETED, work.apply(job), null);
+        } catch (CancellationException e) {
+            job.finish(JobStatus.CANCELLED, null, null);
+        } catch (RuntimeException e) {
+            if (job.isCancelled()) {
+                job.finish(JobStatus.CANCELLED, null, null);
+            } else {
+                log.warn("{} job {} failed", job.type, job.id, e);
+                job.finish(JobStatus.FAILED, null, e.getMessage());
+            }
+        } finally {
+            job.exit();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.purge-interval:PT5M}", initialDelayString = "${jobs.purge-interval:PT5M}")
+    public void purgeExpiredJobs() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    private static final class Job<T> implements ProgressListener {
+        private final UUID id = UUID.randomUUID();
+        private final UUID profileId;
+        private final String type;
+        private final long totalUnits;
+        private final OffsetDateTime submittedAt = OffsetDateTime.now();
+        private final AtomicLong doneUnits = new AtomicLong();
+        private final AtomicInteger publishedPercent = new AtomicInteger();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private volatile boolean cancelled;
+
+        // Guarded by this
+        private JobStatus status = JobStatus.PENDING;
+        private OffsetDateTime startedAt;
+        private OffsetDateTime completedAt;
+        private T result;
+        private String error;
+        // Set once the worker has returned, however the job ended
+        private boolean exited;
+
+        Job(UUID profileId, String type, long totalUnits) {
+            this.profileId = profileId;
+            this.type = type;
+            this.totalUnits = Math.max(1, totalUnits);
+        }
+
+        @Override
+        public void advance(long units) {
+            int percent = percent(doneUnits.addAndGet(units));
+            int published = publishedPercent.get();
+            if (percent > published && publishedPercent.compareAndSet(published, percent)) {
+                publish("progress", snapshot());
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // Until the worker exits, which may be some time after a cancellation
+        synchronized boolean isActive() {
+            return !exited;
+        }
+
+        synchronized boolean finishedBefore(OffsetDateTime cutoff) {
+            return exited && completedAt != null && completedAt.isBefore(cutoff);
+        }
+
+        synchronized boolean start() {
+            if (status != JobStatus.PENDING) {
+                return false;
+            }
+            status = JobStatus.RUNNING;
+            startedAt = OffsetDateTime.now();
+            return true;
+        }
+
+        synchronized void exit() {
+            exited = true;
+        }
+
+        void cancel() {
+            cancelled = true;
+            finish(JobStatus.CANCELLED, null, null);
+        }
+
+        void finish(JobStatus finalStatus, T finalResult, String finalError) {
+            List<SseEmitter> listeners;
+            synchronized (this) {
+                // A job cancelled while running keeps its cancelled state when the engine stops
+                if (status.isFinished()) {
+                    return;
+                }
+                status = finalStatus;
+                result = finalResult;
+                error = finalError;
+                completedAt = OffsetDateTime.now();
+                listeners = new ArrayList<>(emitters);
+                emitters.clear();
+            }
+            JobDTO<T> snapshot = snapshot();
+            for (SseEmitter emitter : listeners) {
+                send(emitter, finalStatus.name().toLowerCase(Locale.ROOT), snapshot);
+                emitter.complete();
+            }
+        }
+
+        SseEmitter subscribe(SseEmitter emitter) {
+            boolean finished;
+            synchronized (this) {
+                finished = status.isFinished();
+                if (!finished) {
+                    emitters.add(emitter);
+                }
+            }
+            emitter.onCompletion(() -> unsubscribe(emitter));
+            emitter.onTimeout(() -> unsubscribe(emitter));
+            emitter.onError(e -> unsubscribe(emitter));
+
+            JobDTO<T> snapshot = snapshot();
+            if (finished) {
+                send(emitter, snapshot.getStatus().name().toLowerCase(Locale.ROOT), snapshot);
+                emitter.complete();
+            } else {
+                send(emitter, "progress", snapshot);
+            }
+            return emitter;
+        }
+
+        // Jobs are updated from worker threads, so callers get a copy
+        synchronized JobDTO<T> snapshot() {
+            return JobDTO.<T>builder()
+                    .jobId(id)
+                    .profileId(profileId)
+                    .type(type)
+                    .status(status)
+                    .percentComplete(status == JobStatus.COMPLETED ? 100 : percent(doneUnits.get()))
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+
+        private int percent(long done) {
+            // Never 100 until the result is in
+            return (int) Math.min(99, done * 100 / totalUnits);
+        }
+
+        private synchronized void unsubscribe(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        private void publish(String event, JobDTO<T> snapshot) {
+            List<SseEmitter> listeners;
+            synchronized (this) {
+                listeners = new ArrayList<>(emitters);
+            }
+            for (SseEmitter emitter : listeners) {
+                send(emitter, event, snapshot);
+            }
+        }
+
+        private void send(SseEmitter emitter, String event, JobDTO<T> snapshot) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(snapshot));
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away
+                unsubscribe(emitter);
+            }
+        }
+    }
+}
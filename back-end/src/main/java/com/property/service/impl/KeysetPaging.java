@@ -0,0 +1,116 @@
+package com.property.service.impl;
+
+import com.property.dto.PageDTO;
+import com.property.exception.InvalidRequestException;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A keyset order over an entity: one sort key, then the id to order rows with equal keys, both
+ * in the same direction. A page's cursor holds the order's name and the keys of its last row, so
+ * the next page seeks past them on the order's index rather than skipping every earlier row.
+ * Rows with a null sort key have no place in the order and must be filtered out by the caller.
+ */
+final class KeysetPaging<T> {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = ",";
+
+    private final String name;
+    private final String key;
+    private final Sort.Direction direction;
+    private final Function<String, ? extends Comparable<?>> parseKey;
+    private final Function<T, ?> keyOf;
+    private final Function<T, UUID> idOf;
+
+    KeysetPaging(String name, String key, Sort.Direction direction, Function<String, ? extends Comparable<?>> parseKey,
+                 Function<T, ?> keyOf, Function<T, UUID> idOf) {
+        this.name = name;
+        this.key = key;
+        this.direction = direction;
+        this.parseKey = parseKey;
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1 || requested > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return requested;
+    }
+
+    Sort sort() {
+        return Sort.by(direction, key, "id");
+    }
+
+    /**
+     * The rows after the cursor's row, or every row without a cursor. Written as a bound on the
+     * sort key plus a tiebreak, so the database can start its index range at the cursor.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    Specification<T> after(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+        Comparable last;
+        UUID lastId;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (parts.length != 3 || !parts[0].equals(name)) {
+                throw new InvalidRequestException("Cursor was not issued for the " + name + " order");
+            }
+            last = parseKey.apply(parts[1]);
+            lastId = UUID.fromString(parts[2]);
+        } catch (InvalidRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return (root, query, cb) -> {
+            Path<Comparable> sortKey = root.get(key);
+            Path<UUID> id = root.get("id");
+            return direction.isDescending()
+                    ? cb.and(cb.lessThanOrEqualTo(sortKey, last),
+                            cb.or(cb.lessThan(sortKey, last), cb.lessThan(id, lastId)))
+                    : cb.and(cb.greaterThanOrEqualTo(sortKey, last),
+                            cb.or(cb.greaterThan(sortKey, last), cb.greaterThan(id, lastId)));
+        };
+    }
+
+    /**
+     * @param rows up to {@code limit + 1} rows in this order; an extra row means there is a
+     *             next page
+     */
+    <R> PageDTO<R> page(List<T> rows, int limit, Function<T, R> mapper) {
+        return page(rows, limit, keyOf, idOf, mapper);
+    }
+
+    /**
+     * As above, for rows read as a projection of the entity rather than the entity itself.
+     */
+    <V, R> PageDTO<R> page(List<V> rows, int limit, Function<V, ?> rowKey, Function<V, UUID> rowId,
+                           Function<V, R> mapper) {
+        List<V> items = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            V last = items.get(limit - 1);
+            String keys = name + SEPARATOR + rowKey.apply(last) + SEPARATOR + rowId.apply(last);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+        }
+        return PageDTO.<R>builder().items(items.stream().map(mapper).toList()).nextCursor(nextCursor).build();
+    }
+}
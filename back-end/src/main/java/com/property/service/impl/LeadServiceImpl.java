@@ -0,0 +1,264 @@
+package com.property.service.impl;
+
+import com.property.dto.BorrowingLeadDto;
+import com.property.dto.MortgageLeadDto;
+import com.property.entity.Profile;
+import com.property.entity.StagedLead;
+import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.repository.ProfileRepository;
+import com.property.repository.StagedLeadRepository;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.LeadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes in leads without touching profiles: each lead is appended to the staging table and
+ * acknowledged. A background drain then merges staged leads into profiles a batch at a time,
+ * oldest first, in one transaction per batch: leads sharing an email are folded together, the
+ * batch's existing profiles are read in one query, and profiles that do not exist yet are
+ * created without credentials, which their owner sets on registering.
+ *
+ * Only one drain runs at a time in this instance. Leads that arrive while it runs are picked up
+ * before it stops, so a burst of leads is merged in full batches rather than one by one. A lead
+ * that cannot be merged is retried with exponential backoff, out of the way of the leads behind
+ * it, and set aside as FAILED once it runs out of attempts; a scheduled drain picks up the
+ * retries.
+ */
+@Slf4j
+@Service
+public class LeadServiceImpl implements LeadService {
+
+    private final StagedLeadRepository stagedLeadRepository;
+    private final ProfileRepository profileRepository;
+    private final BorrowingCapacityService borrowingCapacityService;
+    private final SimulationResultCache simulationCache;
+    private final TaskExecutor backgroundExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    // Leads staged since the running drain last looked; zero when no drain is running
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public LeadServiceImpl(StagedLeadRepository stagedLeadRepository,
+                           ProfileRepository profileRepository,
+                           BorrowingCapacityService borrowingCapacityService,
+                           SimulationResultCache simulationCache,
+                           TaskExecutor backgroundExecutor,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${leads.batch-size:500}") int batchSize,
+                           @Value("${leads.max-attempts:5}") int maxAttempts,
+                           @Value("${leads.retry-backoff:PT1M}") Duration retryBackoff) {
+        this.stagedLeadRepository = stagedLeadRepository;
+        this.profileRepository = profileRepository;
+        this.borrowingCapacityService = borrowingCapacityService;
+        this.simulationCache = simulationCache;
+        this.backgroundExecutor = backgroundExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Override
+    public Long stageMortgageLead(MortgageLeadDto leadDto) {
+        return stage(StagedLead.builder()
+                .source(StagedLead.Source.MORTGAGE)
+                .email(email(leadDto.getEmail()))
+                .firstName(leadDto.getFirstName())
+                .lastName(leadDto.getLastName())
+                .phone(leadDto.getPhone())
+                .existingLoans(leadDto.getLoanAmount() != null ? BigDecimal.valueOf(leadDto.getLoanAmount()) : null)
+                .build());
+    }
+
+    @Override
+    public Long stageBorrowingLead(BorrowingLeadDto leadDto) {
+        return stage(StagedLead.builder()
+                .source(StagedLead.Source.BORROWING)
+                .email(email(leadDto.getEmail()))
+                .firstName(leadDto.getFirstName())
+                .lastName(leadDto.getLastName())
+                .phone(leadDto.getPhone())
+                .grossIncome(leadDto.getGrossIncome() != null ? BigDecimal.valueOf(leadDto.getGrossIncome()) : null)
+                .existingLoans(leadDto.getExistingLoans() != null ? BigDecimal.valueOf(leadDto.getExistingLoans()) : null)
+                .maritalStatus(leadDto.getMaritalStatus())
+                .build());
+    }
+
+    private static String email(String email) {
+        if (email == null || email.isBlank()) {
+            throw new InvalidRequestException("A lead needs an email");
+        }
+        return email.trim();
+    }
+
+    private Long stage(StagedLead lead) {
+        Long id = stagedLeadRepository.save(lead).getId();
+        if (pending.getAndIncrement() == 0) {
+            backgroundExecutor.execute(this::drain);
+        }
+        return id;
+    }
+
+    // Leads staged before a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void drainOnStartup() {
+        startDrain();
+    }
+
+    // Leads whose backoff has run out, and any left behind by a drain that stopped on an error
+    @Scheduled(fixedDelayString = "${leads.retry-interval:PT1M}", initialDelayString = "${leads.retry-interval:PT1M}")
+    public void drainRetries() {
+        startDrain();
+    }
+
+    private void startDrain() {
+        if (pending.getAndIncrement() == 0) {
+            backgroundExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int seen;
+        do {
+            seen = pending.get();
+            try {
+                while (mergeBatch() == batchSize) {
+                    // A full batch may have left more behind it
+                }
+            } catch (RuntimeException e) {
+                // Could not read the queue at all; the scheduled retry starts the next drain
+                log.warn("Could not merge staged leads", e);
+                pending.set(0);
+                return;
+            }
+        } while (!pending.compareAndSet(seen, 0));
+    }
+
+    /**
+     * Merges the oldest staged leads that are due into profiles and removes them from staging,
+     * all in one transaction. If that fails, the same leads are merged one at a time, so that a
+     * lead that cannot be merged only holds up itself. Returns how many leads were taken.
+     */
+    int mergeBatch() {
+        List<Long> taken = new ArrayList<>();
+        try {
+            Integer merged = transactionTemplate.execute(status -> {
+                List<StagedLead> batch = stagedLeadRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        StagedLead.Status.PENDING, OffsetDateTime.now(), Limit.of(batchSize));
+                batch.forEach(lead -> taken.add(lead.getId()));
+                merge(batch);
+                return batch.size();
+            });
+            return merged != null ? merged : 0;
+        } catch (RuntimeException e) {
+            if (taken.isEmpty()) {
+                throw e;
+            }
+            log.warn("Could not merge a batch of {} staged leads; merging them one at a time", taken.size(), e);
+            taken.forEach(this::mergeAlone);
+            return taken.size();
+        }
+    }
+
+    private void mergeAlone(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    merge(stagedLeadRepository.findByIdAndStatus(id, StagedLead.Status.PENDING)));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    stagedLeadRepository.findById(id).ifPresent(lead -> recordFailure(lead, e)));
+        }
+    }
+
+    // Backs the lead off exponentially, or sets it aside once it has used up its attempts
+    private void recordFailure(StagedLead lead, RuntimeException e) {
+        int attempts = lead.getAttempts() + 1;
+        lead.setAttempts(attempts);
+        lead.setLastError(NestedExceptionUtils.getMostSpecificCause(e).toString());
+        if (attempts >= maxAttempts) {
+            lead.setStatus(StagedLead.Status.FAILED);
+            log.error("Gave up merging staged lead {} after {} attempts", lead.getId(), attempts, e);
+        } else {
+            lead.setNextAttemptAt(OffsetDateTime.now().plus(retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20))));
+            log.warn("Could not merge staged lead {}; attempt {} of {}", lead.getId(), attempts, maxAttempts, e);
+        }
+    }
+
+    // Folds the leads into profiles and removes them from staging, in the caller's transaction
+    private void merge(List<StagedLead> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<StagedLead>> byEmail = new LinkedHashMap<>();
+        for (StagedLead lead : batch) {
+            byEmail.computeIfAbsent(lead.getEmail(), email -> new ArrayList<>()).add(lead);
+        }
+        Map<String, Profile> existing = new HashMap<>();
+        profileRepository.findByEmailIn(byEmail.keySet()).forEach(profile -> existing.put(profile.getEmail(), profile));
+
+        List<Profile> created = new ArrayList<>();
+        List<UUID> changed = new ArrayList<>();
+        for (Map.Entry<String, List<StagedLead>> leads : byEmail.entrySet()) {
+            Profile profile = existing.get(leads.getKey());
+            if (profile == null) {
+                profile = Profile.builder()
+                        .email(leads.getKey())
+                        .role(UserRole.CLIENT)
+                        .build();
+                created.add(profile);
+            } else {
+                borrowingCapacityService.invalidate(profile.getId());
+                changed.add(profile.getId());
+            }
+            // Later leads win, as if each had been applied on arrival
+            for (StagedLead lead : leads.getValue()) {
+                apply(lead, profile);
+            }
+        }
+        profileRepository.saveAll(created);
+        simulationCache.invalidateProfiles(changed);
+        stagedLeadRepository.deleteAllByIdInBatch(batch.stream().map(StagedLead::getId).toList());
+        // Fail here rather than at commit, so a bad lead is caught while its batch is known
+        profileRepository.flush();
+    }
+
+    private static void apply(StagedLead lead, Profile profile) {
+        profile.setFirstName(lead.getFirstName());
+        profile.setLastName(lead.getLastName());
+        profile.setPhone(lead.getPhone());
+        if (lead.getGrossIncome() != null) {
+            profile.setGrossIncome(lead.getGrossIncome());
+        }
+        if (lead.getExistingLoans() != null) {
+            profile.setExistingLoans(lead.getExistingLoans());
+        }
+        if (lead.getMaritalStatus() != null) {
+            profile.setMaritalStatus(lead.getMaritalStatus());
+        }
+    }
+}
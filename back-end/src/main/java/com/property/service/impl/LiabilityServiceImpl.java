@@ -1,26 +1,45 @@
 package com.property.service.impl;
 
+import com.property.dto.AmortizationScheduleRequest;
+import com.property.engine.AmortizationParameters;
+import com.property.engine.AmortizationSchedule;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.RepaymentFrequency;
 import com.property.entity.Liability;
 import com.property.entity.Profile;
+import com.property.exception.InvalidRequestException;
 import com.property.repository.LiabilityRepository;
 import com.property.repository.ProfileRepository;
+import com.property.service.BorrowingCapacityService;
 import com.property.service.LiabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Service
 public class LiabilityServiceImpl implements LiabilityService {
 
+    private static final int DEFAULT_TERM_YEARS = 30;
+    private static final int DEFAULT_INTEREST_ONLY_YEARS = 5;
+    // Caps the schedule at 52 * 50 weekly rows
+    private static final int MAX_TERM_YEARS = 50;
+
     @Autowired
     private LiabilityRepository liabilityRepository;
 
     @Autowired
     private ProfileRepository profileRepository;
 
+    @Autowired
+    private BorrowingCapacityService borrowingCapacityService;
+
     @Override
     public List<Liability> getLiabilitiesByProfileId(UUID profileId) {
         validateProfileExists(profileId);
@@ -38,7 +57,9 @@ public class LiabilityServiceImpl implements LiabilityService {
             liability.setId(UUID.randomUUID());
         }
         
-        return liabilityRepository.save(liability);
+        Liability saved = liabilityRepository.save(liability);
+        borrowingCapacityService.invalidate(profileId);
+        return saved;
     }
 
     @Override
@@ -67,7 +88,9 @@ public class LiabilityServiceImpl implements LiabilityService {
         existingLiability.setLoanType(liability.getLoanType());
         existingLiability.setDescription(liability.getDescription());
         
-        return liabilityRepository.save(existingLiability);
+        Liability saved = liabilityRepository.save(existingLiability);
+        borrowingCapacityService.invalidate(profileId);
+        return saved;
     }
 
     @Override
@@ -84,8 +107,76 @@ public class LiabilityServiceImpl implements LiabilityService {
         }
         
         liabilityRepository.deleteById(liabilityId);
+        borrowingCapacityService.invalidate(profileId);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public AmortizationSchedule getSchedule(UUID profileId, UUID liabilityId, AmortizationScheduleRequest request) {
+        validateProfileExists(profileId);
+
+        Liability liability = liabilityRepository.findById(liabilityId)
+                .orElseThrow(() -> new RuntimeException("Liability not found with id: " + liabilityId));
+
+        if (!liability.getProfile().getId().equals(profileId)) {
+            throw new RuntimeException("Liability does not belong to the specified profile");
+        }
+
+        // The schedule only holds primitives, so it can be iterated after the transaction closes
+        return new AmortizationSchedule(toAmortizationParameters(liability, request));
+    }
+
+    private AmortizationParameters toAmortizationParameters(Liability liability, AmortizationScheduleRequest request) {
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        int termYears = request.getTermYears() != null ? request.getTermYears() : DEFAULT_TERM_YEARS;
+        if (termYears < 1 || termYears > MAX_TERM_YEARS) {
+            throw new InvalidRequestException("termYears must be between 1 and " + MAX_TERM_YEARS);
+        }
+        requireNonNegative(request.getOffsetBalance(), "offsetBalance");
+        requireNonNegative(request.getOffsetContribution(), "offsetContribution");
+        requireNonNegative(request.getExtraRepayment(), "extraRepayment");
+
+        LocalDate interestOnlyUntil = request.getInterestOnlyUntil();
+        if (interestOnlyUntil == null && isInterestOnly(liability.getLoanType())) {
+            interestOnlyUntil = startDate.plusYears(Math.min(DEFAULT_INTEREST_ONLY_YEARS, termYears));
+        }
+
+        // The stored repayment is per the liability's own frequency, so it only applies without an override
+        RepaymentFrequency frequency;
+        long scheduledRepaymentCents;
+        if (request.getFrequency() != null) {
+            frequency = RepaymentFrequency.parse(request.getFrequency());
+            scheduledRepaymentCents = Money.ZERO;
+        } else {
+            frequency = RepaymentFrequency.parse(liability.getRepaymentFrequency());
+            scheduledRepaymentCents = Money.of(liability.getRepaymentAmount());
+        }
+
+        return AmortizationParameters.builder()
+                .principalCents(Money.of(liability.getLoanBalance()))
+                .annualRate(PortfolioColumns.percent(liability.getInterestRate()))
+                .frequency(frequency)
+                .termYears(termYears)
+                .startDate(startDate)
+                .interestOnlyUntil(interestOnlyUntil)
+                .offsetBalanceCents(Money.of(request.getOffsetBalance()))
+                .offsetContributionCents(Money.of(request.getOffsetContribution()))
+                .extraRepaymentCents(Money.of(request.getExtraRepayment()))
+                .scheduledRepaymentCents(scheduledRepaymentCents)
+                .build();
+    }
+
+    private static void requireNonNegative(BigDecimal value, String name) {
+        if (value != null && value.signum() < 0) {
+            throw new InvalidRequestException(name + " must not be negative");
+        }
+    }
+
+    // Accepts both "Interest Only" and "interest_only"
+    private boolean isInterestOnly(String loanType) {
+        return loanType != null && loanType.toLowerCase(Locale.ROOT).replace('_', ' ').startsWith("interest only");
+    }
+
     private Profile validateProfileExists(UUID profileId) {
         return profileRepository.findById(profileId)
                 .orElseThrow(() -> new RuntimeException("Profile not found with id: " + profileId));
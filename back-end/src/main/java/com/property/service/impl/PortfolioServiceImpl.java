@@ -1,24 +1,113 @@
 package com.property.service.impl;
 
+import com.property.dto.GridAxis;
+import com.property.dto.InputSensitivityDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.MonteCarloBandDTO;
+import com.property.dto.MonteCarloRequest;
+import com.property.dto.MonteCarloResultDTO;
 import com.property.dto.PortfolioDTO;
+import com.property.dto.ProjectionDTO;
+import com.property.dto.PlannedPurchaseDTO;
+import com.property.dto.ProjectionPointDTO;
 import com.property.dto.PropertyDTO;
+import com.property.dto.RefinanceEventDTO;
+import com.property.dto.RefinancePlanDTO;
+import com.property.dto.RefinancePlanRequest;
+import com.property.dto.RefinanceYearDTO;
+import com.property.dto.RetirementPlanDTO;
+import com.property.dto.RetirementPlanRequest;
+import com.property.dto.SensitivityDTO;
+import com.property.dto.SensitivityRequest;
+import com.property.dto.SimulationGridRequest;
+import com.property.dto.SimulationGridResponse;
 import com.property.dto.SimulationRequest;
 import com.property.dto.SimulationResponse;
 import com.property.entity.Portfolio;
+import com.property.entity.Profile;
 import com.property.entity.Property;
+import com.property.engine.Holding;
+import com.property.engine.Money;
+import com.property.engine.MonteCarloEngine;
+import com.property.engine.MonteCarloParameters;
+import com.property.engine.MonteCarloResult;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.PortfolioProjection;
+import com.property.engine.PortfolioSnapshot;
+import com.property.engine.ProgressListener;
+import com.property.engine.ProjectionAssumptions;
+import com.property.engine.ProjectionEngine;
+import com.property.engine.ProjectionYear;
+import com.property.engine.RefinanceEvent;
+import com.property.engine.RefinancePlanner;
+import com.property.engine.RefinanceTimeline;
+import com.property.engine.RetirementPlan;
+import com.property.engine.RetirementSolver;
+import com.property.engine.SensitivityEngine;
+import com.property.exception.InvalidRequestException;
 import com.property.repository.PortfolioRepository;
+import com.property.repository.ProfileRepository;
+import com.property.repository.PropertyRepository;
+import com.property.service.JobService;
 import com.property.service.PortfolioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static com.property.engine.Money.toAmount;
+
 @Service
 @RequiredArgsConstructor
 public class PortfolioServiceImpl implements PortfolioService {
 
+    private static final int MAX_MONTE_CARLO_PATHS = 100_000;
+    private static final int MAX_MONTE_CARLO_YEARS = 50;
+    // Closed form, so the horizon costs nothing; this only keeps the compounding meaningful
+    private static final int MAX_SENSITIVITY_YEARS = 50;
+    private static final int MAX_BATCH_SIZE = 100;
+    // Each Monte Carlo run holds two doubles per path per year, so this bounds a batch to about 160MB
+    private static final long MAX_BATCH_MONTE_CARLO_CELLS = 10_000_000;
+    private static final int MAX_GRID_CELLS = 100_000;
+    private static final int MAX_LOAN_TERM_YEARS = 50;
+    private static final int DEFAULT_PLAN_PROPERTIES = 10;
+    private static final int MAX_PLAN_PROPERTIES = 50;
+    private static final int DEFAULT_PLAN_GAP_YEARS = 2;
+    // Template used when the client has no portfolio to average
+    private static final BigDecimal DEFAULT_PLAN_PRICE = BigDecimal.valueOf(650_000);
+    private static final BigDecimal DEFAULT_PLAN_GROWTH = BigDecimal.valueOf(5);
+    private static final BigDecimal DEFAULT_PLAN_YIELD = BigDecimal.valueOf(4);
+    private static final int MAX_REFINANCE_QUEUE = 100;
+    private static final int MAX_REFINANCE_YEARS = 40;
+    // Matches the modeling dashboard's refinance limit
+    private static final BigDecimal DEFAULT_REFINANCE_LIMIT = BigDecimal.valueOf(80);
+
     private final PortfolioRepository portfolioRepository;
+    private final PropertyRepository propertyRepository;
+    private final ProfileRepository profileRepository;
+    private final ForkJoinPool simulationPool;
+    private final SimulationResultCache simulationCache;
+    private final PropertyCatalog propertyCatalog;
+    private final JobService jobService;
 
     @Override
     public Portfolio createPortfolio(UUID userId) {
@@ -38,25 +127,69 @@ public class PortfolioServiceImpl implements PortfolioService {
     @Override
     public void deletePortfolio(UUID portfolioId) {
         portfolioRepository.deleteById(portfolioId);
+        // The portfolio's properties go with it by cascade
+        propertyCatalog.invalidate();
+        simulationCache.invalidate(portfolioId);
     }
 
     @Override
+    @Transactional
     public Portfolio addPropertyToPortfolio(UUID portfolioId, PropertyDTO propertyDTO) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
             .orElseThrow(() -> new RuntimeException("Portfolio not found"));
         Property property = convertToEntity(propertyDTO);
-        portfolio.getProperties().add(property);
+        property.setPortfolio(portfolio);
+        portfolio.getProperties().add(propertyRepository.save(property));
+        propertyCatalog.refresh(property);
+        // Stored totals move by this property's contribution alone
+        updateTotals(portfolio, property, 1);
+        simulationCache.invalidate(portfolioId);
         return portfolioRepository.save(portfolio);
     }
 
     @Override
+    @Transactional
     public Portfolio removePropertyFromPortfolio(UUID portfolioId, UUID propertyId) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
             .orElseThrow(() -> new RuntimeException("Portfolio not found"));
-        portfolio.getProperties().removeIf(p -> p.getId().equals(propertyId));
+        portfolio.getProperties().stream()
+                .filter(p -> p.getId().equals(propertyId))
+                .findFirst()
+                .ifPresent(property -> {
+                    portfolio.getProperties().remove(property);
+                    property.setPortfolio(null);
+                    propertyRepository.save(property);
+                    propertyCatalog.refresh(property);
+                    updateTotals(portfolio, property, -1);
+                    simulationCache.invalidate(portfolioId);
+                });
         return portfolioRepository.save(portfolio);
     }
 
+    // Totals still waiting on the startup backfill are recomputed in full instead
+    private void updateTotals(Portfolio portfolio, Property property, int sign) {
+        if (portfolio.isTotalsComputed()) {
+            applyToTotals(portfolio, Holding.of(property, ProjectionAssumptions.defaults()), sign);
+        } else {
+            PortfolioTotalsBackfill.recompute(portfolio);
+        }
+    }
+
+    private void applyToTotals(Portfolio portfolio, Holding holding, int sign) {
+        long cashFlow = Money.multiply(holding.cashFlowCents(), sign);
+        long equity = Money.subtract(holding.valueCents(), holding.debtCents());
+        portfolio.setTotalValue(adjust(portfolio.getTotalValue(), Money.multiply(holding.valueCents(), sign)));
+        portfolio.setTotalDebt(adjust(portfolio.getTotalDebt(), Money.multiply(holding.debtCents(), sign)));
+        portfolio.setTotalEquity(adjust(portfolio.getTotalEquity(), Money.multiply(equity, sign)));
+        portfolio.setMonthlyCashFlow(adjust(portfolio.getMonthlyCashFlow(), Money.divide(cashFlow, 12)));
+        portfolio.setAnnualReturn(adjust(portfolio.getAnnualReturn(),
+                Money.add(Money.multiply(holding.growthCents(), sign), cashFlow)));
+    }
+
+    private static BigDecimal adjust(BigDecimal total, long deltaCents) {
+        return toAmount(Money.add(Money.of(total), deltaCents));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PortfolioDTO getPortfolioByUserId(UUID userId) {
@@ -66,96 +199,749 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public ProjectionDTO getProjection(UUID userId, int years, BigDecimal interestRate, boolean interestOnly) {
+        Portfolio portfolio = portfolioRepository.findByUserIdWithProperties(userId)
+                .orElseThrow(() -> new RuntimeException("Portfolio not found for user: " + userId));
+
+        ProjectionAssumptions resolved = projectionAssumptions(interestRate, interestOnly);
+        PortfolioProjection projection = ProjectionEngine.project(
+                PortfolioColumns.of(portfolio.getProperties(), resolved), resolved, years);
+
+        List<ProjectionPointDTO> points = new ArrayList<>(years + 1);
+        for (int year = 0; year <= years; year++) {
+            points.add(ProjectionPointDTO.builder()
+                    .year(year)
+                    .propertyValue(toAmount(projection.valueCents(year)))
+                    .debt(toAmount(projection.debtCents(year)))
+                    .equity(toAmount(projection.equityCents(year)))
+                    .annualCashFlow(toAmount(projection.cashFlowCents(year)))
+                    .build());
+        }
+        return ProjectionDTO.builder()
+                .portfolioId(portfolio.getId())
+                .years(years)
+                .points(points)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterator<ProjectionYear> streamProjection(UUID userId, int years, BigDecimal interestRate, boolean interestOnly) {
+        Portfolio portfolio = portfolioRepository.findByUserIdWithProperties(userId)
+                .orElseThrow(() -> new RuntimeException("Portfolio not found for user: " + userId));
+        ProjectionAssumptions resolved = projectionAssumptions(interestRate, interestOnly);
+        // The rows come from primitive columns only, so they can be produced after the transaction closes
+        return ProjectionEngine.stream(PortfolioColumns.of(portfolio.getProperties(), resolved), resolved, years);
+    }
+
+    private ProjectionAssumptions projectionAssumptions(BigDecimal interestRate, boolean interestOnly) {
+        ProjectionAssumptions.ProjectionAssumptionsBuilder assumptions = ProjectionAssumptions.builder()
+                .interestOnly(interestOnly);
+        if (interestRate != null) {
+            assumptions.interestRate(PortfolioColumns.percent(interestRate));
+        }
+        return assumptions.build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RetirementPlanDTO getRetirementPlan(UUID userId, RetirementPlanRequest request) {
+        Profile profile = profileRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Profile not found with id: " + userId));
+        if (profile.getRetirementPassiveIncomeGoal() == null || profile.getDesiredRetirementAge() == null
+                || profile.getDateOfBirth() == null) {
+            throw new InvalidRequestException(
+                    "Profile needs a date of birth, retirement age and passive income goal to plan retirement");
+        }
+        int currentAge = Period.between(profile.getDateOfBirth(), LocalDate.now()).getYears();
+        int yearsToRetirement = profile.getDesiredRetirementAge() - currentAge;
+        if (yearsToRetirement < 0) {
+            throw new InvalidRequestException("Desired retirement age has already passed");
+        }
+        int maxProperties = request.getMaxProperties() != null ? request.getMaxProperties() : DEFAULT_PLAN_PROPERTIES;
+        if (maxProperties < 0 || maxProperties > MAX_PLAN_PROPERTIES) {
+            throw new InvalidRequestException("maxProperties must be between 0 and " + MAX_PLAN_PROPERTIES);
+        }
+
+        ProjectionAssumptions.ProjectionAssumptionsBuilder builder = ProjectionAssumptions.builder()
+                .interestOnly(Boolean.TRUE.equals(request.getInterestOnly()));
+        if (request.getInterestRate() != null) {
+            builder.interestRate(PortfolioColumns.percent(request.getInterestRate()));
+        }
+        ProjectionAssumptions assumptions = builder.build();
+
+        Collection<Property> owned = portfolioRepository.findByUserIdWithProperties(userId)
+                .map(Portfolio::getProperties)
+                .orElse(Set.of());
+        Property template = planTemplate(owned, request);
+        RetirementPlan plan = RetirementSolver.solve(
+                PortfolioColumns.of(owned, assumptions),
+                PortfolioColumns.of(List.of(template), assumptions),
+                assumptions, yearsToRetirement,
+                profile.getRetirementPassiveIncomeGoal().doubleValue(), maxProperties,
+                request.getMinGapYears() != null ? request.getMinGapYears() : DEFAULT_PLAN_GAP_YEARS,
+                simulationPool);
+
+        int thisYear = LocalDate.now().getYear();
+        List<PlannedPurchaseDTO> purchases = new ArrayList<>(plan.properties());
+        for (int i = 0; i < plan.properties(); i++) {
+            purchases.add(PlannedPurchaseDTO.builder()
+                    .year(thisYear + plan.purchaseYears()[i])
+                    .age(currentAge + plan.purchaseYears()[i])
+                    .price(amount(plan.purchasePrices()[i]))
+                    .build());
+        }
+        return RetirementPlanDTO.builder()
+                .profileId(userId)
+                .passiveIncomeGoal(profile.getRetirementPassiveIncomeGoal())
+                .currentAge(currentAge)
+                .retirementAge(profile.getDesiredRetirementAge())
+                .achievable(plan.achievable())
+                .currentTrajectoryIncome(amount(plan.currentTrajectoryIncome()))
+                .projectedPassiveIncome(amount(plan.projectedIncome()))
+                .purchases(purchases)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RefinancePlanDTO planRefinancing(UUID userId, RefinancePlanRequest request) {
+        int years = request.getYears() != null ? request.getYears() : 30;
+        if (years < 1 || years > MAX_REFINANCE_YEARS) {
+            throw new InvalidRequestException("years must be between 1 and " + MAX_REFINANCE_YEARS);
+        }
+        List<UUID> queueIds = request.getAcquisitionQueue() != null ? request.getAcquisitionQueue() : List.of();
+        if (queueIds.size() > MAX_REFINANCE_QUEUE) {
+            throw new InvalidRequestException("At most " + MAX_REFINANCE_QUEUE + " properties can be queued");
+        }
+        // A property can only be bought once
+        if (new HashSet<>(queueIds).size() < queueIds.size()) {
+            throw new InvalidRequestException("acquisitionQueue lists a property more than once");
+        }
+        requirePercent(request.getDepositPercent(), "depositPercent");
+        requirePercent(request.getFeesPercent(), "feesPercent");
+        requirePercent(request.getInterestRate(), "interestRate");
+        BigDecimal refinanceLimit = request.getRefinanceLimit() != null ? request.getRefinanceLimit() : DEFAULT_REFINANCE_LIMIT;
+        // Refinancing to no debt at all would never release any equity
+        if (refinanceLimit.signum() <= 0 || refinanceLimit.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new InvalidRequestException("refinanceLimit must be above 0 and at most 100");
+        }
+        requireNonNegative(request.getInitialCash(), "initialCash");
+        requireNonNegative(request.getAnnualSavings(), "annualSavings");
+
+        ProjectionAssumptions.ProjectionAssumptionsBuilder builder = ProjectionAssumptions.builder()
+                .interestOnly(Boolean.TRUE.equals(request.getInterestOnly()));
+        if (request.getDepositPercent() != null) {
+            builder.depositRate(PortfolioColumns.percent(request.getDepositPercent()));
+        }
+        if (request.getFeesPercent() != null) {
+            builder.feesRate(PortfolioColumns.percent(request.getFeesPercent()));
+        }
+        if (request.getInterestRate() != null) {
+            builder.interestRate(PortfolioColumns.percent(request.getInterestRate()));
+        }
+        ProjectionAssumptions assumptions = builder.build();
+
+        Collection<Property> owned = portfolioRepository.findByUserIdWithProperties(userId)
+                .map(Portfolio::getProperties)
+                .orElse(Set.of());
+        Map<UUID, Property> found = new HashMap<>();
+        propertyRepository.findAllById(queueIds).forEach(property -> found.put(property.getId(), property));
+        List<Property> queue = new ArrayList<>(queueIds.size());
+        for (UUID id : queueIds) {
+            Property property = found.get(id);
+            if (property == null) {
+                throw new InvalidRequestException("Property not found with id: " + id);
+            }
+            queue.add(property);
+        }
+
+        RefinanceTimeline timeline = RefinancePlanner.plan(
+                PortfolioColumns.of(owned, assumptions), PortfolioColumns.of(queue, assumptions), assumptions,
+                PortfolioColumns.percent(refinanceLimit),
+                // With nothing owned the first purchase is funded up front, as on the dashboard
+                nullToZero(request.getInitialCash()).doubleValue()
+                        + (owned.isEmpty() && !queue.isEmpty() ? initialUpfront(queue.get(0), assumptions) : 0),
+                nullToZero(request.getAnnualSavings()).doubleValue(),
+                years);
+
+        List<List<RefinanceEventDTO>> eventsByYear = new ArrayList<>(years + 1);
+        for (int year = 0; year <= years; year++) {
+            eventsByYear.add(new ArrayList<>());
+        }
+        for (RefinanceEvent event : timeline.events()) {
+            eventsByYear.get(event.year()).add(RefinanceEventDTO.builder()
+                    .type(event.type().name())
+                    .propertyId(event.propertyId())
+                    .amount(amount(event.amount()))
+                    .build());
+        }
+        List<RefinanceYearDTO> points = new ArrayList<>(years + 1);
+        for (int year = 0; year <= years; year++) {
+            points.add(RefinanceYearDTO.builder()
+                    .year(year)
+                    .propertiesHeld(timeline.held(year))
+                    .totalValue(amount(timeline.value(year)))
+                    .totalDebt(amount(timeline.debt(year)))
+                    .totalEquity(amount(timeline.equity(year)))
+                    .usableEquity(amount(timeline.usableEquity(year)))
+                    .annualCashFlow(amount(timeline.cashFlow(year)))
+                    .cash(amount(timeline.cash(year)))
+                    .events(eventsByYear.get(year))
+                    .build());
+        }
+        return RefinancePlanDTO.builder()
+                .profileId(userId)
+                .years(years)
+                .timeline(points)
+                .notPurchased(queueIds.subList(timeline.purchased(), queueIds.size()))
+                .build();
+    }
+
+    // Fees are borrowed with the rest of the price, as for every purchase in the plan
+    private double initialUpfront(Property property, ProjectionAssumptions assumptions) {
+        return nullToZero(property.getPrice()).doubleValue() * assumptions.getDepositRate();
+    }
+
+    /**
+     * The property each planned purchase is modelled on: whatever the request specifies, with
+     * the rest taken from the average of the properties already owned.
+     */
+    private Property planTemplate(Collection<Property> owned, RetirementPlanRequest request) {
+        BigDecimal price = DEFAULT_PLAN_PRICE;
+        BigDecimal growth = DEFAULT_PLAN_GROWTH;
+        BigDecimal yield = DEFAULT_PLAN_YIELD;
+        if (!owned.isEmpty()) {
+            BigDecimal count = BigDecimal.valueOf(owned.size());
+            price = owned.stream().map(p -> nullToZero(p.getPrice())).reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(count, 2, RoundingMode.HALF_EVEN);
+            growth = owned.stream().map(p -> nullToZero(p.getGrowthRate())).reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(count, 4, RoundingMode.HALF_EVEN);
+            yield = owned.stream().map(p -> nullToZero(p.getRentalYield())).reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(count, 4, RoundingMode.HALF_EVEN);
+        }
+        Property template = new Property();
+        template.setPrice(request.getPrice() != null ? request.getPrice() : price);
+        template.setGrowthRate(request.getGrowthRate() != null ? request.getGrowthRate() : growth);
+        template.setRentalYield(request.getRentalYield() != null ? request.getRentalYield() : yield);
+        return template;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public SimulationResponse simulatePropertyImpact(SimulationRequest request) {
-        Portfolio currentPortfolio = portfolioRepository.findById(request.getPortfolioId())
-                .orElseThrow(() -> new RuntimeException("Portfolio not found"));
+        SimulationResultCache.Key key = simulationCache.keyFor(request);
+        return simulationCache.get(key, () -> evaluateCandidate(loadBaseline(request.getPortfolioId()), request,
+                ProgressListener.NONE));
+    }
 
-        // Create a copy of the current portfolio for simulation
-        Portfolio projectedPortfolio = new Portfolio();
-        projectedPortfolio.setProperties(currentPortfolio.getProperties().stream()
-                .map(this::copyProperty)
-                .collect(java.util.stream.Collectors.toSet()));
+    @Override
+    @Transactional(readOnly = true)
+    public List<SimulationResponse> simulateBatch(List<SimulationRequest> requests) {
+        UUID portfolioId = validateBatch(requests);
+        List<SimulationResultCache.Key> keys = requests.stream().map(simulationCache::keyFor).toList();
+        SimulationResponse[] responses = new SimulationResponse[requests.size()];
+        List<Integer> misses = fillFromCache(keys, responses);
+        if (!misses.isEmpty()) {
+            // Everything that touches the persistence context happens here, on the request thread
+            SimulationBaseline baseline = loadBaseline(portfolioId);
+            evaluateMisses(baseline, requests, keys, responses, misses, ProgressListener.NONE);
+        }
+        return Arrays.asList(responses);
+    }
 
-        // Add the new property to the projected portfolio
-        Property newProperty = convertToEntity(request.getNewProperty());
-        projectedPortfolio.getProperties().add(newProperty);
+    /**
+     * Same as {@link #simulateBatch} but run as a background job. The portfolio is loaded and
+     * cached results are collected before returning, so the job itself never touches the
+     * database; progress counts one unit per simulation plus one per Monte Carlo path.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public JobDTO<List<SimulationResponse>> submitSimulationJob(UUID profileId, List<SimulationRequest> requests) {
+        UUID portfolioId = validateBatch(requests);
+        List<SimulationResultCache.Key> keys = requests.stream().map(simulationCache::keyFor).toList();
+        SimulationResponse[] responses = new SimulationResponse[requests.size()];
+        List<Integer> misses = fillFromCache(keys, responses);
 
-        // Calculate portfolio metrics
-        calculatePortfolioMetrics(projectedPortfolio);
+        long totalUnits = 0;
+        for (int i : misses) {
+            MonteCarloRequest monteCarlo = requests.get(i).getMonteCarlo();
+            totalUnits += 1 + (monteCarlo != null ? toMonteCarloParameters(monteCarlo).getPaths() : 0);
+        }
+        SimulationBaseline baseline = misses.isEmpty() ? null : loadBaseline(portfolioId);
+        return jobService.submit(profileId, "simulation", totalUnits, progress -> {
+            evaluateMisses(baseline, requests, keys, responses, misses, progress);
+            return Arrays.asList(responses);
+        });
+    }
 
-        // Calculate changes
-        BigDecimal monthlyCashFlowChange = projectedPortfolio.getMonthlyCashFlow()
-                .subtract(currentPortfolio.getMonthlyCashFlow());
-        BigDecimal annualReturnChange = projectedPortfolio.getAnnualReturn()
-                .subtract(currentPortfolio.getAnnualReturn());
+    private UUID validateBatch(List<SimulationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("At least one simulation request is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("A batch may contain at most " + MAX_BATCH_SIZE + " simulations");
+        }
+        UUID portfolioId = requests.get(0).getPortfolioId();
+        if (requests.stream().anyMatch(r -> !java.util.Objects.equals(r.getPortfolioId(), portfolioId))) {
+            throw new InvalidRequestException("All simulations in a batch must share one portfolioId");
+        }
+        long cells = 0;
+        for (SimulationRequest request : requests) {
+            if (request.getMonteCarlo() != null) {
+                MonteCarloParameters parameters = toMonteCarloParameters(request.getMonteCarlo());
+                cells += (long) parameters.getPaths() * (parameters.getYears() + 1);
+            }
+        }
+        if (cells > MAX_BATCH_MONTE_CARLO_CELLS) {
+            throw new InvalidRequestException("Monte Carlo paths x (years + 1) must total at most "
+                    + MAX_BATCH_MONTE_CARLO_CELLS + " across a batch");
+        }
+        return portfolioId;
+    }
 
-        return SimulationResponse.builder()
-                .currentPortfolio(convertToDTO(currentPortfolio))
-                .projectedPortfolio(convertToDTO(projectedPortfolio))
+    // Fills in cached responses and returns the indices still to compute
+    private List<Integer> fillFromCache(List<SimulationResultCache.Key> keys, SimulationResponse[] responses) {
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = simulationCache.getIfPresent(keys.get(i));
+            if (responses[i] == null) {
+                misses.add(i);
+            }
+        }
+        return misses;
+    }
+
+    private void evaluateMisses(SimulationBaseline baseline, List<SimulationRequest> requests,
+                                List<SimulationResultCache.Key> keys, SimulationResponse[] responses,
+                                List<Integer> misses, ProgressListener progress) {
+        simulationPool.submit(() -> misses.parallelStream().forEach(i -> {
+            if (progress.isCancelled()) {
+                throw new CancellationException("Simulation cancelled");
+            }
+            responses[i] = evaluateCandidate(baseline, requests.get(i), progress);
+            simulationCache.put(keys.get(i), responses[i]);
+            progress.advance(1);
+        })).join();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SimulationGridResponse simulateGrid(SimulationGridRequest request) {
+        SimulationRequest base = request.getBase();
+        if (base == null || base.getNewProperty() == null) {
+            throw new InvalidRequestException("base.newProperty is required");
+        }
+        Property candidate = convertToEntity(base.getNewProperty());
+        double price = candidate.getPrice() != null ? candidate.getPrice().doubleValue() : 0.0;
+        if (price <= 0) {
+            throw new InvalidRequestException("newProperty.price must be positive");
+        }
+        ProjectionAssumptions assumptions = toAssumptions(base);
+
+        List<BigDecimal> rates = expandAxis(request.getInterestRate(),
+                base.getInterestRate() != null ? base.getInterestRate()
+                        : BigDecimal.valueOf(assumptions.getInterestRate() * 100), "interestRate");
+        requireAxisRange(rates, BigDecimal.ZERO, BigDecimal.valueOf(100), "interestRate");
+        List<BigDecimal> termValues = expandAxis(request.getLoanTerm(),
+                BigDecimal.valueOf(assumptions.getLoanTermYears()), "loanTerm");
+        requireAxisRange(termValues, BigDecimal.ONE, BigDecimal.valueOf(MAX_LOAN_TERM_YEARS), "loanTerm");
+        if (termValues.stream().anyMatch(term -> term.stripTrailingZeros().scale() > 0)) {
+            throw new InvalidRequestException("loanTerm values must be whole years");
+        }
+        List<Integer> terms = termValues.stream().map(BigDecimal::intValueExact).toList();
+        BigDecimal defaultDownPayment = base.getDownPayment() != null
+                ? base.getDownPayment().multiply(BigDecimal.valueOf(100)).divide(candidate.getPrice(), 2, RoundingMode.HALF_EVEN)
+                : BigDecimal.valueOf(assumptions.getDepositRate() * 100);
+        List<BigDecimal> downPayments = expandAxis(request.getDownPaymentPercent(), defaultDownPayment, "downPaymentPercent");
+        requireAxisRange(downPayments, BigDecimal.ZERO, BigDecimal.valueOf(100), "downPaymentPercent");
+        // Without a down payment a simulation borrows the purchase fees along with the price, as
+        // every baseline property does; a given down payment leaves the fees to be paid in cash
+        boolean feesBorrowed = request.getDownPaymentPercent() == null && base.getDownPayment() == null;
+        double borrowedFees = feesBorrowed ? assumptions.getFeesRate() : 0;
+        double paidFees = feesBorrowed ? 0 : assumptions.getFeesRate();
+
+        long cells = (long) rates.size() * terms.size() * downPayments.size();
+        if (cells > MAX_GRID_CELLS) {
+            throw new InvalidRequestException("A grid may contain at most " + MAX_GRID_CELLS + " cells");
+        }
+
+        SimulationBaseline baseline = loadBaseline(base.getPortfolioId());
+        double baselineDebt = baseline.snapshot(assumptions).debtCents() / 100.0;
+        double income = baseline.annualIncome() != null ? baseline.annualIncome().doubleValue() : 0.0;
+
+        // Every grid metric is additive over properties, so each cell only needs the candidate's
+        // own first-year numbers; the baseline contributes its debt to the DTI
+        double operatingYield = PortfolioColumns.percent(candidate.getRentalYield()) * (1 - assumptions.getRentLossRate())
+                - assumptions.getHoldingCostRate();
+        double capitalGrowth = price * PortfolioColumns.percent(candidate.getGrowthRate());
+        double capRate = round2(operatingYield * 100);
+        double[] rateFractions = rates.stream().mapToDouble(PortfolioColumns::percent).toArray();
+        double[] depositFractions = downPayments.stream().mapToDouble(PortfolioColumns::percent).toArray();
+
+        int size = (int) cells;
+        double[] monthlyCashFlowChange = new double[size];
+        double[] annualReturnChange = new double[size];
+        double[] totalValueChange = new double[size];
+        double[] totalDebtChange = new double[size];
+        double[] totalEquityChange = new double[size];
+        double[] cashOnCashReturn = new double[size];
+        double[] capRates = new double[size];
+        double[] debtToIncomeRatio = income > 0 ? new double[size] : null;
+
+        simulationPool.submit(() -> IntStream.range(0, rateFractions.length).parallel().forEach(r -> {
+            for (int t = 0; t < terms.size(); t++) {
+                int term = terms.get(t);
+                for (int d = 0; d < depositFractions.length; d++) {
+                    int cell = (r * terms.size() + t) * depositFractions.length + d;
+                    double debt = price * (1 - depositFractions[d] + borrowedFees);
+                    double cashFlow = price * operatingYield
+                            - ProjectionEngine.firstYearRepayment(debt, rateFractions[r], term, assumptions.isInterestOnly());
+                    double cashInvested = price * (depositFractions[d] + paidFees);
+
+                    monthlyCashFlowChange[cell] = round2(cashFlow / 12);
+                    annualReturnChange[cell] = round2(capitalGrowth + cashFlow);
+                    totalValueChange[cell] = round2(price);
+                    totalDebtChange[cell] = round2(debt);
+                    totalEquityChange[cell] = round2(price - debt);
+                    cashOnCashReturn[cell] = round2(cashFlow / cashInvested * 100);
+                    capRates[cell] = capRate;
+                    if (debtToIncomeRatio != null) {
+                        debtToIncomeRatio[cell] = round2((baselineDebt + debt) / income);
+                    }
+                }
+            }
+        })).join();
+
+        return SimulationGridResponse.builder()
+                .interestRates(rates)
+                .loanTerms(terms)
+                .downPaymentPercents(downPayments)
+                .cells(size)
                 .monthlyCashFlowChange(monthlyCashFlowChange)
                 .annualReturnChange(annualReturnChange)
+                .totalValueChange(totalValueChange)
+                .totalDebtChange(totalDebtChange)
+                .totalEquityChange(totalEquityChange)
+                .cashOnCashReturn(cashOnCashReturn)
+                .capRate(capRates)
+                .debtToIncomeRatio(debtToIncomeRatio)
+                .build();
+    }
+
+    private List<BigDecimal> expandAxis(GridAxis axis, BigDecimal fallback, String name) {
+        if (axis == null) {
+            return List.of(fallback);
+        }
+        if (axis.getValues() != null && !axis.getValues().isEmpty()) {
+            return List.copyOf(axis.getValues());
+        }
+        if (axis.getFrom() == null || axis.getTo() == null || axis.getStep() == null
+                || axis.getStep().signum() <= 0 || axis.getFrom().compareTo(axis.getTo()) > 0) {
+            throw new InvalidRequestException(name + " needs values, or from <= to with a positive step");
+        }
+        List<BigDecimal> values = new ArrayList<>();
+        for (BigDecimal v = axis.getFrom(); v.compareTo(axis.getTo()) <= 0 && values.size() <= MAX_GRID_CELLS; v = v.add(axis.getStep())) {
+            values.add(v);
+        }
+        return values;
+    }
+
+    private static void requireAxisRange(List<BigDecimal> values, BigDecimal min, BigDecimal max, String name) {
+        for (BigDecimal value : values) {
+            if (value == null || value.compareTo(min) < 0 || value.compareTo(max) > 0) {
+                throw new InvalidRequestException(name + " values must be between " + min + " and " + max);
+            }
+        }
+    }
+
+    private static void requirePercent(BigDecimal value, String name) {
+        if (value != null && (value.signum() < 0 || value.compareTo(BigDecimal.valueOf(100)) > 0)) {
+            throw new InvalidRequestException(name + " must be between 0 and 100");
+        }
+    }
+
+    private static void requireNonNegative(BigDecimal value, String name) {
+        if (value != null && value.signum() < 0) {
+            throw new InvalidRequestException(name + " must not be negative");
+        }
+    }
+
+    private static BigDecimal amount(double value) {
+        return toAmount(Money.ofDollars(value));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private SimulationBaseline loadBaseline(UUID portfolioId) {
+        if (portfolioId == null) {
+            throw new InvalidRequestException("portfolioId is required");
+        }
+        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                .orElseThrow(() -> new RuntimeException("Portfolio not found"));
+        // A portfolio without a profile has no owner and no income, so no debt-to-income ratio
+        Profile profile = portfolio.getProfile();
+        return new SimulationBaseline(
+                portfolio.getId(),
+                profile != null ? profile.getId() : null,
+                portfolio.getProperties().stream().map(this::convertToDTO).collect(java.util.stream.Collectors.toUnmodifiableSet()),
+                PortfolioColumns.of(portfolio.getProperties(), ProjectionAssumptions.defaults()),
+                annualIncome(profile),
+                new ConcurrentHashMap<>());
+    }
+
+    private SimulationResponse evaluateCandidate(SimulationBaseline baseline, SimulationRequest request,
+                                                 ProgressListener progress) {
+        if (request.getNewProperty() == null) {
+            throw new InvalidRequestException("newProperty is required");
+        }
+        ProjectionAssumptions assumptions = toAssumptions(request);
+        Property newProperty = convertToEntity(request.getNewProperty());
+        double newDebt = newPropertyDebt(newProperty, request, assumptions);
+
+        // Both sides share the baseline snapshot; adding the candidate only touches the totals
+        PortfolioSnapshot current = baseline.snapshot(assumptions);
+        Holding candidate = Holding.of(newProperty, newDebt, assumptions);
+        PortfolioSnapshot projected = current.plus(candidate);
+
+        PortfolioDTO currentPortfolio = toMetricsDTO(baseline, baseline.properties(), current);
+        Set<PropertyDTO> projectedProperties = new HashSet<>(baseline.properties());
+        projectedProperties.add(request.getNewProperty());
+        PortfolioDTO projectedPortfolio = toMetricsDTO(baseline, projectedProperties, projected);
+
+        return SimulationResponse.builder()
+                .currentPortfolio(currentPortfolio)
+                .projectedPortfolio(projectedPortfolio)
+                .monthlyCashFlowChange(projectedPortfolio.getMonthlyCashFlow().subtract(currentPortfolio.getMonthlyCashFlow()))
+                .annualReturnChange(projectedPortfolio.getAnnualReturn().subtract(currentPortfolio.getAnnualReturn()))
                 .totalValueChange(projectedPortfolio.getTotalValue().subtract(currentPortfolio.getTotalValue()))
                 .totalDebtChange(projectedPortfolio.getTotalDebt().subtract(currentPortfolio.getTotalDebt()))
                 .totalEquityChange(projectedPortfolio.getTotalEquity().subtract(currentPortfolio.getTotalEquity()))
-                .cashOnCashReturn(calculateCashOnCashReturn(newProperty, request))
-                .capRate(calculateCapRate(newProperty))
-                .debtToIncomeRatio(calculateDebtToIncomeRatio(projectedPortfolio))
+                .cashOnCashReturn(calculateCashOnCashReturn(candidate, assumptions))
+                .capRate(calculateCapRate(newProperty, assumptions))
+                .debtToIncomeRatio(calculateDebtToIncomeRatio(projectedPortfolio.getTotalDebt(), baseline.annualIncome()))
+                .monteCarlo(request.getMonteCarlo() != null
+                        ? runMonteCarlo(projected.toColumns(), assumptions, request.getMonteCarlo(), progress)
+                        : null)
+                .sensitivity(request.getSensitivity() != null
+                        ? sensitivity(projected, request, assumptions)
+                        : null)
+                .build();
+    }
+
+    /**
+     * Partials of the projected portfolio's outcomes, per percentage point of each rate and per
+     * $1,000 of the new property's price. Vacancy and management both come off the rent kept, so
+     * they move the outcomes identically.
+     */
+    private SensitivityDTO sensitivity(PortfolioSnapshot projected, SimulationRequest request,
+                                       ProjectionAssumptions assumptions) {
+        SensitivityRequest options = request.getSensitivity();
+        int years = options.getYears() != null ? options.getYears() : 10;
+        if (years < 1 || years > MAX_SENSITIVITY_YEARS) {
+            throw new InvalidRequestException("sensitivity.years must be between 1 and " + MAX_SENSITIVITY_YEARS);
+        }
+        // The candidate was added last; a fixed down payment leaves every extra dollar of price borrowed
+        PortfolioColumns columns = projected.toColumns();
+        double debtPerPrice = request.getDownPayment() != null ? 1 : assumptions.initialDebt(1);
+        SensitivityEngine.Result result = SensitivityEngine.analyse(columns, columns.size() - 1, debtPerPrice,
+                assumptions, years);
+
+        return SensitivityDTO.builder()
+                .years(years)
+                .inputs(List.of(
+                        inputSensitivity("interestRate", result, SensitivityEngine.Input.INTEREST_RATE, 0.01),
+                        inputSensitivity("vacancyRate", result, SensitivityEngine.Input.RENT_LOSS_RATE, 0.01),
+                        inputSensitivity("managementRate", result, SensitivityEngine.Input.RENT_LOSS_RATE, 0.01),
+                        inputSensitivity("growthRate", result, SensitivityEngine.Input.GROWTH_RATE, 0.01),
+                        inputSensitivity("price", result, SensitivityEngine.Input.PRICE, 1_000)))
+                .build();
+    }
+
+    private InputSensitivityDTO inputSensitivity(String name, SensitivityEngine.Result result,
+                                                 SensitivityEngine.Input input, double unit) {
+        return InputSensitivityDTO.builder()
+                .input(name)
+                .monthlyCashFlow(amount(result.annualCashFlow(input) * unit / 12))
+                .capRate(BigDecimal.valueOf(result.capRate(input) * unit * 100).setScale(4, RoundingMode.HALF_EVEN))
+                .equity(amount(result.equity(input) * unit))
                 .build();
     }
 
-    private void calculatePortfolioMetrics(Portfolio portfolio) {
-        // TODO: Redefine metrics based on new property fields
-        portfolio.setTotalValue(BigDecimal.ZERO);
-        portfolio.setTotalDebt(BigDecimal.ZERO);
-        portfolio.setTotalEquity(BigDecimal.ZERO);
-        portfolio.setMonthlyCashFlow(BigDecimal.ZERO);
-        portfolio.setAnnualReturn(BigDecimal.ZERO);
+    /**
+     * What an existing portfolio looks like before any candidate is added. Built once per
+     * request (or batch) and shared between candidate evaluations; snapshots are built once per
+     * distinct set of assumptions the candidates ask for.
+     */
+    private record SimulationBaseline(UUID portfolioId, UUID userId, Set<PropertyDTO> properties,
+                                      PortfolioColumns columns, BigDecimal annualIncome,
+                                      Map<ProjectionAssumptions, PortfolioSnapshot> snapshots) {
+
+        PortfolioSnapshot snapshot(ProjectionAssumptions assumptions) {
+            return snapshots.computeIfAbsent(assumptions, a -> PortfolioSnapshot.of(columns, a));
+        }
+    }
+
+    private MonteCarloResultDTO runMonteCarlo(PortfolioColumns columns, ProjectionAssumptions assumptions,
+                                              MonteCarloRequest options, ProgressListener progress) {
+        MonteCarloParameters parameters = toMonteCarloParameters(options);
+        MonteCarloResult result = MonteCarloEngine.run(columns, assumptions, parameters, simulationPool, progress);
+
+        List<MonteCarloBandDTO> bands = new ArrayList<>(result.years() + 1);
+        for (int year = 0; year <= result.years(); year++) {
+            bands.add(MonteCarloBandDTO.builder()
+                    .year(year)
+                    .equityP5(toAmount(result.equityCents(0, year)))
+                    .equityP50(toAmount(result.equityCents(1, year)))
+                    .equityP95(toAmount(result.equityCents(2, year)))
+                    .cashFlowP5(toAmount(result.cashFlowCents(0, year)))
+                    .cashFlowP50(toAmount(result.cashFlowCents(1, year)))
+                    .cashFlowP95(toAmount(result.cashFlowCents(2, year)))
+                    .build());
+        }
+        return MonteCarloResultDTO.builder()
+                .seed(result.seed())
+                .paths(result.paths())
+                .years(result.years())
+                .bands(bands)
+                .build();
+    }
+
+    private MonteCarloParameters toMonteCarloParameters(MonteCarloRequest options) {
+        MonteCarloParameters.MonteCarloParametersBuilder parameters = MonteCarloParameters.builder()
+                .seed(options.getSeed() != null ? options.getSeed() : ThreadLocalRandom.current().nextLong());
+        if (options.getPaths() != null) {
+            if (options.getPaths() < 1 || options.getPaths() > MAX_MONTE_CARLO_PATHS) {
+                throw new InvalidRequestException("paths must be between 1 and " + MAX_MONTE_CARLO_PATHS);
+            }
+            parameters.paths(options.getPaths());
+        }
+        if (options.getYears() != null) {
+            if (options.getYears() < 1 || options.getYears() > MAX_MONTE_CARLO_YEARS) {
+                throw new InvalidRequestException("years must be between 1 and " + MAX_MONTE_CARLO_YEARS);
+            }
+            parameters.years(options.getYears());
+        }
+        if (options.getGrowthVolatility() != null) {
+            parameters.growthVolatility(PortfolioColumns.percent(options.getGrowthVolatility()));
+        }
+        if (options.getRateVolatility() != null) {
+            parameters.rateVolatility(PortfolioColumns.percent(options.getRateVolatility()));
+        }
+        if (options.getPropertyCorrelation() != null) {
+            parameters.propertyCorrelation(correlation(options.getPropertyCorrelation(), 0, "propertyCorrelation"));
+        }
+        if (options.getRateGrowthCorrelation() != null) {
+            parameters.rateGrowthCorrelation(correlation(options.getRateGrowthCorrelation(), -100, "rateGrowthCorrelation"));
+        }
+        return parameters.build();
+    }
+
+    private double correlation(BigDecimal percent, int min, String name) {
+        double value = PortfolioColumns.percent(percent);
+        if (value < min / 100.0 || value > 1) {
+            throw new InvalidRequestException(name + " must be between " + min + " and 100");
+        }
+        return value;
+    }
+
+    private PortfolioDTO toMetricsDTO(SimulationBaseline baseline, Set<PropertyDTO> properties,
+                                      PortfolioSnapshot snapshot) {
+        return PortfolioDTO.builder()
+                .id(baseline.portfolioId())
+                .userId(baseline.userId())
+                .properties(properties)
+                .totalValue(toAmount(snapshot.valueCents()))
+                .totalDebt(toAmount(snapshot.debtCents()))
+                .totalEquity(toAmount(snapshot.equityCents()))
+                .monthlyCashFlow(snapshot.monthlyCashFlow())
+                .annualReturn(toAmount(snapshot.annualReturnCents()))
+                .build();
+    }
+
+    private ProjectionAssumptions toAssumptions(SimulationRequest request) {
+        ProjectionAssumptions.ProjectionAssumptionsBuilder assumptions = ProjectionAssumptions.builder()
+                .rentLossRate(PortfolioColumns.percent(request.getVacancyRate())
+                        + PortfolioColumns.percent(request.getManagementRate()))
+                .holdingCostRate(PortfolioColumns.percent(request.getPropertyTaxRate())
+                        + PortfolioColumns.percent(request.getInsuranceRate())
+                        + PortfolioColumns.percent(request.getMaintenanceRate()));
+        if (request.getInterestRate() != null) {
+            if (request.getInterestRate().signum() < 0 || request.getInterestRate().compareTo(BigDecimal.valueOf(100)) > 0) {
+                throw new InvalidRequestException("interestRate must be between 0 and 100");
+            }
+            assumptions.interestRate(PortfolioColumns.percent(request.getInterestRate()));
+        }
+        if (request.getLoanTerm() != null) {
+            if (request.getLoanTerm() < 1 || request.getLoanTerm() > MAX_LOAN_TERM_YEARS) {
+                throw new InvalidRequestException("loanTerm must be between 1 and " + MAX_LOAN_TERM_YEARS);
+            }
+            assumptions.loanTermYears(request.getLoanTerm());
+        }
+        return assumptions.build();
+    }
+
+    private double newPropertyDebt(Property property, SimulationRequest request, ProjectionAssumptions assumptions) {
+        double price = property.getPrice() != null ? property.getPrice().doubleValue() : 0.0;
+        if (request.getDownPayment() == null) {
+            return assumptions.initialDebt(price);
+        }
+        return Math.max(0, price - request.getDownPayment().doubleValue());
+    }
+
+    private BigDecimal calculateCashOnCashReturn(Holding candidate, ProjectionAssumptions assumptions) {
+        // First-year net cash flow over the cash put in: the deposit plus purchase fees
+        double price = candidate.valueCents() / 100.0;
+        double cashInvested = price - candidate.debtCents() / 100.0 + price * assumptions.getFeesRate();
+        if (cashInvested <= 0) {
+            return null;
+        }
+        return percentage(candidate.cashFlowCents() / 100.0 / cashInvested);
     }
 
-    private BigDecimal calculateAnnualReturn(Portfolio portfolio) {
-        // TODO: Redefine annual return calculation based on new property fields
-        return BigDecimal.ZERO;
+    private BigDecimal calculateCapRate(Property property, ProjectionAssumptions assumptions) {
+        // Net operating income (rent after vacancy, management and holding costs) over price
+        if (property.getRentalYield() == null) {
+            return null;
+        }
+        double grossYield = PortfolioColumns.percent(property.getRentalYield());
+        return percentage(grossYield * (1 - assumptions.getRentLossRate()) - assumptions.getHoldingCostRate());
     }
 
-    private BigDecimal calculateCashOnCashReturn(Property property, SimulationRequest request) {
-        // TODO: Redefine cash on cash return calculation based on new property fields
-        return BigDecimal.ZERO;
+    private BigDecimal calculateDebtToIncomeRatio(BigDecimal totalDebt, BigDecimal annualIncome) {
+        if (annualIncome == null || annualIncome.signum() <= 0) {
+            return null;
+        }
+        return totalDebt.divide(annualIncome, 2, RoundingMode.HALF_EVEN);
     }
 
-    private BigDecimal calculateCapRate(Property property) {
-        // TODO: Redefine cap rate calculation based on new property fields
-        return BigDecimal.ZERO;
+    private BigDecimal annualIncome(Profile profile) {
+        if (profile == null) {
+            return null;
+        }
+        BigDecimal income = nullToZero(profile.getGrossIncome()).add(nullToZero(profile.getNonTaxableIncome()));
+        if (Boolean.TRUE.equals(profile.getAssessWithPartner())) {
+            income = income.add(nullToZero(profile.getPartnerIncome()))
+                    .add(nullToZero(profile.getPartnerNonTaxableIncome()));
+        }
+        return income;
     }
 
-    private BigDecimal calculateDebtToIncomeRatio(Portfolio portfolio) {
-        // TODO: Redefine debt to income ratio calculation based on new property fields
-        return BigDecimal.ZERO;
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 
-    private Property copyProperty(Property original) {
-        Property copy = new Property();
-        copy.setName(original.getName());
-        copy.setStreet(original.getStreet());
-        copy.setSuburb(original.getSuburb());
-        copy.setState(original.getState());
-        copy.setPostcode(original.getPostcode());
-        copy.setDescription(original.getDescription());
-        copy.setPrice(original.getPrice());
-        copy.setBeds(original.getBeds());
-        copy.setBaths(original.getBaths());
-        copy.setArea(original.getArea());
-        copy.setGrowthRate(original.getGrowthRate());
-        copy.setRentalYield(original.getRentalYield());
-        copy.setImageUrl(original.getImageUrl());
-        copy.setFeatures(original.getFeatures());
-        return copy;
+    private static BigDecimal percentage(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(2, RoundingMode.HALF_EVEN);
     }
 
     private PortfolioDTO convertToDTO(Portfolio portfolio) {
         return PortfolioDTO.builder()
                 .id(portfolio.getId())
-                .userId(portfolio.getProfile().getId())
+                .userId(portfolio.getProfile() != null ? portfolio.getProfile().getId() : null)
                 .properties(portfolio.getProperties().stream()
                         .map(this::convertToDTO)
                         .collect(java.util.stream.Collectors.toSet()))
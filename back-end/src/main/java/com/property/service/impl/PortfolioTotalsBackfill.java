@@ -0,0 +1,92 @@
+package com.property.service.impl;
+
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.PortfolioSnapshot;
+import com.property.engine.ProjectionAssumptions;
+import com.property.entity.Portfolio;
+import com.property.repository.PortfolioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the stored totals of portfolios that held properties before the totals were kept
+ * up to date, a batch at a time in the background once the application is up. Until a
+ * portfolio's turn comes, adding or removing one of its properties recomputes its totals in
+ * full rather than moving them by that property alone.
+ */
+@Slf4j
+@Component
+public class PortfolioTotalsBackfill {
+
+    private final PortfolioRepository portfolioRepository;
+    private final TaskExecutor backgroundExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PortfolioTotalsBackfill(PortfolioRepository portfolioRepository,
+                                   TaskExecutor backgroundExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${portfolio.totals-backfill-batch-size:200}") int batchSize) {
+        this.portfolioRepository = portfolioRepository;
+        this.backgroundExecutor = backgroundExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        backgroundExecutor.execute(this::backfill);
+    }
+
+    void backfill() {
+        long total = 0;
+        try {
+            int recomputed;
+            do {
+                recomputed = recomputeBatch();
+                total += recomputed;
+            } while (recomputed == batchSize);
+        } catch (RuntimeException e) {
+            // The rest are recomputed on the next start, or as their properties change
+            log.warn("Could not recompute stored portfolio totals", e);
+        }
+        if (total > 0) {
+            log.info("Recomputed stored totals for {} portfolios", total);
+        }
+    }
+
+    int recomputeBatch() {
+        Integer recomputed = transactionTemplate.execute(status -> {
+            List<Portfolio> batch = portfolioRepository.findByTotalsComputedFalse(Limit.of(batchSize));
+            batch.forEach(PortfolioTotalsBackfill::recompute);
+            return batch.size();
+        });
+        return recomputed != null ? recomputed : 0;
+    }
+
+    /**
+     * Sets the portfolio's stored totals from its properties, on the same basis as adding each
+     * property one at a time.
+     */
+    static void recompute(Portfolio portfolio) {
+        ProjectionAssumptions assumptions = ProjectionAssumptions.defaults();
+        PortfolioSnapshot snapshot = PortfolioSnapshot.of(
+                PortfolioColumns.of(portfolio.getProperties(), assumptions), assumptions);
+        portfolio.setTotalValue(Money.toAmount(snapshot.valueCents()));
+        portfolio.setTotalDebt(Money.toAmount(snapshot.debtCents()));
+        portfolio.setTotalEquity(Money.toAmount(snapshot.equityCents()));
+        portfolio.setMonthlyCashFlow(snapshot.monthlyCashFlow());
+        portfolio.setAnnualReturn(Money.toAmount(snapshot.annualReturnCents()));
+        portfolio.setTotalsComputed(true);
+    }
+}
@@ -0,0 +1,421 @@
+package com.property.service.impl;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.property.dto.ImportErrorDTO;
+import com.property.dto.ImportReportDTO;
+import com.property.entity.Asset;
+import com.property.entity.Liability;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.repository.AssetRepository;
+import com.property.repository.LiabilityRepository;
+import com.property.repository.ProfileRepository;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.ProfileImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Imports a broker's file of profiles, assets and liabilities. The file is read a row at a time
+ * and each row is checked as it is read; rows that pass are saved a batch at a time, each batch
+ * in one transaction that reads the batch's existing profiles in one query and writes its new
+ * rows as JDBC batches. Only the batch being built and the first errors are kept, so memory does
+ * not grow with the file.
+ *
+ * A row's {@code record} column says what it is: {@code profile} (the default), {@code asset} or
+ * {@code liability}. Every row names its profile by {@code email}. A profile row creates the
+ * profile, without credentials as a lead does, or updates the one with that email; only the
+ * columns given a value are changed. Asset and liability rows are added to their profile, which
+ * must already exist or come ahead of them in the file. Column names are the fields of the
+ * profile, asset and liability JSON, matched ignoring case, spaces and underscores.
+ */
+@Slf4j
+@Service
+public class ProfileImportServiceImpl implements ProfileImportService {
+
+    private static final String RECORD = "record";
+    private static final String EMAIL = "email";
+
+    private enum Record {
+        PROFILE(Profile::new, null,
+                "firstName", "lastName", "phone", "dateOfBirth", "address",
+                "occupation", "employer", "employmentLength", "employmentType", "onProbation",
+                "grossIncome", "nonTaxableIncome", "assessWithPartner",
+                "partnerFirstName", "partnerLastName", "partnerDob", "partnerMobile", "partnerAddress",
+                "partnerEmail", "partnerOccupation", "partnerEmployer", "partnerEmploymentLength",
+                "partnerEmploymentType", "partnerOnProbation", "partnerIncome", "partnerNonTaxableIncome",
+                "isRenting", "rentPerWeek", "monthlyLivingExpenses", "residenceHistory",
+                "dependants", "dependantsAgeRanges", "retirementPassiveIncomeGoal", "desiredRetirementAge",
+                "existingLoans", "maritalStatus"),
+        ASSET(Asset::new, "assetType",
+                "assetType", "currentValue", "originalPrice", "yearPurchased", "ownershipPercentage",
+                "incomeAmount", "incomeFrequency", "description"),
+        LIABILITY(Liability::new, "liabilityType",
+                "liabilityType", "isPrimaryResidence", "loanBalance", "limitAmount", "lenderType",
+                "interestRate", "termType", "repaymentAmount", "repaymentFrequency", "loanType",
+                "description");
+
+        private final Supplier<Object> entity;
+        private final String required;
+        // Field names by their normalised form
+        private final Map<String, String> columns = new HashMap<>();
+
+        Record(Supplier<Object> entity, String required, String... columns) {
+            this.entity = entity;
+            this.required = required;
+            for (String column : columns) {
+                this.columns.put(normalise(column), column);
+            }
+        }
+    }
+
+    // A row that has been checked, with its fields applied to a new entity
+    private record Pending(long line, String email, Record record, ObjectNode fields, Object entity) {
+    }
+
+    private final ProfileRepository profileRepository;
+    private final AssetRepository assetRepository;
+    private final LiabilityRepository liabilityRepository;
+    private final BorrowingCapacityService borrowingCapacityService;
+    private final SimulationResultCache simulationCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProfileImportServiceImpl(ProfileRepository profileRepository,
+                                    AssetRepository assetRepository,
+                                    LiabilityRepository liabilityRepository,
+                                    BorrowingCapacityService borrowingCapacityService,
+                                    SimulationResultCache simulationCache,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${profile-import.batch-size:500}") int batchSize,
+                                    @Value("${profile-import.max-errors:1000}") int maxErrors) {
+        this.profileRepository = profileRepository;
+        this.assetRepository = assetRepository;
+        this.liabilityRepository = liabilityRepository;
+        this.borrowingCapacityService = borrowingCapacityService;
+        this.simulationCache = simulationCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ImportReportDTO importProfiles(InputStream in, Format format) {
+        Tally tally = new Tally(maxErrors);
+        try {
+            ImportRows rows = format == Format.CSV ? ImportRows.csv(in) : ImportRows.ndjson(in, objectMapper);
+            if (rows.header() != null) {
+                checkHeader(rows.header());
+            }
+            List<Pending> batch = new ArrayList<>(batchSize);
+            for (ImportRows.Row row = rows.next(); row != null; row = rows.next()) {
+                tally.rows++;
+                Pending pending = check(row, tally);
+                if (pending != null) {
+                    batch.add(pending);
+                    if (batch.size() == batchSize) {
+                        save(batch, tally);
+                        batch.clear();
+                    }
+                }
+            }
+            save(batch, tally);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tally.report();
+    }
+
+    // A bad header would fail every row, so the whole file is turned away before anything is saved
+    private static void checkHeader(List<String> header) {
+        Set<String> seen = new HashSet<>();
+        for (String name : header) {
+            String column = normalise(name);
+            if (!seen.add(column)) {
+                throw new InvalidRequestException("Column " + name + " appears more than once");
+            }
+            if (!column.equals(RECORD) && !column.equals(EMAIL)
+                    && Record.PROFILE.columns.get(column) == null
+                    && Record.ASSET.columns.get(column) == null
+                    && Record.LIABILITY.columns.get(column) == null) {
+                throw new InvalidRequestException("Unknown column " + name);
+            }
+        }
+        if (!seen.contains(EMAIL)) {
+            throw new InvalidRequestException("The file needs an email column");
+        }
+    }
+
+    /**
+     * Works out what the row is and applies it to a new entity of that kind, which is kept for
+     * saving. Returns null, having noted why, if the row cannot be imported.
+     */
+    private Pending check(ImportRows.Row row, Tally tally) {
+        if (row.error() != null) {
+            tally.fail(row.line(), null, null, row.error());
+            return null;
+        }
+        String email = null;
+        String recordName = null;
+        Map<String, JsonNode> given = new HashMap<>();
+        // As the file names them, for the report
+        Map<String, String> names = new HashMap<>();
+        var values = row.values().fields();
+        while (values.hasNext()) {
+            var value = values.next();
+            String column = normalise(value.getKey());
+            if (column.equals(EMAIL)) {
+                // A JSON object or array would otherwise read as an empty string
+                email = value.getValue().isValueNode() ? value.getValue().asText().trim() : "";
+            } else if (column.equals(RECORD)) {
+                recordName = value.getValue().asText();
+            } else {
+                given.put(column, value.getValue());
+                names.put(column, value.getKey());
+            }
+        }
+        if (email == null || email.isEmpty()) {
+            tally.fail(row.line(), null, EMAIL, "Every row needs an email");
+            return null;
+        }
+        Record record;
+        try {
+            record = recordName == null ? Record.PROFILE : Record.valueOf(recordName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            tally.fail(row.line(), email, RECORD, "Record must be profile, asset or liability");
+            return null;
+        }
+
+        ObjectNode fields = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> value : given.entrySet()) {
+            String field = record.columns.get(value.getKey());
+            if (field == null) {
+                tally.fail(row.line(), email, names.get(value.getKey()), "Not a column of " + record.name().toLowerCase(Locale.ROOT) + " rows");
+                return null;
+            }
+            fields.set(field, value.getValue());
+        }
+        if (record.required != null && !fields.has(record.required)) {
+            tally.fail(row.line(), email, record.required, "Every " + record.name().toLowerCase(Locale.ROOT) + " row needs a " + record.required);
+            return null;
+        }
+        Object entity = record.entity.get();
+        try {
+            objectMapper.updateValue(entity, fields);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            tally.fail(row.line(), email, field != null ? names.get(normalise(field)) : null,
+                    unreadable(e, field != null ? fields.get(field) : null));
+            return null;
+        }
+        return new Pending(row.line(), email, record, fields, entity);
+    }
+
+    private static String unreadable(JsonMappingException e, JsonNode value) {
+        Class<?> type = e instanceof MismatchedInputException mismatch ? mismatch.getTargetType() : null;
+        String expected;
+        if (type == Boolean.class || type == boolean.class) {
+            expected = "true or false";
+        } else if (type == Integer.class || type == int.class) {
+            expected = "a whole number";
+        } else if (type == BigDecimal.class) {
+            expected = "a number";
+        } else if (type == LocalDate.class) {
+            expected = "a date as YYYY-MM-DD";
+        } else if (type == Year.class) {
+            expected = "a year";
+        } else {
+            return "Cannot read this value";
+        }
+        return "Expected " + expected + (value != null ? " but got " + value : "");
+    }
+
+    /**
+     * Saves a batch in one transaction: profile rows first, so that asset and liability rows can
+     * find profiles created by the same batch. If the transaction fails, every row in the batch
+     * is reported as not imported.
+     */
+    private void save(List<Pending> batch, Tally tally) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Tally saved = new Tally(maxErrors);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> emails = new HashSet<>();
+                batch.forEach(row -> emails.add(row.email()));
+                Map<String, Profile> profiles = new HashMap<>();
+                profileRepository.findByEmailIn(emails).forEach(profile -> profiles.put(profile.getEmail(), profile));
+
+                List<Profile> created = new ArrayList<>();
+                Set<UUID> changed = new HashSet<>();
+                for (Pending row : batch) {
+                    if (row.record() != Record.PROFILE) {
+                        continue;
+                    }
+                    Profile profile = profiles.get(row.email());
+                    if (profile == null) {
+                        profile = (Profile) row.entity();
+                        profile.setEmail(row.email());
+                        profile.setRole(UserRole.CLIENT);
+                        profiles.put(row.email(), profile);
+                        created.add(profile);
+                    } else {
+                        apply(profile, row.fields());
+                        if (profile.getId() != null && changed.add(profile.getId())) {
+                            saved.profilesUpdated++;
+                        }
+                    }
+                    saved.imported++;
+                }
+
+                List<Asset> assets = new ArrayList<>();
+                List<Liability> liabilities = new ArrayList<>();
+                for (Pending row : batch) {
+                    if (row.record() == Record.PROFILE) {
+                        continue;
+                    }
+                    Profile profile = profiles.get(row.email());
+                    if (profile == null) {
+                        saved.fail(row.line(), row.email(), EMAIL, "No profile with this email; add a profile row for it first");
+                        continue;
+                    }
+                    if (profile.getId() != null) {
+                        changed.add(profile.getId());
+                    }
+                    if (row.entity() instanceof Asset asset) {
+                        asset.setProfile(profile);
+                        assets.add(asset);
+                    } else if (row.entity() instanceof Liability liability) {
+                        liability.setProfile(profile);
+                        liabilities.add(liability);
+                    }
+                    saved.imported++;
+                }
+
+                profileRepository.saveAll(created);
+                assetRepository.saveAll(assets);
+                liabilityRepository.saveAll(liabilities);
+                changed.forEach(borrowingCapacityService::invalidate);
+                simulationCache.invalidateProfiles(changed);
+                saved.profilesCreated += created.size();
+                saved.assetsAdded += assets.size();
+                saved.liabilitiesAdded += liabilities.size();
+            });
+        } catch (RuntimeException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Could not save a batch of {} imported rows", batch.size(), e);
+            for (Pending row : batch) {
+                tally.fail(row.line(), row.email(), null, "Not saved, as the batch it was in failed: " + cause);
+            }
+            return;
+        }
+        tally.add(saved);
+    }
+
+    // Already checked against a new entity, so cannot fail here
+    private void apply(Profile profile, ObjectNode fields) {
+        try {
+            objectMapper.updateValue(profile, fields);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalise(String column) {
+        StringBuilder normalised = new StringBuilder(column.length());
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c != '_' && c != ' ' && c != '-') {
+                normalised.append(Character.toLowerCase(c));
+            }
+        }
+        return normalised.toString();
+    }
+
+    private static final class Tally {
+
+        private final int maxErrors;
+        private long rows;
+        private long imported;
+        private long failed;
+        private long profilesCreated;
+        private long profilesUpdated;
+        private long assetsAdded;
+        private long liabilitiesAdded;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String email, String column, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(ImportErrorDTO.builder()
+                        .line(line)
+                        .email(email)
+                        .column(column)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        // Folds in what a saved batch did
+        void add(Tally batch) {
+            imported += batch.imported;
+            profilesCreated += batch.profilesCreated;
+            profilesUpdated += batch.profilesUpdated;
+            assetsAdded += batch.assetsAdded;
+            liabilitiesAdded += batch.liabilitiesAdded;
+            failed += batch.failed;
+            for (ImportErrorDTO error : batch.errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        ImportReportDTO report() {
+            return ImportReportDTO.builder()
+                    .rows(rows)
+                    .imported(imported)
+                    .failed(failed)
+                    .profilesCreated(profilesCreated)
+                    .profilesUpdated(profilesUpdated)
+                    .assetsAdded(assetsAdded)
+                    .liabilitiesAdded(liabilitiesAdded)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -1,34 +1,47 @@
 package com.property.service.impl;
 
-import com.property.dto.MortgageLeadDto;
-import com.property.dto.BorrowingLeadDto;
 import com.property.dto.ProfileDetailsDto;
 import com.property.dto.ProfileDto;
+import com.property.dto.PageDTO;
+import com.property.dto.ProfilePageRequest;
+import com.property.entity.Asset;
+import com.property.entity.Liability;
 import com.property.entity.Profile;
-import com.property.entity.UserRole;
 import com.property.repository.AssetRepository;
 import com.property.repository.LiabilityRepository;
 import com.property.repository.ProfileRepository;
-import com.property.service.AssetService;
-import com.property.service.LiabilityService;
+import com.property.repository.ProfileView;
+import com.property.service.BorrowingCapacityService;
 import com.property.service.ProfileService;
 import com.property.dto.AssetDTO;
 import com.property.dto.LiabilityDTO;
 import com.property.dto.PortfolioDTO;
 import com.property.service.PortfolioService;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class ProfileServiceImpl implements ProfileService {
 
+    // Views an already loaded profile through the same getters as the projection queries
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private static final KeysetPaging<Profile> NEWEST = new KeysetPaging<>("NEWEST", "createdAt",
+            Sort.Direction.DESC, OffsetDateTime::parse, Profile::getCreatedAt, Profile::getId);
+
     @Autowired
     private ProfileRepository profileRepository;
     
@@ -39,13 +52,13 @@ public class ProfileServiceImpl implements ProfileService {
     private LiabilityRepository liabilityRepository;
     
     @Autowired
-    private AssetService assetService;
+    private BorrowingCapacityService borrowingCapacityService;
     
     @Autowired
-    private LiabilityService liabilityService;
-    
+    private PropertyCatalog propertyCatalog;
+
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private SimulationResultCache simulationCache;
 
     private Profile getProfileEntity(UUID id) {
         return profileRepository.findByIdWithPortfolios(id)
@@ -54,13 +67,38 @@ public class ProfileServiceImpl implements ProfileService {
 
     @Override
     public ProfileDto getProfile(UUID id) {
-        Profile profile = getProfileEntity(id);
-        return toDto(profile);
+        return profileRepository.findViewById(id)
+                .map(this::toDto)
+                .orElseThrow(() -> new RuntimeException("Profile not found with id: " + id));
     }
 
     @Override
     public List<ProfileDto> getAllProfiles() {
-        return profileRepository.findAll().stream().map(this::toDto).toList();
+        // One query for the listed columns, rather than hydrating every profile entity
+        return profileRepository.findAllViews().stream().map(this::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<ProfileDto> getProfilePage(ProfilePageRequest request) {
+        int limit = KeysetPaging.limit(request.getLimit());
+        Specification<Profile> filter = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (request.getRole() != null) {
+                predicates.add(cb.equal(root.get("role"), request.getRole()));
+            }
+            if (request.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), request.getCreatedFrom()));
+            }
+            if (request.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), request.getCreatedTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+        // Only the listed columns are read, never the password hash
+        List<ProfileView> rows = profileRepository.findViews(filter.and(NEWEST.after(request.getCursor())),
+                NEWEST.sort(), limit + 1);
+        return NEWEST.page(rows, limit, ProfileView::getCreatedAt, ProfileView::getId, this::toDto);
     }
 
     @Override
@@ -68,51 +106,101 @@ public class ProfileServiceImpl implements ProfileService {
         Profile existingProfile = getProfileEntity(id);
         // Update fields that are allowed to be modified
         updateProfileFields(existingProfile, profile);
-        return profileRepository.save(existingProfile);
+        Profile saved = profileRepository.save(existingProfile);
+        borrowingCapacityService.invalidate(id);
+        simulationCache.invalidateProfiles(List.of(id));
+        return saved;
     }
 
     @Override
     public void deleteProfile(UUID id) {
+        // Looked up before the portfolios go
+        simulationCache.invalidateProfiles(List.of(id));
         profileRepository.deleteById(id);
+        borrowingCapacityService.evict(id);
+        // Properties in the profile's portfolios go with it by cascade
+        propertyCatalog.invalidate();
     }
     
     @Override
     public ProfileDetailsDto getProfileDetails(UUID id) {
         Profile profile = getProfileEntity(id);
-        List<AssetDTO> assetDTOs = assetRepository.findByProfileId(id).stream().map(this::toAssetDTO).toList();
-        List<LiabilityDTO> liabilityDTOs = liabilityRepository.findByProfileId(id).stream().map(this::toLiabilityDTO).toList();
-        List<PortfolioDTO> portfolioDTOs = profile.getPortfolios() != null ?
-            profile.getPortfolios().stream().map(this::toPortfolioDTO).toList() : List.of();
-        return ProfileDetailsDto.builder()
-                .profile(toDto(profile))
-                .assets(assetDTOs)
-                .liabilities(liabilityDTOs)
-                .portfolios(portfolioDTOs)
-                .build();
+        return toDetailsDto(profile, assetRepository.findByProfileId(id), liabilityRepository.findByProfileId(id));
     }
     
     @Override
     @Transactional
     public ProfileDetailsDto updateProfileDetails(UUID id, ProfileDetailsDto profileDetails) {
-        // Update profile
+        // Only managed entities are changed here; Hibernate flushes them at commit as batched
+        // statements for just the rows that differ from what is stored
         Profile existingProfile = getProfileEntity(id);
         updateProfileFields(existingProfile, toProfileEntity(profileDetails.getProfile()));
-        profileRepository.save(existingProfile);
-        
-        // Delete and recreate assets
-        assetRepository.deleteByProfileId(id);
-        if (profileDetails.getAssets() != null && !profileDetails.getAssets().isEmpty()) {
-            profileDetails.getAssets().forEach(assetDto -> assetService.createAsset(id, toAssetEntity(assetDto)));
+        List<Asset> assets = syncAssets(existingProfile, profileDetails.getAssets());
+        List<Liability> liabilities = syncLiabilities(existingProfile, profileDetails.getLiabilities());
+        borrowingCapacityService.invalidate(id);
+        simulationCache.invalidateProfiles(List.of(id));
+        return toDetailsDto(existingProfile, assets, liabilities);
+    }
+
+    /**
+     * Brings the profile's stored assets in line with the submitted ones, matched by id: a
+     * submitted asset with a stored id updates it in place, any other is inserted, and stored
+     * assets not submitted are deleted. Returns the assets in submitted order.
+     */
+    private List<Asset> syncAssets(Profile profile, List<AssetDTO> submitted) {
+        Map<UUID, Asset> stored = new HashMap<>();
+        assetRepository.findByProfileId(profile.getId()).forEach(asset -> stored.put(asset.getId(), asset));
+        List<Asset> assets = new ArrayList<>();
+        List<Asset> added = new ArrayList<>();
+        if (submitted != null) {
+            for (AssetDTO dto : submitted) {
+                Asset asset = dto.getId() != null ? stored.remove(dto.getId()) : null;
+                if (asset == null) {
+                    asset = new Asset();
+                    asset.setProfile(profile);
+                    added.add(asset);
+                }
+                updateAssetFields(asset, dto);
+                assets.add(asset);
+            }
         }
-        
-        // Delete and recreate liabilities
-        liabilityRepository.deleteByProfileId(id);
-        if (profileDetails.getLiabilities() != null && !profileDetails.getLiabilities().isEmpty()) {
-            profileDetails.getLiabilities().forEach(liabilityDto -> liabilityService.createLiability(id, toLiabilityEntity(liabilityDto)));
+        assetRepository.deleteAll(stored.values());
+        assetRepository.saveAll(added);
+        return assets;
+    }
+
+    // As syncAssets
+    private List<Liability> syncLiabilities(Profile profile, List<LiabilityDTO> submitted) {
+        Map<UUID, Liability> stored = new HashMap<>();
+        liabilityRepository.findByProfileId(profile.getId()).forEach(liability -> stored.put(liability.getId(), liability));
+        List<Liability> liabilities = new ArrayList<>();
+        List<Liability> added = new ArrayList<>();
+        if (submitted != null) {
+            for (LiabilityDTO dto : submitted) {
+                Liability liability = dto.getId() != null ? stored.remove(dto.getId()) : null;
+                if (liability == null) {
+                    liability = new Liability();
+                    liability.setProfile(profile);
+                    added.add(liability);
+                }
+                updateLiabilityFields(liability, dto);
+                liabilities.add(liability);
+            }
         }
-        
-        // Return updated details
-        return getProfileDetails(id);
+        liabilityRepository.deleteAll(stored.values());
+        liabilityRepository.saveAll(added);
+        return liabilities;
+    }
+
+    private ProfileDetailsDto toDetailsDto(Profile profile, List<Asset> assets, List<Liability> liabilities) {
+        List<PortfolioDTO> portfolioDTOs = profile.getPortfolios() != null ?
+            profile.getPortfolios().stream().map(this::toPortfolioDTO).toList() : List.of();
+        return ProfileDetailsDto.builder()
+                .profile(toDto(profile))
+                .assets(assets.stream().map(this::toAssetDTO).toList())
+                .liabilities(liabilities.stream().map(this::toLiabilityDTO).toList())
+                .portfolios(portfolioDTOs)
+                .build();
     }
     
     private void updateProfileFields(Profile existingProfile, Profile updatedProfile) {
@@ -171,104 +259,11 @@ public class ProfileServiceImpl implements ProfileService {
                 .orElseThrow(() -> new RuntimeException("Profile not found with email: " + email));
     }
 
-    @Override
-    @Transactional
-    public Profile createProfileFromMortgageLead(MortgageLeadDto leadDto) {
-        // Check if a profile with this email already exists
-        Optional<Profile> existingProfile = profileRepository.findByEmail(leadDto.getEmail());
-        
-        if (existingProfile.isPresent()) {
-            // Update existing profile with lead information
-            Profile profile = existingProfile.get();
-            profile.setFirstName(leadDto.getFirstName());
-            profile.setLastName(leadDto.getLastName());
-            profile.setPhone(leadDto.getPhone());
-            
-            // Update mortgage-related fields if provided
-            if (leadDto.getLoanAmount() != null) {
-                profile.setExistingLoans(BigDecimal.valueOf(leadDto.getLoanAmount()));
-            }
-            
-            return profileRepository.save(profile);
-        } else {
-            // Create a new basic profile from lead information
-            Profile newProfile = Profile.builder()
-                    .firstName(leadDto.getFirstName())
-                    .lastName(leadDto.getLastName())
-                    .email(leadDto.getEmail())
-                    .phone(leadDto.getPhone())
-                    .role(UserRole.CLIENT)
-                    // Set a default temporary password (should be changed later)
-                    .password(passwordEncoder.encode(generateTemporaryPassword()))
-                    .build();
-            
-            // Set mortgage-related fields if provided
-            if (leadDto.getLoanAmount() != null) {
-                newProfile.setExistingLoans(BigDecimal.valueOf(leadDto.getLoanAmount()));
-            }
-            
-            return profileRepository.save(newProfile);
-        }
-    }
-    
-    private String generateTemporaryPassword() {
-        // Generate a random temporary password
-        return UUID.randomUUID().toString().substring(0, 12);
-    }
-
-    @Override
-    @Transactional
-    public Profile createProfileFromBorrowingLead(BorrowingLeadDto leadDto) {
-        // Check if a profile with this email already exists
-        Optional<Profile> existingProfile = profileRepository.findByEmail(leadDto.getEmail());
-        
-        if (existingProfile.isPresent()) {
-            // Update existing profile with lead information
-            Profile profile = existingProfile.get();
-            profile.setFirstName(leadDto.getFirstName());
-            profile.setLastName(leadDto.getLastName());
-            profile.setPhone(leadDto.getPhone());
-            
-            // Update borrowing-related fields if provided
-            if (leadDto.getGrossIncome() != null) {
-                profile.setGrossIncome(BigDecimal.valueOf(leadDto.getGrossIncome()));
-            }
-            if (leadDto.getExistingLoans() != null) {
-                profile.setExistingLoans(BigDecimal.valueOf(leadDto.getExistingLoans()));
-            }
-            if (leadDto.getMaritalStatus() != null) {
-                profile.setMaritalStatus(leadDto.getMaritalStatus());
-            }
-            
-            return profileRepository.save(profile);
-        } else {
-            // Create a new basic profile from lead information
-            Profile newProfile = Profile.builder()
-                    .firstName(leadDto.getFirstName())
-                    .lastName(leadDto.getLastName())
-                    .email(leadDto.getEmail())
-                    .phone(leadDto.getPhone())
-                    .role(UserRole.CLIENT)
-                    // Set a default temporary password (should be changed later)
-                    .password(passwordEncoder.encode(generateTemporaryPassword()))
-                    .build();
-            
-            // Set borrowing-related fields if provided
-            if (leadDto.getGrossIncome() != null) {
-                newProfile.setGrossIncome(BigDecimal.valueOf(leadDto.getGrossIncome()));
-            }
-            if (leadDto.getExistingLoans() != null) {
-                newProfile.setExistingLoans(BigDecimal.valueOf(leadDto.getExistingLoans()));
-            }
-            if (leadDto.getMaritalStatus() != null) {
-                newProfile.setMaritalStatus(leadDto.getMaritalStatus());
-            }
-            
-            return profileRepository.save(newProfile);
-        }
+    private ProfileDto toDto(Profile profile) {
+        return profile != null ? toDto(PROJECTIONS.createProjection(ProfileView.class, profile)) : null;
     }
 
-    private ProfileDto toDto(Profile profile) {
+    private ProfileDto toDto(ProfileView profile) {
         if (profile == null) return null;
         return ProfileDto.builder()
                 .id(profile.getId())
@@ -317,7 +312,7 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
     }
 
-    private AssetDTO toAssetDTO(com.property.entity.Asset asset) {
+    private AssetDTO toAssetDTO(Asset asset) {
         return AssetDTO.builder()
                 .id(asset.getId())
                 .assetType(asset.getAssetType())
@@ -331,7 +326,7 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
     }
 
-    private LiabilityDTO toLiabilityDTO(com.property.entity.Liability liability) {
+    private LiabilityDTO toLiabilityDTO(Liability liability) {
         return LiabilityDTO.builder()
                 .id(liability.getId())
                 .liabilityType(liability.getLiabilityType())
@@ -429,10 +424,7 @@ public class ProfileServiceImpl implements ProfileService {
         return profile;
     }
 
-    private com.property.entity.Asset toAssetEntity(AssetDTO dto) {
-        if (dto == null) return null;
-        com.property.entity.Asset asset = new com.property.entity.Asset();
-        asset.setId(dto.getId());
+    private void updateAssetFields(Asset asset, AssetDTO dto) {
         asset.setAssetType(dto.getAssetType());
         asset.setCurrentValue(dto.getCurrentValue());
         asset.setOriginalPrice(dto.getOriginalPrice());
@@ -441,13 +433,9 @@ public class ProfileServiceImpl implements ProfileService {
         asset.setIncomeAmount(dto.getIncomeAmount());
         asset.setIncomeFrequency(dto.getIncomeFrequency());
         asset.setDescription(dto.getDescription());
-        return asset;
     }
 
-    private com.property.entity.Liability toLiabilityEntity(LiabilityDTO dto) {
-        if (dto == null) return null;
-        com.property.entity.Liability liability = new com.property.entity.Liability();
-        liability.setId(dto.getId());
+    private void updateLiabilityFields(Liability liability, LiabilityDTO dto) {
         liability.setLiabilityType(dto.getLiabilityType());
         liability.setIsPrimaryResidence(dto.getIsPrimaryResidence());
         liability.setLoanBalance(dto.getLoanBalance());
@@ -459,6 +447,5 @@ public class ProfileServiceImpl implements ProfileService {
         liability.setRepaymentFrequency(dto.getRepaymentFrequency());
         liability.setLoanType(dto.getLoanType());
         liability.setDescription(dto.getDescription());
-        return liability;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.property.service.impl;
+
+import com.property.engine.Listing;
+import com.property.engine.ListingColumns;
+import com.property.engine.ListingQuery;
+import com.property.entity.Property;
+import com.property.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory snapshot of every listing, held as {@link ListingColumns} so catalog searches
+ * intersect bitmaps and scan primitive arrays instead of querying Postgres.
+ *
+ * The snapshot is loaded on the first search. A write to one property through this instance is
+ * applied to it once the write commits. Writes that remove properties by cascade mark the
+ * snapshot stale instead, and the next search reloads it. Writes made by other instances, or
+ * straight to the database, are not seen until the snapshot is reloaded, which the first search
+ * after {@code catalog.max-staleness} (five minutes by default) does; searches can be that far
+ * behind. Searches share a read lock; loads and writes take the write lock.
+ */
+@Component
+public class PropertyCatalog {
+
+    /**
+     * How many listings matched, and up to the requested number of them, newest first.
+     */
+    public record Matches(int total, List<Listing> listings) {
+    }
+
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate readOnly;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long maxStalenessNanos;
+
+    // Null until loaded, and again once stale
+    private ListingColumns columns;
+    private long loadedAt;
+
+    public PropertyCatalog(PropertyRepository propertyRepository, PlatformTransactionManager transactionManager,
+                           @Value("${catalog.max-staleness:PT5M}") Duration maxStaleness) {
+        this.propertyRepository = propertyRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public Matches search(ListingQuery query, int limit) {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (isFresh()) {
+                    int[] rows = columns.select(query);
+                    List<Listing> listings = new ArrayList<>(Math.min(limit, rows.length));
+                    for (int i = rows.length - 1; i >= 0 && listings.size() < limit; i--) {
+                        listings.add(columns.listing(rows[i]));
+                    }
+                    return new Matches(rows.length, listings);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            load();
+        }
+    }
+
+    /**
+     * Brings the snapshot's copy of a saved property up to date once the current transaction
+     * commits, or straight away outside one.
+     */
+    public void refresh(Property property) {
+        Listing listing = toListing(property);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (columns != null) {
+                    columns.put(listing);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Marks the snapshot stale once the current transaction commits, for writes that touch
+     * properties without going through {@link #refresh}.
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                columns = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            if (!isFresh()) {
+                columns = readOnly.execute(status -> readAll());
+                loadedAt = System.nanoTime();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called under either lock
+    private boolean isFresh() {
+        return columns != null && System.nanoTime() - loadedAt < maxStalenessNanos;
+    }
+
+    private ListingColumns readAll() {
+        Map<UUID, Set<String>> features = new HashMap<>();
+        try (Stream<Object[]> rows = propertyRepository.streamListingFeatures()) {
+            rows.forEach(row -> features.computeIfAbsent((UUID) row[0], id -> new LinkedHashSet<>()).add((String) row[1]));
+        }
+        ListingColumns loaded = new ListingColumns((int) propertyRepository.count());
+        try (Stream<Object[]> rows = propertyRepository.streamListings()) {
+            rows.forEach(row -> {
+                UUID id = (UUID) row[0];
+                loaded.put(new Listing(id, (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                        (String) row[5], (String) row[6], (String) row[7], toDouble(row[8]), toDouble(row[9]),
+                        toDouble(row[10]), toDouble(row[11]), toDouble(row[12]), toDouble(row[13]),
+                        features.getOrDefault(id, Collections.emptySet()), row[14] == null));
+            });
+        }
+        loaded.optimize();
+        return loaded;
+    }
+
+    private static Listing toListing(Property property) {
+        return new Listing(property.getId(), property.getName(), property.getStreet(), property.getSuburb(),
+                property.getState(), property.getPostcode(), property.getDescription(), property.getImageUrl(),
+                toDouble(property.getPrice()), toDouble(property.getBeds()), toDouble(property.getBaths()),
+                toDouble(property.getArea()), toDouble(property.getGrowthRate()), toDouble(property.getRentalYield()),
+                property.getFeatures() != null ? Set.copyOf(property.getFeatures()) : Collections.emptySet(),
+                property.getPortfolio() == null);
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.property.service.impl;
+
+import com.property.dto.PageDTO;
+import com.property.dto.PropertyCreateRequest;
+import com.property.dto.PropertyDTO;
+import com.property.dto.PropertyPageRequest;
+import com.property.dto.PropertySearchRequest;
+import com.property.dto.PropertySearchResultDTO;
+import com.property.engine.Listing;
+import com.property.engine.ListingColumns.Attribute;
+import com.property.engine.ListingColumns.Measure;
+import com.property.engine.ListingQuery;
+import com.property.entity.Property;
+import com.property.repository.PropertyRepository;
+import com.property.service.PropertyService;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class PropertyServiceImpl implements PropertyService {
+
+    private static final Map<PropertyPageRequest.Order, KeysetPaging<Property>> ORDERS = new EnumMap<>(Map.of(
+            PropertyPageRequest.Order.NEWEST, new KeysetPaging<>("NEWEST", "createdAt", Sort.Direction.DESC,
+                    OffsetDateTime::parse, Property::getCreatedAt, Property::getId),
+            PropertyPageRequest.Order.PRICE_ASC, new KeysetPaging<>("PRICE_ASC", "price", Sort.Direction.ASC,
+                    BigDecimal::new, Property::getPrice, Property::getId),
+            PropertyPageRequest.Order.PRICE_DESC, new KeysetPaging<>("PRICE_DESC", "price", Sort.Direction.DESC,
+                    BigDecimal::new, Property::getPrice, Property::getId)));
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyCatalog propertyCatalog;
+
+    @Override
+    public List<PropertyDTO> getAllProperties() {
+        return propertyRepository.findAll().stream().map(this::toDTO).toList();
+    }
+
+    @Override
+    public Optional<PropertyDTO> getProperty(UUID id) {
+        return propertyRepository.findById(id).map(this::toDTO);
+    }
+
+    @Override
+    public PropertyDTO createProperty(PropertyCreateRequest request) {
+        Property property = new Property();
+        property.setName(request.getName());
+        property.setStreet(request.getStreet());
+        property.setSuburb(request.getSuburb());
+        property.setState(request.getState());
+        property.setPostcode(request.getPostcode());
+        property.setDescription(request.getDescription());
+        property.setPrice(request.getPrice());
+        property.setBeds(request.getBeds());
+        property.setBaths(request.getBaths());
+        property.setArea(request.getArea());
+        property.setGrowthRate(request.getGrowth_rate());
+        property.setRentalYield(request.getRental_yield());
+        property.setImageUrl(request.getImage_url());
+        property.setFeatures(request.getFeatures());
+        Property saved = propertyRepository.save(property);
+        propertyCatalog.refresh(saved);
+        return toDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<PropertyDTO> getPropertyPage(PropertyPageRequest request) {
+        PropertyPageRequest.Order order = request.getOrder() != null
+                ? request.getOrder() : PropertyPageRequest.Order.NEWEST;
+        KeysetPaging<Property> paging = ORDERS.get(order);
+        int limit = KeysetPaging.limit(request.getLimit());
+
+        Specification<Property> filter = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (request.getState() != null) {
+                predicates.add(cb.equal(root.get("state"), request.getState()));
+            }
+            if (request.getSuburb() != null) {
+                predicates.add(cb.equal(root.get("suburb"), request.getSuburb()));
+            }
+            if (request.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), request.getMinPrice()));
+            }
+            if (request.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), request.getMaxPrice()));
+            }
+            if (request.getMinBeds() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beds"), request.getMinBeds()));
+            }
+            if (request.getMaxBeds() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("beds"), request.getMaxBeds()));
+            }
+            // Unpriced listings have no place in a price order
+            if (order != PropertyPageRequest.Order.NEWEST) {
+                predicates.add(cb.isNotNull(root.get("price")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+        List<Property> rows = propertyRepository.findBy(filter.and(paging.after(request.getCursor())),
+                q -> q.sortBy(paging.sort()).limit(limit + 1).all());
+        return paging.page(rows, limit, this::toDTO);
+    }
+
+    @Override
+    public PropertySearchResultDTO searchProperties(PropertySearchRequest request) {
+        ListingQuery query = new ListingQuery()
+                .where(Attribute.STATE, request.getState())
+                .where(Attribute.SUBURB, request.getSuburb())
+                .where(Attribute.POSTCODE, request.getPostcode())
+                .atLeast(Measure.PRICE, request.getMinPrice())
+                .atMost(Measure.PRICE, request.getMaxPrice())
+                .atLeast(Measure.BEDS, request.getMinBeds())
+                .atMost(Measure.BEDS, request.getMaxBeds())
+                .atLeast(Measure.BATHS, request.getMinBaths())
+                .atMost(Measure.BATHS, request.getMaxBaths())
+                .atLeast(Measure.AREA, request.getMinArea())
+                .atMost(Measure.AREA, request.getMaxArea())
+                .atLeast(Measure.GROWTH_RATE, request.getMinGrowthRate())
+                .atMost(Measure.GROWTH_RATE, request.getMaxGrowthRate())
+                .atLeast(Measure.RENTAL_YIELD, request.getMinRentalYield())
+                .atMost(Measure.RENTAL_YIELD, request.getMaxRentalYield())
+                .available(request.getAvailable());
+        if (request.getFeatures() != null) {
+            request.getFeatures().forEach(feature -> query.where(Attribute.FEATURE, feature));
+        }
+        PropertyCatalog.Matches matches = propertyCatalog.search(query, KeysetPaging.limit(request.getLimit()));
+        return PropertySearchResultDTO.builder()
+                .total(matches.total())
+                .items(matches.listings().stream().map(this::toDTO).toList())
+                .build();
+    }
+
+    private PropertyDTO toDTO(Listing listing) {
+        return PropertyDTO.builder()
+                .id(listing.id())
+                .name(listing.name())
+                .street(listing.street())
+                .suburb(listing.suburb())
+                .state(listing.state())
+                .postcode(listing.postcode())
+                .description(listing.description())
+                .price(toDecimal(listing.price()))
+                .beds(toInteger(listing.beds()))
+                .baths(toInteger(listing.baths()))
+                .area(toInteger(listing.area()))
+                .growthRate(toDecimal(listing.growthRate()))
+                .rentalYield(toDecimal(listing.rentalYield()))
+                .imageUrl(listing.imageUrl())
+                .features(listing.features())
+                .build();
+    }
+
+    private static BigDecimal toDecimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+
+    private static Integer toInteger(double value) {
+        return Double.isNaN(value) ? null : (int) value;
+    }
+
+    private PropertyDTO toDTO(Property property) {
+        return PropertyDTO.builder()
+                .id(property.getId())
+                .name(property.getName())
+                .street(property.getStreet())
+                .suburb(property.getSuburb())
+                .state(property.getState())
+                .postcode(property.getPostcode())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .beds(property.getBeds())
+                .baths(property.getBaths())
+                .area(property.getArea())
+                .growthRate(property.getGrowthRate())
+                .rentalYield(property.getRentalYield())
+                .imageUrl(property.getImageUrl())
+                .features(property.getFeatures() != null ? property.getFeatures() : Collections.emptySet())
+                .build();
+    }
+}
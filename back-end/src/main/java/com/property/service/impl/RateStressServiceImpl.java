@@ -0,0 +1,340 @@
+package com.property.service.impl;
+
+import com.property.dto.AtRiskClientDTO;
+import com.property.dto.JobDTO;
+import com.property.dto.RateShockResultDTO;
+import com.property.dto.RateStressRequest;
+import com.property.dto.RateStressResultDTO;
+import com.property.engine.LoanBook;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.ProgressListener;
+import com.property.engine.RateStressTest;
+import com.property.engine.ServiceabilityEngine;
+import com.property.engine.ServiceabilityInputs;
+import com.property.engine.TaxTables;
+import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.repository.ProfileRepository;
+import com.property.service.JobService;
+import com.property.service.RateStressService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stress-tests every client's serviceability under rate rises as a background job.
+ *
+ * The client book is split into partitions by ranges of profile id. Each partition is streamed
+ * from the database in a read-only transaction of its own on the stress-test executor, one client
+ * at a time, into a {@link RateStressTest} of its own, and the partitions' tests are then
+ * merged. Memory is bounded by the partitions in flight and the at-risk cap rather than by
+ * the number of clients. Progress is reported per partition.
+ *
+ * Every loan with a rate is repriced by the full shock, fixed or variable, so the result shows
+ * the book once fixed terms have rolled off.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateStressServiceImpl implements RateStressService {
+
+    private static final List<BigDecimal> DEFAULT_SHOCKS = List.of(
+            new BigDecimal("0.5"), BigDecimal.ONE, new BigDecimal("2"), new BigDecimal("3"));
+    private static final int MAX_SHOCKS = 10;
+    private static final BigDecimal MAX_SHOCK = BigDecimal.TEN;
+    private static final int MAX_AT_RISK = 1_000;
+    private static final int CANCELLATION_CHECK_INTERVAL = 1_000;
+
+    // Columns of ProfileRepository.streamServiceabilityRows
+    private static final int ID = 0;
+    private static final int GROSS_INCOME = 1;
+    private static final int PARTNER_INCOME = 2;
+    private static final int ASSESS_WITH_PARTNER = 3;
+    private static final int NON_TAXABLE_INCOME = 4;
+    private static final int PARTNER_NON_TAXABLE_INCOME = 5;
+    private static final int DEPENDANTS = 6;
+    private static final int LIVING_EXPENSES = 7;
+    private static final int RENTING = 8;
+    private static final int RENT_PER_WEEK = 9;
+    private static final int EXISTING_LOANS = 10;
+    private static final int INVESTMENT_INCOME = 11;
+    private static final int LIABILITY_TYPE = 12;
+    private static final int LOAN_BALANCE = 13;
+    private static final int LIMIT_AMOUNT = 14;
+    private static final int INTEREST_RATE = 15;
+    private static final int REPAYMENT_AMOUNT = 16;
+    private static final int REPAYMENT_FREQUENCY = 17;
+    private static final int LOAN_TYPE = 18;
+
+    private final ProfileRepository profileRepository;
+    private final JobService jobService;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor stressTestExecutor;
+
+    @Value("${serviceability.product-rate:6.0}")
+    private BigDecimal productRate;
+
+    @Value("${serviceability.assessment-buffer:3.0}")
+    private BigDecimal assessmentBuffer;
+
+    @Value("${stress-test.dsr-limit:35}")
+    private BigDecimal defaultDsrLimit;
+
+    @Value("${stress-test.partitions:64}")
+    private int partitions;
+
+    @Override
+    public JobDTO<RateStressResultDTO> submit(UUID requesterId, RateStressRequest request) {
+        double[] shocks = shocks(request.getShocks() != null ? request.getShocks() : DEFAULT_SHOCKS);
+        BigDecimal dsrLimit = request.getDsrLimit() != null ? request.getDsrLimit() : defaultDsrLimit;
+        if (dsrLimit.signum() <= 0 || dsrLimit.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new InvalidRequestException("dsrLimit must be a percentage above 0 and at most 100");
+        }
+        int maxAtRisk = request.getMaxAtRisk() != null ? request.getMaxAtRisk() : 100;
+        if (maxAtRisk < 0 || maxAtRisk > MAX_AT_RISK) {
+            throw new InvalidRequestException("maxAtRisk must be between 0 and " + MAX_AT_RISK);
+        }
+
+        // Id ranges split evenly on the leading bits, so the partition count is a power of two
+        int partitionCount = Integer.highestOneBit(Math.max(1, partitions));
+        Settings settings = new Settings(shocks, PortfolioColumns.percent(dsrLimit), maxAtRisk,
+                TaxTables.financialYear(LocalDate.now()));
+        return jobService.submit(requesterId, "rate-stress", partitionCount,
+                progress -> toDto(run(settings, partitionCount, progress)));
+    }
+
+    private record Settings(double[] shocks, double dsrLimit, int maxAtRisk, int financialYear) {
+    }
+
+    // Today's rates first, then the distinct shocks in ascending order, as fractions
+    private double[] shocks(List<BigDecimal> requested) {
+        if (requested.isEmpty() || requested.size() > MAX_SHOCKS) {
+            throw new InvalidRequestException("Between 1 and " + MAX_SHOCKS + " shocks are required");
+        }
+        TreeSet<BigDecimal> sorted = new TreeSet<>();
+        for (BigDecimal shock : requested) {
+            if (shock == null || shock.signum() <= 0 || shock.compareTo(MAX_SHOCK) > 0) {
+                throw new InvalidRequestException("Shocks must be above 0 and at most " + MAX_SHOCK + " percentage points");
+            }
+            sorted.add(shock);
+        }
+        double[] shocks = new double[sorted.size() + 1];
+        int i = 1;
+        for (BigDecimal shock : sorted) {
+            shocks[i++] = PortfolioColumns.percent(shock);
+        }
+        return shocks;
+    }
+
+    private RateStressTest run(Settings settings, int partitionCount, ProgressListener progress) {
+        int bits = Integer.numberOfTrailingZeros(partitionCount);
+        List<CompletableFuture<RateStressTest>> futures = new ArrayList<>(partitionCount);
+        for (int k = 0; k < partitionCount; k++) {
+            UUID from = new UUID(partitionStart(k, bits), 0L);
+            UUID to = new UUID(k == partitionCount - 1 ? -1L : partitionStart(k + 1, bits) - 1, -1L);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> stressPartition(from, to, settings, progress), stressTestExecutor));
+        }
+
+        RateStressTest total = new RateStressTest(settings.shocks(), settings.dsrLimit(), settings.maxAtRisk());
+        try {
+            for (CompletableFuture<RateStressTest> future : futures) {
+                total.merge(future.join());
+            }
+        } catch (CompletionException e) {
+            // Partitions not yet started are skipped; running ones stop at their next check
+            futures.forEach(future -> future.cancel(false));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return total;
+    }
+
+    // Ids compare as unsigned bytes in the database, so the ranges follow the unsigned leading bits
+    private static long partitionStart(int partition, int bits) {
+        return bits == 0 ? 0 : (long) partition << (64 - bits);
+    }
+
+    private RateStressTest stressPartition(UUID from, UUID to, Settings settings, ProgressListener progress) {
+        if (progress.isCancelled()) {
+            throw new CancellationException();
+        }
+        RateStressTest test = new RateStressTest(settings.shocks(), settings.dsrLimit(), settings.maxAtRisk());
+        readOnly().executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = profileRepository.streamServiceabilityRows(UserRole.CLIENT, from, to)) {
+                LoanBook loans = new LoanBook();
+                Object[] client = null;
+                long clients = 0;
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    // Rows arrive grouped by client, one per liability
+                    if (client != null && !client[ID].equals(row[ID])) {
+                        add(test, client, loans, settings);
+                        if (++clients % CANCELLATION_CHECK_INTERVAL == 0 && progress.isCancelled()) {
+                            throw new CancellationException();
+                        }
+                    }
+                    client = row;
+                    addLiability(loans, row);
+                }
+                if (client != null) {
+                    add(test, client, loans, settings);
+                }
+            }
+        });
+        progress.advance(1);
+        return test;
+    }
+
+    private void add(RateStressTest test, Object[] client, LoanBook loans, Settings settings) {
+        double existingLoans = toDouble(client[EXISTING_LOANS]);
+        if (loans.size() == 0 && existingLoans > 0) {
+            // Leads only record a total of existing loans
+            loans.addLoan(existingLoans, PortfolioColumns.percent(productRate), 0, false);
+        }
+        boolean couple = Boolean.TRUE.equals(client[ASSESS_WITH_PARTNER]);
+        ServiceabilityInputs household = ServiceabilityInputs.builder()
+                .applicantIncome(toDouble(client[GROSS_INCOME]))
+                .partnerIncome(toDouble(client[PARTNER_INCOME]))
+                .couple(couple)
+                .nonTaxableIncome(toDouble(client[NON_TAXABLE_INCOME])
+                        + (couple ? toDouble(client[PARTNER_NON_TAXABLE_INCOME]) : 0))
+                .investmentIncome(toDouble(client[INVESTMENT_INCOME]))
+                .dependants(client[DEPENDANTS] != null ? (Integer) client[DEPENDANTS] : 0)
+                .declaredLivingExpenses(toDouble(client[LIVING_EXPENSES]))
+                .rent(Boolean.TRUE.equals(client[RENTING]) ? toDouble(client[RENT_PER_WEEK]) * 52 / 12 : 0)
+                .productRate(PortfolioColumns.percent(productRate))
+                .assessmentBuffer(PortfolioColumns.percent(assessmentBuffer))
+                .financialYear(settings.financialYear())
+                .build();
+        test.add((UUID) client[ID], household, loans);
+        loans.clear();
+    }
+
+    private void addLiability(LoanBook loans, Object[] row) {
+        // The type is required, so a null one is the single row of a client without liabilities
+        if (row[LIABILITY_TYPE] == null) {
+            return;
+        }
+        String type = ((String) row[LIABILITY_TYPE]).toLowerCase(Locale.ROOT);
+        double balance = toDouble(row[LOAN_BALANCE]);
+        if (type.contains("credit card")) {
+            double limit = row[LIMIT_AMOUNT] != null ? toDouble(row[LIMIT_AMOUNT]) : balance;
+            loans.addFixed(ServiceabilityEngine.creditCardRepayment(limit), balance);
+            return;
+        }
+        double repayment = toDouble(row[REPAYMENT_AMOUNT])
+                * ServiceabilityEngine.periodsPerYear((String) row[REPAYMENT_FREQUENCY]) / 12;
+        BigDecimal rate = (BigDecimal) row[INTEREST_RATE];
+        if (rate != null && rate.signum() == 0) {
+            // Interest-free debts do not follow the cash rate
+            loans.addFixed(repayment, balance);
+            return;
+        }
+        String loanType = row[LOAN_TYPE] != null
+                ? ((String) row[LOAN_TYPE]).toLowerCase(Locale.ROOT).replace('_', ' ')
+                : "";
+        loans.addLoan(balance, PortfolioColumns.percent(rate != null ? rate : productRate), repayment,
+                loanType.contains("interest only"));
+    }
+
+    private RateStressResultDTO toDto(RateStressTest test) {
+        double[] shocks = test.shocks();
+        List<RateShockResultDTO> results = new ArrayList<>(shocks.length);
+        for (int s = 0; s < shocks.length; s++) {
+            long[] histogram = test.dsrHistogram(s);
+            List<Long> counts = new ArrayList<>(histogram.length);
+            for (long count : histogram) {
+                counts.add(count);
+            }
+            results.add(RateShockResultDTO.builder()
+                    .shock(percentage(shocks[s]))
+                    .atRisk(test.broken(s))
+                    .negativeCashFlow(test.negativeSurplus(s))
+                    .overDsrLimit(test.overDsrLimit(s))
+                    .averageDsr(percentage(test.averageDsr(s)))
+                    .averageMonthlyRepayments(amount(test.averageRepayments(s)))
+                    .averageMonthlySurplus(amount(test.averageSurplus(s)))
+                    .dsrHistogram(counts)
+                    .build());
+        }
+
+        List<RateStressTest.AtRisk> atRisk = test.atRisk();
+        Map<UUID, Object[]> contacts = atRisk.isEmpty() ? Map.of() : readOnly().execute(status ->
+                profileRepository.findContactsByIdIn(atRisk.stream().map(RateStressTest.AtRisk::id).toList())
+                        .stream()
+                        .collect(Collectors.toMap(row -> (UUID) row[0], Function.identity())));
+        List<AtRiskClientDTO> clients = new ArrayList<>(atRisk.size());
+        for (RateStressTest.AtRisk client : atRisk) {
+            // A client deleted since the run is still listed, without contact details
+            Object[] contact = contacts.getOrDefault(client.id(), new Object[4]);
+            List<BigDecimal> surplus = new ArrayList<>(shocks.length);
+            List<BigDecimal> dsr = new ArrayList<>(shocks.length);
+            for (int s = 0; s < shocks.length; s++) {
+                surplus.add(amount(client.monthlySurplus()[s]));
+                dsr.add(percentage(client.dsr()[s]));
+            }
+            clients.add(AtRiskClientDTO.builder()
+                    .profileId(client.id())
+                    .firstName((String) contact[1])
+                    .lastName((String) contact[2])
+                    .email((String) contact[3])
+                    .breakingShock(percentage(shocks[client.breakingShock()]))
+                    .monthlySurplus(surplus)
+                    .dsr(dsr)
+                    .build());
+        }
+
+        List<BigDecimal> bounds = new ArrayList<>();
+        for (double bound : RateStressTest.dsrBounds()) {
+            bounds.add(percentage(bound));
+        }
+        return RateStressResultDTO.builder()
+                .clients(test.households())
+                .unassessed(test.unassessed())
+                .dsrLimit(percentage(test.dsrLimit()))
+                .dsrBucketBounds(bounds)
+                .shocks(results)
+                .atRiskClients(test.atRiskHouseholds())
+                .atRisk(clients)
+                .build();
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    private BigDecimal amount(double amount) {
+        return Money.toAmount(Money.ofDollars(amount));
+    }
+
+    private BigDecimal percentage(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
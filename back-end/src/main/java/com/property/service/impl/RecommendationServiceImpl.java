@@ -0,0 +1,128 @@
+package com.property.service.impl;
+
+import com.property.dto.PropertyDTO;
+import com.property.dto.RecommendedPropertyDTO;
+import com.property.engine.CatalogRanker;
+import com.property.engine.CatalogRanker.RankedCandidate;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.PortfolioSnapshot;
+import com.property.engine.ProjectionAssumptions;
+import com.property.entity.Portfolio;
+import com.property.entity.Property;
+import com.property.exception.InvalidRequestException;
+import com.property.repository.PortfolioRepository;
+import com.property.repository.ProfileRepository;
+import com.property.repository.PropertyRepository;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.RecommendationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class RecommendationServiceImpl implements RecommendationService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final BigDecimal DEFAULT_MAX_LVR = BigDecimal.valueOf(95);
+
+    private final ProfileRepository profileRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PropertyRepository propertyRepository;
+    private final BorrowingCapacityService borrowingCapacityService;
+    private final ForkJoinPool simulationPool;
+
+    /**
+     * Listings are read as bare columns straight into primitive arrays, scored there, and only
+     * the top results are loaded as entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecommendedPropertyDTO> getRecommendedProperties(UUID profileId, int limit, BigDecimal maxLvr,
+                                                                 BigDecimal interestRate) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (!profileRepository.existsById(profileId)) {
+            throw new RuntimeException("Profile not found with id: " + profileId);
+        }
+
+        ProjectionAssumptions.ProjectionAssumptionsBuilder builder = ProjectionAssumptions.builder();
+        if (interestRate != null) {
+            builder.interestRate(PortfolioColumns.percent(interestRate));
+        }
+        ProjectionAssumptions assumptions = builder.build();
+
+        Set<Property> owned = portfolioRepository.findByUserIdWithProperties(profileId)
+                .map(Portfolio::getProperties)
+                .orElse(Set.of());
+        PortfolioSnapshot portfolio = PortfolioSnapshot.of(PortfolioColumns.of(owned, assumptions), assumptions);
+        double capacity = borrowingCapacityService.getBorrowingCapacity(profileId).getBorrowingCapacity().doubleValue();
+
+        PortfolioColumns.Builder listings = PortfolioColumns.builder(1024, assumptions);
+        try (Stream<Object[]> rows = propertyRepository.streamAvailableListings()) {
+            rows.forEach(row -> listings.add((UUID) row[0], (BigDecimal) row[1], (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+        PortfolioColumns catalog = listings.build();
+
+        List<RankedCandidate> ranked = CatalogRanker.rank(catalog, portfolio, capacity,
+                PortfolioColumns.percent(maxLvr != null ? maxLvr : DEFAULT_MAX_LVR), limit, simulationPool);
+
+        List<UUID> ids = ranked.stream().map(candidate -> catalog.id(candidate.index())).toList();
+        Map<UUID, Property> properties = propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+
+        List<RecommendedPropertyDTO> recommendations = new ArrayList<>(ranked.size());
+        for (RankedCandidate candidate : ranked) {
+            Property property = properties.get(catalog.id(candidate.index()));
+            if (property == null) {
+                // Deleted or assigned since the scan
+                continue;
+            }
+            recommendations.add(RecommendedPropertyDTO.builder()
+                    .property(toDto(property))
+                    .score(toAmount(candidate.score()))
+                    .annualCashFlowImpact(toAmount(candidate.annualCashFlow()))
+                    .equityIn10Years(toAmount(candidate.equityAtHorizon()))
+                    .portfolioLvr(toAmount(candidate.portfolioLvr() * 100))
+                    .build());
+        }
+        return recommendations;
+    }
+
+    private BigDecimal toAmount(double amount) {
+        return Money.toAmount(Money.ofDollars(amount));
+    }
+
+    private PropertyDTO toDto(Property property) {
+        return PropertyDTO.builder()
+                .id(property.getId())
+                .name(property.getName())
+                .street(property.getStreet())
+                .suburb(property.getSuburb())
+                .state(property.getState())
+                .postcode(property.getPostcode())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .beds(property.getBeds())
+                .baths(property.getBaths())
+                .area(property.getArea())
+                .growthRate(property.getGrowthRate())
+                .rentalYield(property.getRentalYield())
+                .imageUrl(property.getImageUrl())
+                .features(property.getFeatures())
+                .build();
+    }
+}
@@ -0,0 +1,238 @@
+package com.property.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.property.dto.SimulationRequest;
+import com.property.dto.SimulationResponse;
+import com.property.repository.PortfolioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Recently computed simulation responses, keyed by a hash of the canonical request and the
+ * version of the portfolio it was computed against.
+ *
+ * The request is hashed over a canonical JSON form (properties and set elements sorted, nulls
+ * dropped, decimals without trailing zeros), so requests that differ only in field order or in how a number was
+ * written share an entry. Adding or removing a property, or changing the profile that owns the
+ * portfolio, bumps the portfolio's version once the write commits; results computed under an
+ * older version can then no longer be looked up, even if their computation was still running at
+ * the time, and the stale entries age out by TTL or weight. Versions are kept in a fixed number of stripes
+ * shared between portfolios, so they take the same memory however many portfolios there are; a
+ * bump only ever costs the other portfolios in the stripe their cached results.
+ *
+ * Responses are held as JSON and read back into a fresh object on every hit, so no caller can
+ * change what another caller is handed. A response is computed on the thread that first asked
+ * for it, outside the cache's map; identical requests meanwhile wait on its future.
+ *
+ * Eviction is Caffeine's W-TinyLFU over a weight that grows with the number of properties and
+ * Monte Carlo bands in a response. Hits, misses and evictions are published as the
+ * {@code cache.*} meters tagged {@code cache=simulationResults}.
+ */
+@Component
+public class SimulationResultCache {
+
+    // Sets such as a property's features have no order of their own, so they are written sorted
+    @SuppressWarnings("rawtypes")
+    private static final StdConverter<Set, List<String>> SORTED_SET = new StdConverter<>() {
+        @Override
+        public List<String> convert(Set value) {
+            List<String> sorted = new ArrayList<>(value.size());
+            for (Object element : value) {
+                sorted.add(String.valueOf(element));
+            }
+            Collections.sort(sorted);
+            return sorted;
+        }
+    };
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final ObjectMapper canonicalMapper;
+    private final ObjectMapper entryMapper = JsonMapper.builder().build();
+    private final AsyncCache<Key, Entry> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final PortfolioRepository portfolioRepository;
+
+    public SimulationResultCache(
+            MeterRegistry meterRegistry,
+            PortfolioRepository portfolioRepository,
+            @Value("${simulation.cache.max-weight:100000}") long maxWeight,
+            @Value("${simulation.cache.ttl:PT10M}") Duration ttl) {
+        this.canonicalMapper = JsonMapper.builder()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .enable(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES)
+                .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .addModule(new SimpleModule().addSerializer(Set.class, new StdDelegatingSerializer(SORTED_SET)))
+                .build();
+        this.portfolioRepository = portfolioRepository;
+        // The TTL only bounds staleness from inputs outside the portfolio, such as the client's income
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "simulationResults");
+    }
+
+    /**
+     * Identifies a request against the portfolio as it stands now. Take the key before reading
+     * the portfolio, so a write that lands mid-computation leaves the result under a dead key.
+     */
+    public record Key(UUID portfolioId, long version, long hashHigh, long hashLow) {
+    }
+
+    private record Entry(byte[] json, int weight) {
+    }
+
+    public Key keyFor(SimulationRequest request) {
+        UUID portfolioId = request.getPortfolioId();
+        byte[] digest = digest(request);
+        ByteBuffer hash = ByteBuffer.wrap(digest);
+        return new Key(portfolioId, portfolioId != null ? versions.get(stripe(portfolioId)) : 0L,
+                hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * The cached response, or the computed one; concurrent identical requests share one computation.
+     */
+    public SimulationResponse get(Key key, Supplier<SimulationResponse> compute) {
+        while (true) {
+            CompletableFuture<Entry> computation = new CompletableFuture<>();
+            CompletableFuture<Entry> cached = cache.get(key, (k, executor) -> computation);
+            if (cached == computation) {
+                // A failed computation completes with null, which Caffeine drops quietly, and each
+                // waiter then computes for itself
+                Entry entry = null;
+                try {
+                    SimulationResponse response = compute.get();
+                    entry = entry(response);
+                    return response;
+                } finally {
+                    computation.complete(entry);
+                }
+            }
+            Entry entry = cached.join();
+            if (entry != null) {
+                return read(entry);
+            }
+        }
+    }
+
+    /**
+     * The cached response, waiting for it if it is being computed, or null.
+     */
+    public SimulationResponse getIfPresent(Key key) {
+        CompletableFuture<Entry> cached = cache.getIfPresent(key);
+        Entry entry = cached != null ? cached.join() : null;
+        return entry != null ? read(entry) : null;
+    }
+
+    public void put(Key key, SimulationResponse response) {
+        cache.put(key, CompletableFuture.completedFuture(entry(response)));
+    }
+
+    /**
+     * Drops results for the portfolios of these profiles, whose income the simulations read.
+     */
+    public void invalidateProfiles(Collection<UUID> profileIds) {
+        if (!profileIds.isEmpty()) {
+            portfolioRepository.findIdsByProfileIdIn(profileIds).forEach(this::invalidate);
+        }
+    }
+
+    public void invalidate(UUID portfolioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(portfolioId);
+                }
+            });
+        } else {
+            evict(portfolioId);
+        }
+    }
+
+    // Entries under the old version are unreachable from here on, so there is nothing to scan for
+    private void evict(UUID portfolioId) {
+        versions.incrementAndGet(stripe(portfolioId));
+    }
+
+    private static int stripe(UUID portfolioId) {
+        return portfolioId.hashCode() & (VERSION_STRIPES - 1);
+    }
+
+    private Entry entry(SimulationResponse response) {
+        try {
+            return new Entry(entryMapper.writeValueAsBytes(response), weigh(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not cache simulation response", e);
+        }
+    }
+
+    private SimulationResponse read(Entry entry) {
+        try {
+            return entryMapper.readValue(entry.json(), SimulationResponse.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read cached simulation response", e);
+        }
+    }
+
+    private byte[] digest(SimulationRequest request) {
+        try {
+            JsonNode canonical = canonicalMapper.valueToTree(request);
+            return MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash simulation request", e);
+        }
+    }
+
+    private static int weigh(SimulationResponse response) {
+        int weight = 1;
+        if (response.getCurrentPortfolio() != null && response.getCurrentPortfolio().getProperties() != null) {
+            weight += response.getCurrentPortfolio().getProperties().size();
+        }
+        if (response.getProjectedPortfolio() != null && response.getProjectedPortfolio().getProperties() != null) {
+            weight += response.getProjectedPortfolio().getProperties().size();
+        }
+        if (response.getMonteCarlo() != null && response.getMonteCarlo().getBands() != null) {
+            weight += response.getMonteCarlo().getBands().size();
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,119 @@
+package com.property.service.impl;
+
+import com.property.dto.TaxPositionDTO;
+import com.property.engine.Money;
+import com.property.engine.PortfolioColumns;
+import com.property.engine.ProjectionAssumptions;
+import com.property.engine.TaxPosition;
+import com.property.engine.TaxTable;
+import com.property.engine.TaxTables;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.repository.PortfolioHoldingView;
+import com.property.repository.PortfolioRepository;
+import com.property.repository.ProfileRepository;
+import com.property.repository.PropertyRepository;
+import com.property.service.TaxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class TaxServiceImpl implements TaxService {
+
+    private final ProfileRepository profileRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PropertyRepository propertyRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxPositionDTO getTaxPosition(UUID profileId, Integer financialYear, BigDecimal interestRate) {
+        Profile profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> new RuntimeException("Profile not found with id: " + profileId));
+        ProjectionAssumptions assumptions = toAssumptions(interestRate);
+
+        double netRentalIncome = portfolioRepository.findByUserIdWithProperties(profileId)
+                .map(portfolio -> TaxPosition.netRentalIncome(
+                        PortfolioColumns.of(portfolio.getProperties(), assumptions), assumptions))
+                .orElse(0.0);
+        return assess(profile, resolveTable(financialYear), Money.ofDollars(netRentalIncome));
+    }
+
+    /**
+     * Two queries regardless of the number of clients: the clients themselves, and the price and
+     * yield of every portfolio property, which are folded into a net rental figure per client.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaxPositionDTO> getAllTaxPositions(Integer financialYear, BigDecimal interestRate) {
+        ProjectionAssumptions assumptions = toAssumptions(interestRate);
+        TaxTable table = resolveTable(financialYear);
+
+        Map<UUID, Double> netRentalByProfile = new HashMap<>();
+        for (PortfolioHoldingView holding : propertyRepository.findAllPortfolioHoldings()) {
+            double price = toDouble(holding.getPrice());
+            double net = TaxPosition.netRentalIncome(price, PortfolioColumns.percent(holding.getRentalYield()),
+                    assumptions.initialDebt(price), assumptions);
+            netRentalByProfile.merge(holding.getProfileId(), net, Double::sum);
+        }
+
+        List<Profile> clients = profileRepository.findByRole(UserRole.CLIENT);
+        List<TaxPositionDTO> positions = new ArrayList<>(clients.size());
+        for (Profile client : clients) {
+            positions.add(assess(client, table, Money.ofDollars(netRentalByProfile.getOrDefault(client.getId(), 0.0))));
+        }
+        return positions;
+    }
+
+    private TaxPositionDTO assess(Profile profile, TaxTable table, long netRentalIncomeCents) {
+        boolean withPartner = Boolean.TRUE.equals(profile.getAssessWithPartner());
+        TaxPosition position = TaxPosition.assess(table, Money.of(profile.getGrossIncome()),
+                Money.of(profile.getPartnerIncome()), withPartner, netRentalIncomeCents);
+
+        return TaxPositionDTO.builder()
+                .profileId(profile.getId())
+                .financialYear(position.financialYear())
+                .netRentalIncome(Money.toAmount(position.netRentalIncomeCents()))
+                .taxableIncome(Money.toAmount(position.taxableIncomeCents()))
+                .tax(Money.toAmount(position.taxCents()))
+                .marginalTaxRate(toPercent(position.marginalRate()))
+                .effectiveTaxRate(position.taxableIncomeCents() > 0
+                        ? toPercent((double) position.taxCents() / position.taxableIncomeCents())
+                        : BigDecimal.ZERO)
+                .partnerTaxableIncome(withPartner ? Money.toAmount(position.partnerTaxableIncomeCents()) : null)
+                .partnerTax(withPartner ? Money.toAmount(position.partnerTaxCents()) : null)
+                .partnerMarginalTaxRate(withPartner ? toPercent(position.partnerMarginalRate()) : null)
+                .negativeGearingBenefit(Money.toAmount(position.negativeGearingBenefitCents()))
+                .build();
+    }
+
+    private TaxTable resolveTable(Integer financialYear) {
+        return financialYear != null ? TaxTables.forYear(financialYear) : TaxTables.forDate(LocalDate.now());
+    }
+
+    private ProjectionAssumptions toAssumptions(BigDecimal interestRate) {
+        ProjectionAssumptions.ProjectionAssumptionsBuilder assumptions = ProjectionAssumptions.builder();
+        if (interestRate != null) {
+            assumptions.interestRate(PortfolioColumns.percent(interestRate));
+        }
+        return assumptions.build();
+    }
+
+    private double toDouble(BigDecimal amount) {
+        return amount != null ? amount.doubleValue() : 0.0;
+    }
+
+    private BigDecimal toPercent(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
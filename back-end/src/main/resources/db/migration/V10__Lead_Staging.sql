@@ -0,0 +1,17 @@
+-- Leads are acknowledged once appended here and merged into profiles in the background, so
+-- the table has no indexes beyond its key
+CREATE TABLE IF NOT EXISTS lead_staging (
+    id BIGSERIAL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    phone VARCHAR(255),
+    gross_income NUMERIC(19, 2),
+    existing_loans NUMERIC(19, 2),
+    marital_status VARCHAR(255),
+    received_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL
+);
+
+-- A profile created from a lead has no password until its owner registers
+ALTER TABLE profiles ALTER COLUMN password DROP NOT NULL;
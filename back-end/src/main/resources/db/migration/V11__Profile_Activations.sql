@@ -0,0 +1,14 @@
+-- A registration for a profile created from a lead waits here until its owner proves they hold
+-- the email, by returning the token sent to it; only a hash of the token is stored
+CREATE TABLE IF NOT EXISTS profile_activations (
+    id UUID PRIMARY KEY,
+    profile_id UUID NOT NULL REFERENCES profiles(id) ON DELETE CASCADE,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    phone VARCHAR(255),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_profile_activations_profile_id ON profile_activations(profile_id);
@@ -0,0 +1,8 @@
+-- A lead that fails to merge is retried with backoff, then set aside as FAILED, so that it can
+-- never hold up the leads behind it
+ALTER TABLE lead_staging ADD COLUMN IF NOT EXISTS status VARCHAR(20) DEFAULT 'PENDING' NOT NULL;
+ALTER TABLE lead_staging ADD COLUMN IF NOT EXISTS attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE lead_staging ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL;
+ALTER TABLE lead_staging ADD COLUMN IF NOT EXISTS last_error TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_lead_staging_pending ON lead_staging(id) WHERE status = 'PENDING';
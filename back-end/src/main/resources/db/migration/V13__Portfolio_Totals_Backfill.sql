@@ -0,0 +1,6 @@
+-- Stored totals are now kept up to date as properties come and go, but portfolios that already
+-- hold properties still carry the zeros they were created with. Those are flagged here and
+-- recomputed in full on startup; new portfolios start empty and so start correct.
+ALTER TABLE portfolios ADD COLUMN IF NOT EXISTS totals_computed BOOLEAN DEFAULT FALSE NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_portfolios_stale_totals ON portfolios(id) WHERE totals_computed = FALSE;
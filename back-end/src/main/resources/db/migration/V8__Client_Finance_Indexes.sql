@@ -0,0 +1,4 @@
+-- Per-profile lookups of assets and liabilities, including the portfolio-wide stress test's
+-- join from profiles, would otherwise scan both tables
+CREATE INDEX IF NOT EXISTS idx_assets_profile_id ON assets(profile_id);
+CREATE INDEX IF NOT EXISTS idx_liabilities_profile_id ON liabilities(profile_id);
@@ -0,0 +1,9 @@
+-- Keyset pages seek on their sort keys, so each order needs an index ending in the id.
+-- Postgres reads these backwards for the descending orders.
+CREATE INDEX IF NOT EXISTS idx_profiles_created_at_id ON profiles(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_profiles_role_created_at_id ON profiles(role, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_properties_created_at_id ON properties(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_properties_price_id ON properties(price, id) WHERE price IS NOT NULL;
+-- Listings are mostly browsed by location
+CREATE INDEX IF NOT EXISTS idx_properties_state_suburb_created_at_id ON properties(state, suburb, created_at, id);
@@ -0,0 +1,125 @@
+package com.property.controller;
+
+import com.property.config.SecurityConfig;
+import com.property.dto.ImportReportDTO;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.security.JwtService;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.JobService;
+import com.property.service.ProfileImportService;
+import com.property.service.ProfileService;
+import com.property.service.RateStressService;
+import com.property.service.RecommendationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the admin-only profile endpoints turn away a client's token before the request
+ * reaches the controller, and let an admin's through.
+ */
+@WebMvcTest(ProfileController.class)
+@Import(SecurityConfig.class)
+class ProfileControllerSecurityTest {
+
+    private static final String CLIENT_TOKEN = "client-token";
+    private static final String ADMIN_TOKEN = "admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean(name = "streamExecutor")
+    private AsyncTaskExecutor streamExecutor;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @MockBean
+    private BorrowingCapacityService borrowingCapacityService;
+
+    @MockBean
+    private RecommendationService recommendationService;
+
+    @MockBean
+    private RateStressService rateStressService;
+
+    @MockBean
+    private JobService jobService;
+
+    @MockBean
+    private ProfileImportService profileImportService;
+
+    @Test
+    void clientTokenCannotImportProfiles() throws Exception {
+        signIn(CLIENT_TOKEN, UserRole.CLIENT);
+
+        mockMvc.perform(post("/api/profiles/import")
+                        .header("Authorization", "Bearer " + CLIENT_TOKEN)
+                        .contentType("text/csv")
+                        .content("email\nclient@example.com\n"))
+                .andExpect(status().isForbidden());
+
+        verify(profileImportService, never()).importProfiles(any(), any());
+    }
+
+    @Test
+    void adminTokenCanImportProfiles() throws Exception {
+        signIn(ADMIN_TOKEN, UserRole.ADMIN);
+        when(profileImportService.importProfiles(any(), eq(ProfileImportService.Format.CSV)))
+                .thenReturn(new ImportReportDTO());
+
+        mockMvc.perform(post("/api/profiles/import")
+                        .header("Authorization", "Bearer " + ADMIN_TOKEN)
+                        .contentType("text/csv")
+                        .content("email\nclient@example.com\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void clientTokenCannotRunStressTests() throws Exception {
+        signIn(CLIENT_TOKEN, UserRole.CLIENT);
+
+        mockMvc.perform(post("/api/profiles/stress-tests")
+                        .header("Authorization", "Bearer " + CLIENT_TOKEN))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/profiles/stress-tests/" + UUID.randomUUID())
+                        .header("Authorization", "Bearer " + CLIENT_TOKEN))
+                .andExpect(status().isForbidden());
+
+        verify(rateStressService, never()).submit(any(), any());
+        verify(jobService, never()).getJob(any(), any());
+    }
+
+    private void signIn(String token, UserRole role) {
+        Profile profile = new Profile();
+        profile.setId(UUID.randomUUID());
+        profile.setEmail(role.name().toLowerCase() + "@example.com");
+        profile.setRole(role);
+        when(jwtService.extractUsername(token)).thenReturn(profile.getEmail());
+        when(userDetailsService.loadUserByUsername(profile.getEmail())).thenReturn(profile);
+        when(jwtService.isTokenValid(token, profile)).thenReturn(true);
+    }
+}
@@ -0,0 +1,152 @@
+package com.property.engine;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the long-cents {@link Money} arithmetic in {@link AmortizationSchedule} and
+ * {@link TaxTable} with the same ledgers kept in BigDecimal, rounding to the cent at the same
+ * points. Run with the gc profiler to see the allocation difference as well as the time.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.property.engine.MoneyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int INCOMES = 1_000;
+
+    @Param({"MONTHLY", "WEEKLY"})
+    private RepaymentFrequency frequency;
+
+    private AmortizationParameters parameters;
+    private TaxTable table;
+    private long[] incomeCents;
+    private BigDecimal[] incomes;
+
+    @Setup
+    public void setUp() {
+        parameters = AmortizationParameters.builder()
+                .principalCents(65_000_000)
+                .annualRate(0.0614)
+                .frequency(frequency)
+                .startDate(LocalDate.of(2025, 7, 1))
+                .offsetBalanceCents(2_500_000)
+                .offsetContributionCents(50_000)
+                .build();
+        table = TaxTables.forYear(2024);
+        incomeCents = new long[INCOMES];
+        incomes = new BigDecimal[INCOMES];
+        for (int i = 0; i < INCOMES; i++) {
+            incomeCents[i] = 1_500_000L + i * 25_000_037L % 30_000_000L;
+            incomes[i] = BigDecimal.valueOf(incomeCents[i], 2);
+        }
+    }
+
+    @Benchmark
+    public long amortizationLongCents() {
+        AmortizationSchedule schedule = new AmortizationSchedule(parameters);
+        long interest = 0;
+        while (schedule.hasNext()) {
+            interest += schedule.next().interestCents();
+        }
+        return interest;
+    }
+
+    @Benchmark
+    public BigDecimal amortizationBigDecimal() {
+        return BigDecimalLedger.totalInterest(parameters);
+    }
+
+    @Benchmark
+    public long taxLongCents() {
+        long total = 0;
+        for (long income : incomeCents) {
+            total = Money.add(total, table.tax(income));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal taxBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal income : incomes) {
+            total = total.add(BigDecimalLedger.tax(income));
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * The schedule and the 2024-25 scale written against BigDecimal amounts.
+     */
+    static final class BigDecimalLedger {
+        private static final MathContext MC = MathContext.DECIMAL64;
+        private static final BigDecimal[] THRESHOLDS = {
+                BigDecimal.ZERO, BigDecimal.valueOf(18_200), BigDecimal.valueOf(45_000),
+                BigDecimal.valueOf(135_000), BigDecimal.valueOf(190_000)};
+        private static final BigDecimal[] RATES = {
+                BigDecimal.ZERO, new BigDecimal("0.16"), new BigDecimal("0.30"),
+                new BigDecimal("0.37"), new BigDecimal("0.45")};
+
+        static BigDecimal totalInterest(AmortizationParameters parameters) {
+            int periodsPerYear = parameters.getFrequency().periodsPerYear();
+            int periods = parameters.getTermYears() * periodsPerYear;
+            BigDecimal periodRate = BigDecimal.valueOf(parameters.getAnnualRate())
+                    .divide(BigDecimal.valueOf(periodsPerYear), MC);
+            BigDecimal balance = BigDecimal.valueOf(parameters.getPrincipalCents(), 2);
+            BigDecimal offset = BigDecimal.valueOf(parameters.getOffsetBalanceCents(), 2);
+            BigDecimal contribution = BigDecimal.valueOf(parameters.getOffsetContributionCents(), 2);
+            BigDecimal repayment = balance.multiply(BigDecimal.valueOf(
+                    AnnuityFactors.repaymentPerDollar(periodRate.doubleValue(), periods)), MC)
+                    .setScale(2, RoundingMode.HALF_EVEN);
+
+            BigDecimal total = BigDecimal.ZERO;
+            for (int period = 1; period <= periods && balance.signum() > 0; period++) {
+                BigDecimal interest = balance.subtract(offset).max(BigDecimal.ZERO)
+                        .multiply(periodRate, MC).setScale(2, RoundingMode.HALF_EVEN);
+                BigDecimal principal = repayment.subtract(interest).max(BigDecimal.ZERO);
+                if (period == periods || principal.compareTo(balance) > 0) {
+                    principal = balance;
+                }
+                balance = balance.subtract(principal);
+                offset = offset.add(contribution);
+                total = total.add(interest);
+            }
+            return total;
+        }
+
+        static BigDecimal tax(BigDecimal income) {
+            BigDecimal tax = BigDecimal.ZERO;
+            for (int i = 1; i <= THRESHOLDS.length; i++) {
+                BigDecimal top = i < THRESHOLDS.length ? THRESHOLDS[i].min(income) : income;
+                if (top.compareTo(THRESHOLDS[i - 1]) <= 0) {
+                    break;
+                }
+                tax = tax.add(top.subtract(THRESHOLDS[i - 1]).multiply(RATES[i - 1]));
+            }
+            return tax.setScale(2, RoundingMode.HALF_EVEN);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.property.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that division rounds half-even whatever the signs, and right up to the ends of the
+ * long range.
+ */
+class MoneyTest {
+
+    @Test
+    void dividesHalfEvenWhateverTheSigns() {
+        assertEquals(2, Money.divide(5, 2));
+        assertEquals(4, Money.divide(7, 2));
+        assertEquals(-2, Money.divide(-5, 2));
+        assertEquals(-4, Money.divide(-7, 2));
+        assertEquals(-2, Money.divide(5, -2));
+        assertEquals(-4, Money.divide(7, -2));
+        assertEquals(2, Money.divide(-5, -2));
+        assertEquals(4, Money.divide(-7, -2));
+    }
+
+    @Test
+    void roundsToTheNearestWhenNotHalfway() {
+        assertEquals(-3, Money.divide(-10, 3));
+        assertEquals(-4, Money.divide(-11, 3));
+        assertEquals(-3, Money.divide(10, -3));
+        assertEquals(4, Money.divide(-11, -3));
+        assertEquals(0, Money.divide(-1, 12));
+        assertEquals(0, Money.divide(6, -12));
+        assertEquals(-1, Money.divide(-7, 12));
+    }
+
+    @Test
+    void doesNotOverflowNearTheEndsOfTheRange() {
+        // Twice these remainders is beyond a long
+        assertEquals(1, Money.divide(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+        assertEquals(-1, Money.divide(-(Long.MAX_VALUE - 1), Long.MAX_VALUE));
+        assertEquals(-1, Money.divide(Long.MAX_VALUE - 1, -Long.MAX_VALUE));
+        // Long.MIN_VALUE has no positive counterpart
+        assertEquals(0, Money.divide(1, Long.MIN_VALUE));
+        assertEquals(0, Money.divide(-1, Long.MIN_VALUE));
+        assertEquals(-1, Money.divide(Long.MAX_VALUE, Long.MIN_VALUE));
+        assertEquals(0, Money.divide(1L << 62, Long.MIN_VALUE));
+    }
+}
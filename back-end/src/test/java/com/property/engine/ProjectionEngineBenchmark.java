@@ -0,0 +1,150 @@
+package com.property.engine;
+
+import com.property.entity.Property;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ProjectionEngine} with a straightforward BigDecimal projection that keeps a
+ * list of per-year objects, i.e. what the service would look like without the primitive arrays.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.property.engine.ProjectionEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionEngineBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int propertyCount;
+
+    @Param({"30"})
+    private int years;
+
+    private List<Property> properties;
+    private ProjectionAssumptions assumptions;
+
+    @Setup
+    public void setUp() {
+        properties = new ArrayList<>();
+        for (int i = 0; i < propertyCount; i++) {
+            Property property = new Property();
+            property.setPrice(BigDecimal.valueOf(450_000 + i * 25_000L));
+            property.setGrowthRate(new BigDecimal("5.00").add(BigDecimal.valueOf(i % 3)));
+            property.setRentalYield(new BigDecimal("4.20"));
+            properties.add(property);
+        }
+        assumptions = ProjectionAssumptions.builder()
+                .rentLossRate(0.13)
+                .holdingCostRate(0.027)
+                .build();
+    }
+
+    @Benchmark
+    public long primitiveArrays() {
+        PortfolioProjection projection = ProjectionEngine.project(
+                PortfolioColumns.of(properties, assumptions), assumptions, years);
+        return projection.equityCents(years);
+    }
+
+    @Benchmark
+    public BigDecimal naiveBigDecimal() {
+        List<YearPoint> points = BigDecimalProjection.project(properties, assumptions, years);
+        return points.get(years).equity;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProjectionEngineBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+
+    static final class YearPoint {
+        final BigDecimal value;
+        final BigDecimal debt;
+        final BigDecimal equity;
+        final BigDecimal cashFlow;
+
+        YearPoint(BigDecimal value, BigDecimal debt, BigDecimal cashFlow) {
+            this.value = value.setScale(2, RoundingMode.HALF_EVEN);
+            this.debt = debt.setScale(2, RoundingMode.HALF_EVEN);
+            this.equity = this.value.subtract(this.debt);
+            this.cashFlow = cashFlow.setScale(2, RoundingMode.HALF_EVEN);
+        }
+    }
+
+    /**
+     * Same P&I model as the engine, written the way the entities invite: BigDecimal everywhere.
+     */
+    static final class BigDecimalProjection {
+        private static final MathContext MC = MathContext.DECIMAL64;
+        private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+        static List<YearPoint> project(List<Property> properties, ProjectionAssumptions assumptions, int years) {
+            BigDecimal rate = BigDecimal.valueOf(assumptions.getInterestRate());
+            BigDecimal rentKept = BigDecimal.ONE.subtract(BigDecimal.valueOf(assumptions.getRentLossRate()));
+            BigDecimal holdingCost = BigDecimal.valueOf(assumptions.getHoldingCostRate());
+            BigDecimal factor = BigDecimal.valueOf(ProjectionEngine.annualRepaymentFactor(
+                    assumptions.getInterestRate(), assumptions.getLoanTermYears()) / 12);
+            BigDecimal monthlyRate = rate.divide(BigDecimal.valueOf(12), MC);
+            BigDecimal compound = BigDecimal.ONE.add(monthlyRate).pow(12, MC);
+            BigDecimal accumulated = compound.subtract(BigDecimal.ONE).divide(monthlyRate, MC);
+            BigDecimal twelve = BigDecimal.valueOf(12);
+
+            int n = properties.size();
+            BigDecimal[] value = new BigDecimal[n];
+            BigDecimal[] debt = new BigDecimal[n];
+            BigDecimal[] repayment = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                value[i] = properties.get(i).getPrice();
+                debt[i] = BigDecimal.valueOf(assumptions.initialDebt(value[i].doubleValue()));
+                repayment[i] = debt[i].multiply(factor, MC);
+            }
+
+            List<YearPoint> points = new ArrayList<>(years + 1);
+            for (int year = 0; year <= years; year++) {
+                BigDecimal totalValue = BigDecimal.ZERO;
+                BigDecimal totalDebt = BigDecimal.ZERO;
+                BigDecimal totalCashFlow = BigDecimal.ZERO;
+                for (int i = 0; i < n; i++) {
+                    Property property = properties.get(i);
+                    BigDecimal growth = property.getGrowthRate().divide(HUNDRED, MC);
+                    BigDecimal yield = property.getRentalYield().divide(HUNDRED, MC);
+                    BigDecimal paid = BigDecimal.ZERO;
+                    BigDecimal nextDebt = BigDecimal.ZERO;
+                    if (debt[i].signum() > 0) {
+                        nextDebt = debt[i].multiply(compound, MC).subtract(repayment[i].multiply(accumulated, MC));
+                        paid = repayment[i].multiply(twelve).add(nextDebt.min(BigDecimal.ZERO));
+                        nextDebt = nextDebt.max(BigDecimal.ZERO);
+                    }
+
+                    totalValue = totalValue.add(value[i]);
+                    totalDebt = totalDebt.add(debt[i]);
+                    BigDecimal rent = value[i].multiply(yield.multiply(rentKept, MC).subtract(holdingCost), MC);
+                    totalCashFlow = totalCashFlow.add(rent).subtract(paid);
+
+                    debt[i] = nextDebt;
+                    value[i] = value[i].multiply(BigDecimal.ONE.add(growth), MC);
+                }
+                points.add(new YearPoint(totalValue, totalDebt, totalCashFlow));
+            }
+            return points;
+        }
+    }
+}
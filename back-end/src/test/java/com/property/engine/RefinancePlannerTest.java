@@ -0,0 +1,71 @@
+package com.property.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Walks one refinance-then-buy cycle: the deposit on a queued property is more than the cash on
+ * hand, so the held property is refinanced for the difference and the purchase goes ahead, while
+ * a second property stays out of reach.
+ */
+class RefinancePlannerTest {
+
+    private static final double CENT = 0.005;
+
+    // Interest-only with no growth, rent or fees, so every figure is exact
+    private final ProjectionAssumptions assumptions = ProjectionAssumptions.builder()
+            .depositRate(0.40)
+            .feesRate(0)
+            .interestOnly(true)
+            .build();
+
+    @Test
+    void refinancesTheShortfallAndBuys() {
+        UUID home = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        // Owes 600,000 on 1,000,000, so 200,000 can be drawn up to an 80% LVR
+        PortfolioColumns held = columns(home, 1_000_000);
+        PortfolioColumns queue = PortfolioColumns.builder(2, assumptions)
+                .add(first, BigDecimal.valueOf(500_000), BigDecimal.ZERO, BigDecimal.ZERO)
+                .add(second, BigDecimal.valueOf(1_000_000), BigDecimal.ZERO, BigDecimal.ZERO)
+                .build();
+
+        RefinanceTimeline timeline = RefinancePlanner.plan(held, queue, assumptions, 0.80, 50_000, 0, 5);
+
+        // The 200,000 deposit takes the 50,000 on hand and 150,000 drawn from the home
+        List<RefinanceEvent> events = timeline.events();
+        assertEquals(2, events.size());
+        assertEvent(events.get(0), 0, RefinanceEvent.Type.REFINANCE, home, 150_000);
+        assertEvent(events.get(1), 0, RefinanceEvent.Type.PURCHASE, first, 500_000);
+        assertEquals(1, timeline.purchased());
+
+        assertEquals(2, timeline.held(0));
+        assertEquals(1_500_000, timeline.value(0), CENT);
+        assertEquals(750_000 + 300_000, timeline.debt(0), CENT);
+        assertEquals(0, timeline.cash(0), CENT);
+        // 150,000 is left to draw, short of the 400,000 deposit on the second property
+        assertEquals(150_000, timeline.usableEquity(0), CENT);
+        assertEquals(2, timeline.held(5));
+        assertEquals(1_050_000, timeline.debt(5), CENT);
+    }
+
+    private PortfolioColumns columns(UUID id, long price) {
+        return PortfolioColumns.builder(1, assumptions)
+                .add(id, BigDecimal.valueOf(price), BigDecimal.ZERO, BigDecimal.ZERO)
+                .build();
+    }
+
+    private static void assertEvent(RefinanceEvent event, int year, RefinanceEvent.Type type, UUID propertyId,
+                                    double amount) {
+        assertEquals(year, event.year());
+        assertEquals(type, event.type());
+        assertEquals(propertyId, event.propertyId());
+        assertEquals(amount, event.amount(), CENT);
+    }
+}
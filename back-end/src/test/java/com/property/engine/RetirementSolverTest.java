@@ -0,0 +1,79 @@
+package com.property.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the fewest purchases and latest start the solver settles on when the goal can be met,
+ * what it reports when it cannot, and that a falling market, where later purchases are worth
+ * more, does not hide a plan that works.
+ */
+class RetirementSolverTest {
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    @Test
+    void buysTheFewestPropertiesAsLateAsTheyStillReachTheGoal() {
+        ProjectionAssumptions assumptions = ProjectionAssumptions.defaults();
+        PortfolioColumns template = template(assumptions, 3, 5);
+
+        // One property's loan is paid off 30 years in, leaving it about 70,000 a year of rent
+        RetirementPlan plan = RetirementSolver.solve(nothing(assumptions), template, assumptions,
+                35, 100_000, 5, 2, pool);
+
+        assertTrue(plan.achievable());
+        assertArrayEquals(new int[] {3, 5}, plan.purchaseYears());
+        assertTrue(plan.projectedIncome() >= 100_000);
+        assertEquals(500_000 * Math.pow(1.03, 3), plan.purchasePrices()[0], 0.01);
+    }
+
+    @Test
+    void reportsTheClosestPlanWhenTheGoalIsOutOfReach() {
+        ProjectionAssumptions assumptions = ProjectionAssumptions.defaults();
+        PortfolioColumns template = template(assumptions, 3, 5);
+
+        RetirementPlan plan = RetirementSolver.solve(nothing(assumptions), template, assumptions,
+                35, 100_000, 1, 2, pool);
+
+        assertFalse(plan.achievable());
+        assertEquals(1, plan.properties());
+        assertTrue(plan.projectedIncome() > 0);
+        assertTrue(plan.projectedIncome() < 100_000);
+    }
+
+    @Test
+    void findsALaterStartWhenPricesFall() {
+        // Interest-only, so a purchase's retirement-year cash flow is the same rent less interest
+        // on a loan that is smaller the later, and so cheaper, the property is bought
+        ProjectionAssumptions assumptions = ProjectionAssumptions.builder().interestOnly(true).build();
+        PortfolioColumns template = template(assumptions, -2, 6);
+
+        RetirementPlan plan = RetirementSolver.solve(nothing(assumptions), template, assumptions,
+                20, 100, 1, 1, pool);
+
+        // Bought now the loan costs more than the rent, so only a late purchase gets there
+        assertTrue(plan.achievable());
+        assertArrayEquals(new int[] {19}, plan.purchaseYears());
+        assertTrue(plan.projectedIncome() >= 100);
+    }
+
+    private static PortfolioColumns nothing(ProjectionAssumptions assumptions) {
+        return PortfolioColumns.builder(0, assumptions).build();
+    }
+
+    private static PortfolioColumns template(ProjectionAssumptions assumptions, double growthPercent,
+                                             double yieldPercent) {
+        return PortfolioColumns.builder(1, assumptions)
+                .add(UUID.randomUUID(), BigDecimal.valueOf(500_000), BigDecimal.valueOf(growthPercent),
+                        BigDecimal.valueOf(yieldPercent))
+                .build();
+    }
+}
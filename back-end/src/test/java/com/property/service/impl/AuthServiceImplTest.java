@@ -0,0 +1,127 @@
+package com.property.service.impl;
+
+import com.property.dto.ActivationRequest;
+import com.property.dto.AuthResponse;
+import com.property.dto.RegisterRequest;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.security.JwtService;
+import com.property.service.ActivationSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that registering with the email of a profile created from a lead does not hand that
+ * profile over until the token sent to the email comes back.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(AuthServiceImpl.class)
+class AuthServiceImplTest {
+
+    @Autowired
+    private AuthServiceImpl authService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private ActivationSender activationSender;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenAnswer(call -> "encoded:" + call.getArgument(0));
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+    }
+
+    @Test
+    void registeringALeadsEmailWaitsForTheEmailedToken() {
+        Profile lead = entityManager.persistAndFlush(Profile.builder()
+                .email("lead@example.com")
+                .firstName("Lead")
+                .grossIncome(BigDecimal.valueOf(150_000))
+                .role(UserRole.CLIENT)
+                .build());
+
+        AuthResponse pending = authService.register(registration("lead@example.com", "Someone"));
+
+        assertTrue(pending.getActivationPending());
+        assertNull(pending.getAccessToken());
+        assertNull(pending.getId());
+        entityManager.flush();
+        entityManager.clear();
+        Profile untouched = entityManager.find(Profile.class, lead.getId());
+        assertNull(untouched.getPassword());
+        assertEquals("Lead", untouched.getFirstName());
+
+        ActivationRequest wrong = new ActivationRequest();
+        wrong.setToken("not-the-token");
+        assertThrows(InvalidRequestException.class, () -> authService.activate(wrong));
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(activationSender).sendActivation(any(), token.capture());
+        ActivationRequest activation = new ActivationRequest();
+        activation.setToken(token.getValue());
+        AuthResponse activated = authService.activate(activation);
+
+        assertEquals("jwt", activated.getAccessToken());
+        assertEquals(lead.getId().toString(), activated.getId());
+        entityManager.flush();
+        entityManager.clear();
+        Profile owned = entityManager.find(Profile.class, lead.getId());
+        assertEquals("encoded:secret", owned.getPassword());
+        assertEquals("Someone", owned.getFirstName());
+        assertThrows(InvalidRequestException.class, () -> authService.activate(activation));
+    }
+
+    @Test
+    void registeringANewEmailSignsInStraightAway() {
+        AuthResponse response = authService.register(registration("new@example.com", "New"));
+
+        assertEquals("jwt", response.getAccessToken());
+        assertNotNull(response.getId());
+        assertNull(response.getActivationPending());
+    }
+
+    private static RegisterRequest registration(String email, String firstName) {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(email);
+        request.setFirstName(firstName);
+        request.setLastName("Person");
+        request.setPassword("secret");
+        return request;
+    }
+}
@@ -0,0 +1,207 @@
+package com.property.service.impl;
+
+import com.property.dto.ImportErrorDTO;
+import com.property.dto.ImportReportDTO;
+import com.property.entity.Asset;
+import com.property.entity.Liability;
+import com.property.entity.Profile;
+import com.property.entity.UserRole;
+import com.property.exception.InvalidRequestException;
+import com.property.service.BorrowingCapacityService;
+import com.property.service.ProfileImportService.Format;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that an import saves the rows it can, reports the ones it cannot by line and column, and
+ * looks up existing profiles once per batch rather than once per row.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "profile-import.batch-size=50"
+})
+@Import(ProfileImportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProfileImportServiceImplTest {
+
+    @Autowired
+    private ProfileImportServiceImpl importService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private BorrowingCapacityService borrowingCapacityService;
+
+    @MockBean
+    private SimulationResultCache simulationCache;
+
+    @Test
+    void csvImportSavesGoodRowsAndReportsTheRest() {
+        Profile existing = entityManager.persistAndFlush(Profile.builder()
+                .email("existing@example.com")
+                .firstName("Old")
+                .lastName("Name")
+                .phone("0400000000")
+                .role(UserRole.CLIENT)
+                .build());
+
+        ImportReportDTO report = importCsv("\uFEFFrecord,email,first_name,Last Name,address,grossIncome,assetType,currentValue,liabilityType,loanBalance\r\n"
+                + ",new@example.com,Ann,Lee,\"1 High St, Sydney\",120000,,,,\r\n"
+                + "asset,new@example.com,,,,,Shares,50000,,\r\n"
+                + "liability,new@example.com,,,,,,,Credit Card,2500\r\n"
+                + "profile,existing@example.com,New,,,95000,,,,\r\n"
+                + "\r\n"
+                + ",bad@example.com,Bad,,,lots,,,,\r\n"
+                + "asset,nobody@example.com,,,,,Savings,100,,\r\n"
+                + "asset,new@example.com,Ann,,,,Savings,100,,\r\n"
+                + "loan,new@example.com,,,,,,,,\r\n");
+
+        assertEquals(8, report.getRows());
+        assertEquals(4, report.getImported());
+        assertEquals(4, report.getFailed());
+        assertEquals(1, report.getProfilesCreated());
+        assertEquals(1, report.getProfilesUpdated());
+        assertEquals(1, report.getAssetsAdded());
+        assertEquals(1, report.getLiabilitiesAdded());
+        assertError(report, 7, "grossIncome", "bad@example.com");
+        assertError(report, 9, "first_name", "new@example.com");
+        assertError(report, 10, "record", "new@example.com");
+        assertError(report, 8, "email", "nobody@example.com");
+
+        entityManager.flush();
+        entityManager.clear();
+        Profile created = findProfile("new@example.com");
+        assertEquals("Ann", created.getFirstName());
+        assertEquals("1 High St, Sydney", created.getAddress());
+        assertEquals(0, new BigDecimal("120000").compareTo(created.getGrossIncome()));
+        assertNull(created.getPassword());
+        assertEquals(1, entityManager.getEntityManager().createQuery(
+                "SELECT a FROM Asset a WHERE a.profile.email = 'new@example.com'", Asset.class).getResultList().size());
+        assertEquals(1, entityManager.getEntityManager().createQuery(
+                "SELECT l FROM Liability l WHERE l.profile.email = 'new@example.com'", Liability.class).getResultList().size());
+
+        // Only the columns given a value are changed
+        Profile updated = findProfile("existing@example.com");
+        assertEquals("New", updated.getFirstName());
+        assertEquals("Name", updated.getLastName());
+        assertEquals("0400000000", updated.getPhone());
+        verify(borrowingCapacityService).invalidate(existing.getId());
+        verify(simulationCache).invalidateProfiles(Set.of(existing.getId()));
+    }
+
+    @Test
+    void ndjsonImportCarriesOnPastBadLines() {
+        ImportReportDTO report = importNdjson("""
+                {"email": "one@example.com", "firstName": "One", "dateOfBirth": "1985-04-01"}
+                {"email": "two@example.com", "firstName":
+                ["not", "an", "object"]
+
+                {"email": "one@example.com", "record": "asset", "assetType": "Super", "yearPurchased": 2015}
+                {"email": "three@example.com", "dateOfBirth": "01/04/1985"}
+                """);
+
+        assertEquals(5, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getAssetsAdded());
+        assertEquals(List.of(2L, 3L, 6L), report.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+        assertEquals("dateOfBirth", report.getErrors().get(2).getColumn());
+    }
+
+    @Test
+    void rowsWithoutAnEmailAreReportedAndSkipped() {
+        ImportReportDTO csv = importCsv("email,firstName\n"
+                + "ok@example.com,Ok\n"
+                + ",Nobody\n"
+                + "\"   \",Spaces\n");
+        ImportReportDTO ndjson = importNdjson("""
+                {"email": "", "firstName": "Empty"}
+                {"email": {}, "firstName": "Object"}
+                {"email": null, "firstName": "Null"}
+                {"email": "json@example.com", "firstName": "Json"}
+                """);
+
+        assertEquals(1, csv.getImported());
+        assertEquals(List.of(3L, 4L), csv.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+        assertEquals(1, ndjson.getImported());
+        assertEquals(List.of(1L, 2L, 3L), ndjson.getErrors().stream().map(ImportErrorDTO::getLine).toList());
+        csv.getErrors().forEach(error -> assertEquals("email", error.getColumn()));
+        ndjson.getErrors().forEach(error -> assertEquals("email", error.getColumn()));
+        assertEquals(2L, entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(p) FROM Profile p", Long.class).getSingleResult());
+    }
+
+    @Test
+    void existingProfilesAreLookedUpOncePerBatch() {
+        StringBuilder csv = new StringBuilder("email,firstName\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("client").append(i).append("@example.com,Client ").append(i).append('\n');
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportReportDTO report = importCsv(csv.toString());
+
+        entityManager.flush();
+        assertEquals(120, report.getProfilesCreated());
+        assertEquals(120, statistics.getEntityInsertCount());
+        // Batches of 50, 50 and 20
+        assertEquals(3, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void unknownColumnsTurnAwayTheWholeFile() {
+        assertThrows(InvalidRequestException.class, () -> importCsv("email,salary\na@example.com,1\n"));
+        assertThrows(InvalidRequestException.class, () -> importCsv("firstName\nAnn\n"));
+    }
+
+    private ImportReportDTO importCsv(String csv) {
+        return importService.importProfiles(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), Format.CSV);
+    }
+
+    private ImportReportDTO importNdjson(String ndjson) {
+        return importService.importProfiles(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), Format.NDJSON);
+    }
+
+    private Profile findProfile(String email) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT p FROM Profile p WHERE p.email = :email", Profile.class)
+                .setParameter("email", email)
+                .getSingleResult();
+    }
+
+    private static void assertError(ImportReportDTO report, long line, String column, String email) {
+        ImportErrorDTO error = report.getErrors().stream()
+                .filter(e -> e.getLine() == line)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No error reported for line " + line + ": " + report.getErrors()));
+        assertEquals(column, error.getColumn());
+        assertEquals(email, error.getEmail());
+    }
+}
@@ -0,0 +1,185 @@
+package com.property.service.impl;
+
+import com.property.dto.AssetDTO;
+import com.property.dto.LiabilityDTO;
+import com.property.dto.PageDTO;
+import com.property.dto.ProfilePageRequest;
+import com.property.dto.ProfileDetailsDto;
+import com.property.dto.ProfileDto;
+import com.property.entity.Portfolio;
+import com.property.entity.Profile;
+import com.property.entity.Property;
+import com.property.entity.UserRole;
+import com.property.service.BorrowingCapacityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that listing profiles costs the same number of SQL statements however many profiles,
+ * portfolios and properties there are, that paging reads profile columns rather than profile
+ * entities, and that saving a profile's details writes only the rows that changed.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProfileServiceImpl.class)
+class ProfileServiceImplTest {
+
+    @Autowired
+    private ProfileServiceImpl profileService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private BorrowingCapacityService borrowingCapacityService;
+
+    @MockBean
+    private PropertyCatalog propertyCatalog;
+
+    @MockBean
+    private SimulationResultCache simulationCache;
+
+    private Statistics statistics;
+    private int persisted;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getAllProfilesUsesConstantStatementCount() {
+        persistProfiles(3);
+        long few = countStatements(3);
+
+        persistProfiles(30);
+        long many = countStatements(33);
+
+        assertEquals(1, few);
+        assertEquals(few, many);
+    }
+
+    @Test
+    void profilePagesReadColumnsNotEntities() {
+        persistProfiles(5);
+        entityManager.clear();
+        statistics.clear();
+
+        ProfilePageRequest request = new ProfilePageRequest();
+        request.setLimit(3);
+        PageDTO<ProfileDto> first = profileService.getProfilePage(request);
+        request.setCursor(first.getNextCursor());
+        PageDTO<ProfileDto> second = profileService.getProfilePage(request);
+
+        assertEquals(3, first.getItems().size());
+        assertEquals(2, second.getItems().size());
+        assertNull(second.getNextCursor());
+        Set<Object> ids = new HashSet<>();
+        first.getItems().forEach(profile -> ids.add(profile.getId()));
+        second.getItems().forEach(profile -> ids.add(profile.getId()));
+        assertEquals(5, ids.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void updateProfileDetailsWritesOnlyChangedRows() {
+        persistProfiles(1);
+        Profile profile = entityManager.getEntityManager()
+                .createQuery("SELECT p FROM Profile p", Profile.class).getSingleResult();
+        ProfileDetailsDto details = ProfileDetailsDto.builder()
+                .profile(profileService.getProfile(profile.getId()))
+                .assets(List.of(
+                        AssetDTO.builder().assetType("Savings").currentValue(BigDecimal.valueOf(20_000)).build(),
+                        AssetDTO.builder().assetType("Shares").currentValue(BigDecimal.valueOf(50_000)).build()))
+                .liabilities(List.of(
+                        LiabilityDTO.builder().liabilityType("Credit Card").limitAmount(BigDecimal.valueOf(10_000)).build()))
+                .build();
+
+        statistics.clear();
+        ProfileDetailsDto saved = saveDetails(profile, details);
+        assertEquals(3, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+
+        statistics.clear();
+        saved = saveDetails(profile, saved);
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+
+        AssetDTO changed = saved.getAssets().get(1);
+        changed.setCurrentValue(BigDecimal.valueOf(55_000));
+        saved.setLiabilities(List.of());
+        statistics.clear();
+        saved = saveDetails(profile, saved);
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        assertEquals(changed.getId(), saved.getAssets().get(1).getId());
+    }
+
+    private ProfileDetailsDto saveDetails(Profile profile, ProfileDetailsDto details) {
+        ProfileDetailsDto saved = profileService.updateProfileDetails(profile.getId(), details);
+        entityManager.flush();
+        return saved;
+    }
+
+    private long countStatements(int expectedProfiles) {
+        entityManager.clear();
+        statistics.clear();
+        List<ProfileDto> profiles = profileService.getAllProfiles();
+        assertEquals(expectedProfiles, profiles.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Each profile gets a portfolio holding two properties, so any lazy walk would show up
+    private void persistProfiles(int count) {
+        for (int i = 0; i < count; i++) {
+            Profile profile = Profile.builder()
+                    .email("client" + persisted++ + "@example.com")
+                    .password("hash")
+                    .firstName("Client")
+                    .role(UserRole.CLIENT)
+                    .grossIncome(BigDecimal.valueOf(90_000))
+                    .build();
+            entityManager.persist(profile);
+            Portfolio portfolio = new Portfolio();
+            portfolio.setProfile(profile);
+            entityManager.persist(portfolio);
+            for (int j = 0; j < 2; j++) {
+                Property property = new Property();
+                property.setName("Property " + j);
+                property.setStreet("1 Example St");
+                property.setSuburb("Parramatta");
+                property.setState("NSW");
+                property.setPostcode("2150");
+                property.setPrice(BigDecimal.valueOf(650_000));
+                property.setPortfolio(portfolio);
+                entityManager.persist(property);
+            }
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,144 @@
+package com.property.service.impl;
+
+import com.property.dto.PageDTO;
+import com.property.dto.PortfolioDTO;
+import com.property.dto.PropertyDTO;
+import com.property.dto.PropertyPageRequest;
+import com.property.entity.Portfolio;
+import com.property.entity.Profile;
+import com.property.entity.Property;
+import com.property.entity.UserRole;
+import com.property.service.JobService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that reading properties loads their features for the whole batch at once, so the
+ * statement count does not grow with the number of properties.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({PropertyServiceImpl.class, PortfolioServiceImpl.class})
+class PropertyServiceImplTest {
+
+    @Autowired
+    private PropertyServiceImpl propertyService;
+
+    @Autowired
+    private PortfolioServiceImpl portfolioService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PropertyCatalog propertyCatalog;
+
+    @MockBean
+    private SimulationResultCache simulationCache;
+
+    @MockBean
+    private JobService jobService;
+
+    @MockBean
+    private ForkJoinPool simulationPool;
+
+    private Statistics statistics;
+    private Profile profile;
+    private Portfolio portfolio;
+    private int persisted;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        profile = Profile.builder()
+                .email("client@example.com")
+                .password("hash")
+                .firstName("Client")
+                .role(UserRole.CLIENT)
+                .build();
+        entityManager.persist(profile);
+        portfolio = new Portfolio();
+        portfolio.setProfile(profile);
+        entityManager.persist(portfolio);
+    }
+
+    @Test
+    void getAllPropertiesLoadsFeaturesInOneQuery() {
+        persistProperties(3);
+        assertEquals(2, countStatements(() -> assertEquals(3, propertyService.getAllProperties().size())));
+
+        persistProperties(30);
+        assertEquals(2, countStatements(() -> assertEquals(33, propertyService.getAllProperties().size())));
+    }
+
+    @Test
+    void propertyPageLoadsFeaturesInOneQuery() {
+        persistProperties(40);
+        PropertyPageRequest request = PropertyPageRequest.builder().limit(25).build();
+        long statements = countStatements(() -> {
+            PageDTO<PropertyDTO> page = propertyService.getPropertyPage(request);
+            assertEquals(25, page.getItems().size());
+            assertEquals(Set.of("Pool", "Garage"), page.getItems().get(0).getFeatures());
+        });
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void portfolioLoadsFeaturesInOneQuery() {
+        persistProperties(3);
+        long few = countStatements(() -> assertEquals(3, portfolioService.getPortfolioByUserId(profile.getId())
+                .getProperties().size()));
+
+        persistProperties(30);
+        long many = countStatements(() -> {
+            PortfolioDTO dto = portfolioService.getPortfolioByUserId(profile.getId());
+            assertEquals(33, dto.getProperties().size());
+        });
+
+        assertEquals(few, many);
+    }
+
+    private long countStatements(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistProperties(int count) {
+        for (int i = 0; i < count; i++) {
+            Property property = new Property();
+            property.setName("Property " + persisted++);
+            property.setStreet("1 Example St");
+            property.setSuburb("Parramatta");
+            property.setState("NSW");
+            property.setPostcode("2150");
+            property.setPrice(BigDecimal.valueOf(650_000));
+            property.setFeatures(Set.of("Pool", "Garage"));
+            property.setPortfolio(portfolio);
+            entityManager.persist(property);
+        }
+        entityManager.flush();
+    }
+}
@@ -195,6 +195,14 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
       console.log("Registration request:", JSON.stringify(registerRequest));
       
       const { data } = await apiService.register(registerRequest);
+
+      if (data.activationPending) {
+        toast({
+          title: "Check Your Email",
+          description: "We've sent a link to your email to activate your account"
+        });
+        return;
+      }
       
       // Store tokens
       localStorage.setItem('token', data.accessToken);
@@ -38,6 +38,8 @@ export interface AuthResponse {
     firstName?: string;
     lastName?: string;
     id?: string;
+    // The email belongs to an existing lead; no tokens until the emailed activation link is used
+    activationPending?: boolean;
 }
 
 export interface ProfileDto {